@@ -0,0 +1,287 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java.maven;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.spdx.tools.model2java.ModelSnapshotCache;
+import org.spdx.tools.model2java.OntologyIndex;
+import org.spdx.tools.model2java.ShaclToJava;
+import org.spdx.tools.model2java.ShaclToJavaException;
+import org.spdx.tools.model2java.TemplateRegistry;
+
+/**
+ * Generates the Java sources for an SPDX model in the Maven build process
+ *
+ * The generation is skipped entirely if the model file content and the generator (version,
+ * templates and copyright year) are unchanged since the last generation without warnings into the
+ * output directory and none of the generated files were deleted, added or modified since.  Otherwise
+ * only changed files are written.  The files are generated incrementally if the inputs changed, and fully
+ * if only the generated files were modified, since the incremental generation does not check the content
+ * of the generated files.  The copyright year of the generated files is taken from <code>year</code> or, for
+ * reproducible builds, from <code>project.build.outputTimestamp</code>.  The generated main sources, and optionally the generated unit tests, are added
+ * to the compile source roots of the project in either case.
+ *
+ * @author Gary O'Neall
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+	static final String STAMP_FILE_NAME = ".model2java-stamp";
+
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	MavenProject project;
+
+	/**
+	 * SPDX model file in Turtle format
+	 */
+	@Parameter(property = "model2java.modelFile", required = true)
+	File modelFile;
+
+	/**
+	 * Directory for the generated project - the Java sources are generated under <code>src/main/java</code>
+	 * and the unit tests under <code>src/test/java</code>
+	 */
+	@Parameter(property = "model2java.outputDirectory", defaultValue = "${project.build.directory}/generated-sources/spdx-model", required = true)
+	File outputDirectory;
+
+	/**
+	 * Number of classes to generate concurrently
+	 */
+	@Parameter(property = "model2java.threads", defaultValue = "1")
+	int threads;
+
+	/**
+	 * If true, the generated unit tests are added to the test compile source roots
+	 */
+	@Parameter(property = "model2java.addTestSources", defaultValue = "false")
+	boolean addTestSources;
+
+	/**
+	 * Directory for binary snapshots of the parsed model - snapshots are not used if not set
+	 */
+	@Parameter(property = "model2java.cacheDirectory")
+	File cacheDirectory;
+
+	/**
+	 * If true, the build fails if there are any warnings generating the sources
+	 */
+	@Parameter(property = "model2java.failOnWarnings", defaultValue = "true")
+	boolean failOnWarnings;
+
+	/**
+	 * Names of the profiles to generate (e.g. Software) - only the classes of the profiles and the classes
+	 * they require are generated.  All profiles are generated if not set.
+	 */
+	@Parameter(property = "model2java.profiles")
+	List<String> profiles;
+
+	/**
+	 * Copyright year for the generated files - defaults to the year of <code>project.build.outputTimestamp</code>
+	 * if set, otherwise the year of <code>SOURCE_DATE_EPOCH</code> or the current year
+	 */
+	@Parameter(property = "model2java.year")
+	String year;
+
+	/**
+	 * Timestamp for reproducible builds, in ISO 8601 format or seconds since the epoch
+	 */
+	@Parameter(defaultValue = "${project.build.outputTimestamp}")
+	String outputTimestamp;
+
+	/**
+	 * Skip the generation
+	 */
+	@Parameter(property = "model2java.skip", defaultValue = "false")
+	boolean skip;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (skip) {
+			getLog().info("Skipping the SPDX model Java generation");
+			return;
+		}
+		if (!modelFile.isFile()) {
+			throw new MojoExecutionException("Model file " + modelFile + " does not exist");
+		}
+		try {
+			if (Objects.isNull(year) && Objects.nonNull(outputTimestamp)) {
+				year = yearOf(outputTimestamp);
+			}
+			TemplateRegistry templateRegistry = new TemplateRegistry();
+			String stamp = computeStamp(templateRegistry);
+			File stampFile = new File(outputDirectory, STAMP_FILE_NAME);
+			String previousStamp = stampFile.isFile() ? new String(Files.readAllBytes(stampFile.toPath()), StandardCharsets.UTF_8) : "";
+			boolean inputsUnchanged = previousStamp.startsWith(stamp + "outputs=");
+			if (inputsUnchanged && previousStamp.equals(stamp + "outputs=" + computeOutputDigest(outputDirectory) + "\n")) {
+				getLog().info("Generated sources for " + modelFile.getName() + " are up to date");
+			} else if (generate(templateRegistry, !inputsUnchanged)) {
+				Files.write(stampFile.toPath(), (stamp + "outputs=" + computeOutputDigest(outputDirectory) + "\n")
+						.getBytes(StandardCharsets.UTF_8));
+			} else {
+				// without a stamp the next build generates again and reports the warnings again
+				Files.deleteIfExists(stampFile.toPath());
+			}
+		} catch (IOException e) {
+			throw new MojoExecutionException("I/O error generating the Java sources for " + modelFile, e);
+		} catch (ShaclToJavaException e) {
+			throw new MojoExecutionException("Error generating the Java sources for " + modelFile + ": " + e.getMessage(), e);
+		}
+		project.addCompileSourceRoot(new File(outputDirectory, "src/main/java").getAbsolutePath());
+		if (addTestSources) {
+			project.addTestCompileSourceRoot(new File(outputDirectory, "src/test/java").getAbsolutePath());
+		}
+	}
+
+	/**
+	 * Generates the sources, writing only changed files
+	 * @param templateRegistry registry of the templates
+	 * @param incremental if true, only the files whose inputs changed are generated - otherwise all files are
+	 * generated to restore generated files which were modified
+	 * @throws IOException on errors reading the model or writing the sources
+	 * @throws ShaclToJavaException on errors in the model
+	 * @return true if the sources were generated without warnings
+	 * @throws MojoFailureException if there are warnings and the build should fail on warnings
+	 */
+	private boolean generate(TemplateRegistry templateRegistry, boolean incremental) throws IOException, ShaclToJavaException, MojoFailureException {
+		long start = System.nanoTime();
+		OntologyIndex ontology;
+		if (Objects.nonNull(cacheDirectory)) {
+			ontology = new ModelSnapshotCache(cacheDirectory).load(modelFile);
+		} else {
+			try (InputStream is = new FileInputStream(modelFile)) {
+				ontology = OntologyIndex.load(is);
+			}
+		}
+		Files.createDirectories(outputDirectory.toPath());
+		ShaclToJava shaclToJava = new ShaclToJava(ontology, templateRegistry);
+		shaclToJava.setParallelism(threads);
+		shaclToJava.setIncremental(incremental);
+		shaclToJava.setWriteIfChanged(true);
+		if (Objects.nonNull(year)) {
+			shaclToJava.setYear(year);
+		}
+		if (Objects.nonNull(profiles) && !profiles.isEmpty()) {
+			shaclToJava.setProfiles(profiles);
+		}
+		List<String> warnings = shaclToJava.generate(outputDirectory);
+		getLog().info(String.format("Generated sources for %s in %d ms - files written: %d, skipped: %d, deleted: %d",
+				modelFile.getName(), (System.nanoTime() - start) / 1000000, shaclToJava.getWrittenFileCount(),
+				shaclToJava.getSkippedFileCount(), shaclToJava.getDeletedFileCount()));
+		for (String warning:warnings) {
+			getLog().warn(warning);
+		}
+		// the pattern checks are heuristic so do not fail the build
+		for (String warning:shaclToJava.getPatternWarnings()) {
+			getLog().warn("Pattern warning: " + warning);
+		}
+		if (!warnings.isEmpty() && failOnWarnings) {
+			throw new MojoFailureException(String.format("%d warnings generating the Java sources for %s", warnings.size(), modelFile));
+		}
+		return warnings.isEmpty();
+	}
+
+	/**
+	 * @param templateRegistry registry of the templates
+	 * @return stamp identifying the model content and generator which produced the output directory
+	 * @throws IOException on errors reading the model or templates
+	 */
+	String computeStamp(TemplateRegistry templateRegistry) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException("SHA-256 is not supported by this JVM", e);
+		}
+		StringBuilder modelHash = new StringBuilder();
+		for (byte b:digest.digest(Files.readAllBytes(modelFile.toPath()))) {
+			modelHash.append(String.format("%02x", b));
+		}
+		String retval = "model=" + modelHash + "\ngenerator=" + ShaclToJava.computeGeneratorFingerprint(templateRegistry) + "\n";
+		// the generator fingerprint does not include the year so that a fixed year is not affected by the current year
+		retval = retval + "year=" + (Objects.nonNull(year) ? year : ShaclToJava.getDefaultYear()) + "\n";
+		if (Objects.nonNull(profiles) && !profiles.isEmpty()) {
+			retval = retval + "profiles=" + String.join(",", profiles) + "\n";
+		}
+		return retval;
+	}
+
+	/**
+	 * @param outputDirectory directory containing the generated files
+	 * @return digest of the relative paths and content of all files in the output directory except the stamp
+	 * @throws IOException on errors reading the files
+	 */
+	static String computeOutputDigest(File outputDirectory) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException("SHA-256 is not supported by this JVM", e);
+		}
+		Path root = outputDirectory.toPath();
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(root)) {
+			files = paths.filter(Files::isRegularFile)
+					.map(root::relativize)
+					.filter(path -> !STAMP_FILE_NAME.equals(path.toString()))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		for (Path file:files) {
+			byte[] content = Files.readAllBytes(root.resolve(file));
+			digest.update((file.toString().replace(File.separatorChar, '/') + "\n" + content.length + "\n").getBytes(StandardCharsets.UTF_8));
+			digest.update(content);
+		}
+		StringBuilder retval = new StringBuilder();
+		for (byte b:digest.digest()) {
+			retval.append(String.format("%02x", b));
+		}
+		return retval.toString();
+	}
+
+	/**
+	 * @param outputTimestamp timestamp in ISO 8601 format or seconds since the epoch
+	 * @return the UTC year of the timestamp or null if the timestamp is not set or can not be parsed
+	 */
+	static String yearOf(String outputTimestamp) {
+		String timestamp = outputTimestamp.trim();
+		// a single character is used by Maven to disable the reproducible timestamp
+		if (timestamp.length() < 2) {
+			return null;
+		}
+		try {
+			if (timestamp.chars().allMatch(Character::isDigit)) {
+				return String.valueOf(Instant.ofEpochSecond(Long.parseLong(timestamp)).atOffset(ZoneOffset.UTC).getYear());
+			}
+			return String.valueOf(OffsetDateTime.parse(timestamp).withOffsetSameInstant(ZoneOffset.UTC).getYear());
+		} catch (NumberFormatException | DateTimeParseException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.apache.maven.project.MavenProject;
+import org.spdx.tools.model2java.ShaclToJava;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class GenerateMojoTest extends TestCase {
+
+	static final String MODEL_FILE_PATH = ".." + File.separator + "testResources" + File.separator + "spdx-model.ttl";
+
+	public void testUpToDate() throws Exception {
+		Path outputDir = Files.createTempDirectory("spdx_plugin");
+		try {
+			GenerateMojo mojo = new GenerateMojo();
+			mojo.project = new MavenProject();
+			mojo.modelFile = new File(MODEL_FILE_PATH);
+			mojo.outputDirectory = outputDir.toFile();
+			mojo.threads = 1;
+			mojo.failOnWarnings = true;
+			mojo.execute();
+			Path source = outputDir.resolve("src/main/java/org/spdx/library/model/v3_0_1/ai/AIPackage.java");
+			assertTrue(Files.isRegularFile(source));
+			assertTrue(Files.isRegularFile(outputDir.resolve(GenerateMojo.STAMP_FILE_NAME)));
+			String stamp = new String(Files.readAllBytes(outputDir.resolve(GenerateMojo.STAMP_FILE_NAME)), StandardCharsets.UTF_8);
+			assertTrue(stamp.contains("year=" + ShaclToJava.getDefaultYear() + "\n"));
+			assertTrue(mojo.project.getCompileSourceRoots().contains(outputDir.resolve("src/main/java").toFile().getAbsolutePath()));
+			assertTrue(mojo.project.getTestCompileSourceRoots().isEmpty());
+
+			// unchanged inputs and outputs skip the generation
+			long modified = Files.getLastModifiedTime(source).toMillis();
+			mojo.project = new MavenProject();
+			mojo.execute();
+			assertEquals(modified, Files.getLastModifiedTime(source).toMillis());
+			assertEquals(1, mojo.project.getCompileSourceRoots().size());
+
+			// a deleted generated file is regenerated
+			Files.delete(source);
+			mojo.execute();
+			assertTrue(Files.isRegularFile(source));
+			String content = new String(Files.readAllBytes(source), StandardCharsets.UTF_8);
+
+			// an edited generated file is regenerated
+			Files.write(source, "edited".getBytes(StandardCharsets.UTF_8));
+			mojo.execute();
+			assertEquals(content, new String(Files.readAllBytes(source), StandardCharsets.UTF_8));
+			Files.delete(source);
+
+			// a changed stamp regenerates
+			Files.write(outputDir.resolve(GenerateMojo.STAMP_FILE_NAME), "changed".getBytes(StandardCharsets.UTF_8));
+			mojo.addTestSources = true;
+			mojo.execute();
+			assertTrue(Files.isRegularFile(source));
+			assertEquals(1, mojo.project.getTestCompileSourceRoots().size());
+		} finally {
+			deleteDirectory(outputDir);
+		}
+	}
+
+	public void testYearOf() {
+		assertEquals("2024", GenerateMojo.yearOf("2024-01-01T00:00:00Z"));
+		assertEquals("2023", GenerateMojo.yearOf("2024-01-01T00:00:00+01:00"));
+		assertEquals("2024", GenerateMojo.yearOf("1704067200"));
+		assertNull(GenerateMojo.yearOf("a"));
+		assertNull(GenerateMojo.yearOf("not a timestamp"));
+	}
+
+	/**
+	 * @param dir directory to delete with all of its content
+	 * @throws IOException on errors deleting
+	 */
+	private void deleteDirectory(Path dir) throws IOException {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			for (Path path:(Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.ByteArrayInputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing the constructor dispatch generated into <code>SpdxModelClassFactoryV3</code>
+ * with the reflective lookup of the constructor it replaces
+ *
+ * The model is generated and compiled in memory during the setup, so the benchmark jar must include
+ * <code>spdx-java-core</code>.  Each operation gets an existing model object of the next concrete type,
+ * as done for every object when reading an SPDX document.
+ *
+ * @author Gary O'Neall
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ModelClassFactoryBenchmark {
+
+	private static final String MODEL_PACKAGE = "org.spdx.library.model.v3_0_1";
+
+	/**
+	 * Previous implementation of <code>getModelObject</code> - compiled with the generated sources
+	 */
+	private static final String REFLECTIVE_FACTORY_SOURCE = String.join("\n",
+			"package " + MODEL_PACKAGE + ";",
+			"import java.lang.reflect.Constructor;",
+			"import java.lang.reflect.InvocationTargetException;",
+			"import java.lang.reflect.Modifier;",
+			"import org.spdx.core.IModelCopyManager;",
+			"import org.spdx.core.InvalidSPDXAnalysisException;",
+			"import org.spdx.storage.IModelStore;",
+			"public class ReflectiveModelClassFactory {",
+			"	public static ModelObjectV3 getModelObject(IModelStore modelStore, String objectUri,",
+			"			String type, IModelCopyManager copyManager, boolean create, String idPrefix) throws InvalidSPDXAnalysisException {",
+			"		Class<?> clazz = SpdxModelClassFactoryV3.SPDX_TYPE_TO_CLASS_V3.get(type);",
+			"		if (clazz == null) {",
+			"			throw new InvalidSPDXAnalysisException(\"Unknown SPDX version 3 type: \"+type);",
+			"		}",
+			"		if (Modifier.isAbstract(clazz.getModifiers())) {",
+			"			throw new InvalidSPDXAnalysisException(\"Can not instantiate an abstract class for the SPDX version 3 type: \"+type);",
+			"		}",
+			"		try {",
+			"			Constructor<?> con = clazz.getDeclaredConstructor(IModelStore.class, String.class, IModelCopyManager.class, boolean.class, String.class);",
+			"			return (ModelObjectV3)con.newInstance(modelStore, objectUri, copyManager, create, idPrefix);",
+			"		} catch (NoSuchMethodException | InstantiationException | IllegalAccessException e) {",
+			"			throw new InvalidSPDXAnalysisException(\"Could not create the model object SPDX version 3 type: \"+type);",
+			"		} catch (InvocationTargetException e) {",
+			"			throw new InvalidSPDXAnalysisException(\"Unexpected invocation target exception for SPDX version 3 type: \"+type, e);",
+			"		}",
+			"	}",
+			"}");
+
+	/**
+	 * Turtle file containing the SPDX model - relative to the working directory
+	 */
+	@Param({"testResources/spdx-model.ttl"})
+	public String modelFile;
+
+	private MethodHandle generatedFactory;
+	private MethodHandle reflectiveFactory;
+	private Object modelStore;
+	private String[] types;
+	private String[] objectUris;
+	private int typeIndex = 0;
+
+	@Setup
+	public void setup() throws Throwable {
+		OntologyIndex ontology = OntologyIndex.load(new ByteArrayInputStream(Files.readAllBytes(Paths.get(modelFile))));
+		InMemoryFileSink sink = new InMemoryFileSink();
+		List<String> warnings = new ShaclToJava(ontology).generate(sink);
+		if (!warnings.isEmpty()) {
+			throw new ShaclToJavaException("Warnings generating the model: " + warnings);
+		}
+		Map<String, byte[]> sources = new HashMap<>(sink.getFiles());
+		// the unit tests are not compiled since the benchmark jar does not include junit - only the mock model store is needed
+		String modelDir = MODEL_PACKAGE.replace('.', '/') + "/";
+		sources.put(GeneratedSourceCompiler.MAIN_SOURCE_ROOT + modelDir + "MockModelStore.java",
+				sources.get(GeneratedSourceCompiler.TEST_SOURCE_ROOT + modelDir + "MockModelStore.java"));
+		sources.put(GeneratedSourceCompiler.MAIN_SOURCE_ROOT + modelDir + "ReflectiveModelClassFactory.java",
+				REFLECTIVE_FACTORY_SOURCE.getBytes(StandardCharsets.UTF_8));
+		GeneratedSourceCompiler compiler = new GeneratedSourceCompiler(System.getProperty("java.class.path"));
+		compiler.setIncludeTests(false);
+		CompilationResult compiled = compiler.compile(sources);
+		if (!compiled.isSuccess()) {
+			throw new ShaclToJavaException("Errors compiling the generated sources: " + compiled.getErrors());
+		}
+		ClassLoader loader = compiled.createClassLoader(getClass().getClassLoader());
+		Class<?> registryClass = loader.loadClass("org.spdx.core.ModelRegistry");
+		registryClass.getMethod("registerModel", loader.loadClass("org.spdx.core.ISpdxModelInfo"))
+				.invoke(registryClass.getMethod("getModelRegistry").invoke(null),
+						loader.loadClass(MODEL_PACKAGE + ".SpdxModelInfoV3_0").getDeclaredConstructor().newInstance());
+		modelStore = loader.loadClass(MODEL_PACKAGE + ".MockModelStore").getDeclaredConstructor().newInstance();
+		Class<?> modelStoreClass = loader.loadClass("org.spdx.storage.IModelStore");
+		Class<?> copyManagerClass = loader.loadClass("org.spdx.core.IModelCopyManager");
+		Class<?> factoryClass = loader.loadClass(MODEL_PACKAGE + ".SpdxModelClassFactoryV3");
+		generatedFactory = MethodHandles.publicLookup().unreflect(factoryClass.getMethod("getModelObject",
+				modelStoreClass, String.class, String.class, copyManagerClass, boolean.class, String.class));
+		reflectiveFactory = MethodHandles.publicLookup().unreflect(loader.loadClass(MODEL_PACKAGE + ".ReflectiveModelClassFactory")
+				.getMethod("getModelObject", modelStoreClass, String.class, String.class, copyManagerClass, boolean.class, String.class));
+		@SuppressWarnings("unchecked")
+		Map<String, Class<?>> typeToClass = (Map<String, Class<?>>)factoryClass.getField("SPDX_TYPE_TO_CLASS_V3").get(null);
+		List<String> typeList = new ArrayList<>();
+		List<String> uriList = new ArrayList<>();
+		for (Entry<String, Class<?>> entry:typeToClass.entrySet()) {
+			if (Modifier.isAbstract(entry.getValue().getModifiers())) {
+				continue;
+			}
+			try {
+				entry.getValue().getDeclaredConstructor(modelStoreClass, String.class, copyManagerClass, boolean.class, String.class);
+			} catch (NoSuchMethodException e) {
+				continue;	// enumerations and individuals
+			}
+			String objectUri = "http://spdx.org/benchmark/" + entry.getKey();
+			// the benchmarks get the existing objects
+			generatedFactory.invoke(modelStore, objectUri, entry.getKey(), null, true, "http://spdx.org/benchmark/");
+			typeList.add(entry.getKey());
+			uriList.add(objectUri);
+		}
+		types = typeList.toArray(new String[typeList.size()]);
+		objectUris = uriList.toArray(new String[uriList.size()]);
+	}
+
+	/**
+	 * @return index of the type for the next operation
+	 */
+	private int nextTypeIndex() {
+		int index = typeIndex;
+		typeIndex = index + 1 == types.length ? 0 : index + 1;
+		return index;
+	}
+
+	/**
+	 * @return model object created by the generated constructor dispatch
+	 * @throws Throwable on errors creating the model object
+	 */
+	@Benchmark
+	public Object generatedDispatch() throws Throwable {
+		int index = nextTypeIndex();
+		return generatedFactory.invoke(modelStore, objectUris[index], types[index], null, false, "http://spdx.org/benchmark/");
+	}
+
+	/**
+	 * @return model object created by looking up the constructor reflectively
+	 * @throws Throwable on errors creating the model object
+	 */
+	@Benchmark
+	public Object reflectiveDispatch() throws Throwable {
+		int index = nextTypeIndex();
+		return reflectiveFactory.invoke(modelStore, objectUris[index], types[index], null, false, "http://spdx.org/benchmark/");
+	}
+}
@@ -0,0 +1,399 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.GenerationMetrics.Measurement;
+import org.spdx.tools.model2java.GenerationMetrics.PhaseStatistics;
+
+/**
+ * Measures the time and peak heap of loading, analyzing and generating synthetic models of
+ * increasing size
+ *
+ * For each size a model is produced by the <code>SyntheticModelGenerator</code> and generated
+ * several times into a sink which discards the files.  The medians are printed as a table and as
+ * plots against the number of classes, followed by the scaling exponent of every phase recorded
+ * in the <code>GenerationMetrics</code> between the smallest and largest model.  An exponent well
+ * above 1 identifies a phase which grows faster than the model.  The results can also be written
+ * as CSV.
+ *
+ * Usage: <code>java -Xmx4g -cp target/benchmarks.jar org.spdx.tools.model2java.ScalingBenchmark
+ * [--sizes 100,1000,10000] [--repeat 3] [--model testResources/spdx-model.ttl] [--csv file]
+ * [--depth 3] [--properties 5] [--enums 10] [--profiles 1]</code>
+ *
+ * @author Gary O'Neall
+ */
+public class ScalingBenchmark {
+
+	private static final int PLOT_WIDTH = 60;
+	private static final double SUPER_LINEAR_EXPONENT = 1.2;
+
+	/**
+	 * Sink which counts the generated files and bytes without keeping them
+	 */
+	private static class CountingFileSink implements GeneratedFileSink {
+		private int writtenCount = 0;
+		private long writtenBytes = 0;
+
+		@Override
+		public synchronized void write(String path, byte[] content) {
+			writtenCount++;
+			writtenBytes += content.length;
+		}
+
+		@Override
+		public @Nullable byte[] read(String path) {
+			return null;
+		}
+
+		@Override
+		public boolean exists(String path) {
+			return false;
+		}
+
+		@Override
+		public void retain(String path) {
+			// nothing is kept
+		}
+
+		@Override
+		public void deleteStaleFiles(String directory) {
+			// nothing is kept
+		}
+
+		@Override
+		public synchronized int getWrittenCount() {
+			return writtenCount;
+		}
+
+		@Override
+		public int getSkippedCount() {
+			return 0;
+		}
+
+		@Override
+		public int getDeletedCount() {
+			return 0;
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	}
+
+	/**
+	 * Median results for one model size
+	 */
+	private static class SizeResult {
+		int syntheticClasses;
+		int classes;
+		long modelBytes;
+		long generatedBytes;
+		double loadMillis;
+		double analyzeMillis;
+		double generateMillis;
+		double peakHeapMegabytes;
+		Map<String, Double> phaseMillis = new LinkedHashMap<>();
+
+		double totalMillis() {
+			return loadMillis + analyzeMillis + generateMillis;
+		}
+	}
+
+	public static void main(String[] args) {
+		List<Integer> sizes = Arrays.asList(100, 1000, 10000);
+		int repeat = 3;
+		File modelFile = new File("testResources" + File.separator + "spdx-model.ttl");
+		File csvFile = null;
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				String option = args[i];
+				if (i + 1 >= args.length) {
+					usage("Missing value for " + option);
+				}
+				String value = args[++i];
+				switch (option) {
+					case "--sizes":
+						sizes = new ArrayList<>();
+						for (String size:value.split(",")) {
+							sizes.add(Integer.parseInt(size.trim()));
+						}
+						break;
+					case "--repeat": repeat = Math.max(1, Integer.parseInt(value)); break;
+					case "--model": modelFile = new File(value); break;
+					case "--csv": csvFile = new File(value); break;
+					case "--depth": generator.setHierarchyDepth(Integer.parseInt(value)); break;
+					case "--properties": generator.setPropertiesPerClass(Integer.parseInt(value)); break;
+					case "--enums": generator.setEnumCount(Integer.parseInt(value)); break;
+					case "--profiles": generator.setProfileCount(Integer.parseInt(value)); break;
+					default: usage("Unknown option " + option);
+				}
+			}
+		} catch (NumberFormatException e) {
+			usage("Invalid number: " + e.getMessage());
+		}
+		try {
+			byte[] baseModel = Files.readAllBytes(modelFile.toPath());
+			TemplateRegistry templateRegistry = new TemplateRegistry();
+			// warm up the JIT so that the first size is not penalized
+			generator.setClassCount(sizes.get(0));
+			run(generator, baseModel, templateRegistry, 1);
+			List<SizeResult> results = new ArrayList<>();
+			for (int size:sizes) {
+				generator.setClassCount(size);
+				SizeResult result = run(generator, baseModel, templateRegistry, repeat);
+				result.syntheticClasses = size;
+				results.add(result);
+				System.err.printf("%d synthetic classes: %.0f ms, %.0f MB peak heap%n", size, result.totalMillis(), result.peakHeapMegabytes);
+			}
+			report(results, System.out);
+			if (Objects.nonNull(csvFile)) {
+				try (Writer writer = new OutputStreamWriter(Files.newOutputStream(csvFile.toPath()), StandardCharsets.UTF_8)) {
+					writeCsv(results, writer);
+				}
+			}
+		} catch (IOException | ShaclToJavaException e) {
+			System.err.println("Error running the scaling benchmark: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @param message error message
+	 */
+	private static void usage(String message) {
+		System.err.println(message);
+		System.err.println("Usage: ScalingBenchmark [--sizes 100,1000,10000] [--repeat 3] [--model spdx-model.ttl] " +
+				"[--csv file] [--depth 3] [--properties 5] [--enums 10] [--profiles 1]");
+		System.exit(1);
+	}
+
+	/**
+	 * Generates the synthetic model and measures the load, analysis and generation
+	 * @param generator generator configured for the model size
+	 * @param baseModel content of the base model
+	 * @param templateRegistry registry shared by all runs so that template compilation is not measured
+	 * @param repeat number of runs
+	 * @return median results of the runs
+	 * @throws IOException on errors generating
+	 * @throws ShaclToJavaException on errors in the model
+	 */
+	private static SizeResult run(SyntheticModelGenerator generator, byte[] baseModel,
+			TemplateRegistry templateRegistry, int repeat) throws IOException, ShaclToJavaException {
+		ByteArrayOutputStream modelContent = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(modelContent, StandardCharsets.UTF_8)) {
+			generator.generate(baseModel, writer);
+		}
+		byte[] model = modelContent.toByteArray();
+		List<Double> loadMillis = new ArrayList<>();
+		List<Double> analyzeMillis = new ArrayList<>();
+		List<Double> generateMillis = new ArrayList<>();
+		List<Double> peakHeap = new ArrayList<>();
+		Map<String, List<Double>> phaseMillis = new LinkedHashMap<>();
+		SizeResult retval = new SizeResult();
+		retval.modelBytes = model.length;
+		for (int i = 0; i < repeat; i++) {
+			resetPeakHeap();
+			GenerationMetrics metrics = new GenerationMetrics();
+			long start = System.nanoTime();
+			OntologyIndex ontology;
+			Measurement loadModelMeasurement = metrics.start("loadModel");
+			try {
+				ontology = OntologyIndex.load(new ByteArrayInputStream(model));
+			} finally {
+				loadModelMeasurement.close();
+			}
+			long loaded = System.nanoTime();
+			ShaclToJava shaclToJava = new ShaclToJava(ontology, templateRegistry, metrics);
+			long analyzed = System.nanoTime();
+			CountingFileSink sink = new CountingFileSink();
+			List<String> warnings;
+			Measurement generateMeasurement = metrics.start("generate");
+			try {
+				warnings = shaclToJava.generate(sink);
+			} finally {
+				generateMeasurement.close();
+			}
+			long generated = System.nanoTime();
+			peakHeap.add(peakHeapBytes() / (1024.0 * 1024.0));
+			if (!warnings.isEmpty()) {
+				throw new ShaclToJavaException("Warnings generating the synthetic model: " + warnings.get(0));
+			}
+			loadMillis.add((loaded - start) / 1e6);
+			analyzeMillis.add((analyzed - loaded) / 1e6);
+			generateMillis.add((generated - analyzed) / 1e6);
+			for (Entry<String, PhaseStatistics> phase:metrics.getPhases().entrySet()) {
+				phaseMillis.computeIfAbsent(phase.getKey(), name -> new ArrayList<>()).add(phase.getValue().getWallNanos() / 1e6);
+			}
+			retval.classes = ontology.getClassUris().size();
+			retval.generatedBytes = sink.writtenBytes;
+		}
+		retval.loadMillis = median(loadMillis);
+		retval.analyzeMillis = median(analyzeMillis);
+		retval.generateMillis = median(generateMillis);
+		retval.peakHeapMegabytes = median(peakHeap);
+		for (Entry<String, List<Double>> phase:phaseMillis.entrySet()) {
+			retval.phaseMillis.put(phase.getKey(), median(phase.getValue()));
+		}
+		return retval;
+	}
+
+	/**
+	 * Collects the garbage and resets the peak usage of the heap memory pools
+	 */
+	private static void resetPeakHeap() {
+		System.gc();
+		for (MemoryPoolMXBean pool:ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	/**
+	 * @return sum of the peak usage of the heap memory pools since the last reset
+	 */
+	private static long peakHeapBytes() {
+		long retval = 0;
+		for (MemoryPoolMXBean pool:ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				retval += pool.getPeakUsage().getUsed();
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param values measured values
+	 * @return median of the values
+	 */
+	private static double median(List<Double> values) {
+		List<Double> sorted = new ArrayList<>(values);
+		sorted.sort(null);
+		int middle = sorted.size() / 2;
+		return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+	}
+
+	/**
+	 * Prints the results table, the plots and the scaling exponents
+	 * @param results results for each size in increasing order of size
+	 * @param out stream to print to
+	 */
+	private static void report(List<SizeResult> results, PrintStream out) {
+		out.printf("%10s %8s %10s %10s %10s %10s %10s %10s %10s%n", "synthetic", "classes", "model KB", "output KB",
+				"load ms", "analyze ms", "generate ms", "total ms", "heap MB");
+		for (SizeResult result:results) {
+			out.printf("%10d %8d %10d %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", result.syntheticClasses, result.classes,
+					result.modelBytes / 1024, result.generatedBytes / 1024, result.loadMillis, result.analyzeMillis,
+					result.generateMillis, result.totalMillis(), result.peakHeapMegabytes);
+		}
+		out.println();
+		out.println("Total time (ms) by number of classes");
+		plot(results, results.stream().mapToDouble(SizeResult::totalMillis).toArray(), out);
+		out.println();
+		out.println("Peak heap (MB) by number of classes");
+		plot(results, results.stream().mapToDouble(result -> result.peakHeapMegabytes).toArray(), out);
+		if (results.size() < 2) {
+			return;
+		}
+		SizeResult smallest = results.get(0);
+		SizeResult largest = results.get(results.size() - 1);
+		double sizeRatio = Math.log((double)largest.classes / smallest.classes);
+		if (sizeRatio <= 0) {
+			return;
+		}
+		out.println();
+		out.printf("Scaling exponent from %d to %d classes (1 is linear)%n", smallest.classes, largest.classes);
+		for (Entry<String, Double> phase:largest.phaseMillis.entrySet()) {
+			Double smallestMillis = smallest.phaseMillis.get(phase.getKey());
+			if (Objects.isNull(smallestMillis) || smallestMillis <= 0 || phase.getValue() <= 0) {
+				continue;
+			}
+			double exponent = Math.log(phase.getValue() / smallestMillis) / sizeRatio;
+			out.printf("%-40s %10.1f ms %6.2f%s%n", phase.getKey(), phase.getValue(), exponent,
+					exponent > SUPER_LINEAR_EXPONENT ? "  super-linear" : "");
+		}
+		double heapExponent = Math.log(largest.peakHeapMegabytes / smallest.peakHeapMegabytes) / sizeRatio;
+		out.printf("%-40s %10.1f MB %6.2f%s%n", "peak heap", largest.peakHeapMegabytes, heapExponent,
+				heapExponent > SUPER_LINEAR_EXPONENT ? "  super-linear" : "");
+	}
+
+	/**
+	 * Prints a horizontal bar for each size
+	 * @param results results for each size
+	 * @param values value to plot for each result
+	 * @param out stream to print to
+	 */
+	private static void plot(List<SizeResult> results, double[] values, PrintStream out) {
+		double max = Arrays.stream(values).max().orElse(0);
+		for (int i = 0; i < values.length; i++) {
+			int width = max <= 0 ? 0 : (int)Math.round(values[i] / max * PLOT_WIDTH);
+			StringBuilder bar = new StringBuilder();
+			for (int j = 0; j < width; j++) {
+				bar.append('#');
+			}
+			out.printf("%8d | %-" + PLOT_WIDTH + "s %.1f%n", results.get(i).classes, bar, values[i]);
+		}
+	}
+
+	/**
+	 * Writes a row for each size with the totals and the median time of every phase
+	 * @param results results for each size
+	 * @param writer writer for the CSV
+	 */
+	private static void writeCsv(List<SizeResult> results, Writer writer) {
+		Set<String> phases = new LinkedHashSet<>();
+		for (SizeResult result:results) {
+			phases.addAll(result.phaseMillis.keySet());
+		}
+		PrintWriter out = new PrintWriter(writer);
+		out.print("syntheticClasses,classes,modelBytes,generatedBytes,loadMillis,analyzeMillis,generateMillis,totalMillis,peakHeapMegabytes");
+		for (String phase:phases) {
+			out.print(",");
+			out.print(phase);
+		}
+		out.println();
+		for (SizeResult result:results) {
+			out.printf(Locale.ROOT, "%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f", result.syntheticClasses, result.classes, result.modelBytes,
+					result.generatedBytes, result.loadMillis, result.analyzeMillis, result.generateMillis,
+					result.totalMillis(), result.peakHeapMegabytes);
+			for (String phase:phases) {
+				out.print(",");
+				Double millis = result.phaseMillis.get(phase);
+				out.print(Objects.isNull(millis) ? "" : String.format(Locale.ROOT, "%.3f", millis));
+			}
+			out.println();
+		}
+		out.flush();
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.shacl.parser.PropertyShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.mustachejava.Mustache;
+
+/**
+ * JMH benchmarks for each stage of the generation
+ *
+ * The iteration counts, forks and heap size are fixed so that results from different commits
+ * can be compared.  Run with the <code>gc</code> profiler to include the allocations per operation
+ * - see the README for the command line.
+ *
+ * @author Gary O'Neall
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ShaclToJavaBenchmark {
+
+	/**
+	 * Turtle file containing the SPDX model - relative to the working directory
+	 */
+	@Param({"testResources/spdx-model.ttl"})
+	public String modelFile;
+
+	/**
+	 * Name of the class used for the template rendering benchmark
+	 */
+	@Param({"SpdxPackage"})
+	public String className;
+
+	private byte[] modelContent;
+	private OntologyIndex ontology;
+	private TemplateRegistry templateRegistry;
+	private ShaclToJava shaclToJava;
+	private Mustache javaClassTemplate;
+	private ClassModel classModel;
+	private List<ClassGenerationContext> propertyContexts;
+	private List<PropertyShape> propertyShapes;
+	private Set<String> requiredImports;
+	private Set<String> propertyUrisForConstants;
+	private int propertyIndex = 0;
+
+	@Setup
+	public void setup() throws IOException, ShaclToJavaException {
+		modelContent = Files.readAllBytes(Paths.get(modelFile));
+		ontology = OntologyIndex.load(new ByteArrayInputStream(modelContent));
+		templateRegistry = new TemplateRegistry();
+		shaclToJava = new ShaclToJava(ontology, templateRegistry);
+		// a first generation fills in the name mappings used by the class and property benchmarks
+		List<String> warnings = shaclToJava.generate(new InMemoryFileSink());
+		if (!warnings.isEmpty()) {
+			throw new ShaclToJavaException("Warnings generating the model: " + warnings);
+		}
+		javaClassTemplate = templateRegistry.getTemplate(ShaclToJavaConstants.JAVA_CLASS_TEMPLATE);
+		propertyContexts = new ArrayList<>();
+		propertyShapes = new ArrayList<>();
+		for (ClassGenerationContext context:shaclToJava.collectClassGenerationContexts(new ArrayList<>())) {
+			if (context.name.equals(className) && !context.enumClass) {
+				ClassGenerationResult result = new ClassGenerationResult(context.classUri, context.fingerprint);
+				shaclToJava.buildClassModel(context.classUri, context.name, context.propertyShapes,
+						context.classShape, context.comment, context.superClassUri, context.superClasses,
+						context.abstractClass, result);
+				classModel = result.classModel;
+			}
+			if (!context.enumClass) {
+				for (PropertyShape propertyShape:context.propertyShapes) {
+					if (Objects.nonNull(propertyShape) && propertyShape.getPath().toString().contains("/terms")) {
+						propertyContexts.add(context);
+						propertyShapes.add(propertyShape);
+					}
+				}
+			}
+		}
+		if (Objects.isNull(classModel)) {
+			throw new ShaclToJavaException("No class named " + className + " in the model");
+		}
+		requiredImports = new HashSet<>();
+		propertyUrisForConstants = new HashSet<>();
+	}
+
+	/**
+	 * @return index of the model parsed from the Turtle
+	 */
+	@Benchmark
+	public OntologyIndex loadModel() {
+		return OntologyIndex.load(new ByteArrayInputStream(modelContent));
+	}
+
+	/**
+	 * @return generator after parsing the shapes and analyzing the model
+	 */
+	@Benchmark
+	public ShaclToJava analyzeModel() {
+		return new ShaclToJava(ontology, templateRegistry);
+	}
+
+	/**
+	 * @return all generated files held in memory
+	 * @throws IOException on errors generating
+	 * @throws ShaclToJavaException on errors in the model
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public InMemoryFileSink generate() throws IOException, ShaclToJavaException {
+		InMemoryFileSink sink = new InMemoryFileSink();
+		shaclToJava.generate(sink);
+		return sink;
+	}
+
+	/**
+	 * @return Java source rendered from the JavaClassTemplate for a single class
+	 */
+	@Benchmark
+	public String renderJavaClassTemplate() {
+		StringWriter writer = new StringWriter();
+		javaClassTemplate.execute(writer, classModel);
+		return writer.toString();
+	}
+
+	/**
+	 * Builds the model of a single property per operation - cycling through the properties of all classes
+	 * @return model of the property
+	 * @throws ShaclToJavaException on errors in the model
+	 */
+	@Benchmark
+	public PropertyModel propertyToModel() throws ShaclToJavaException {
+		int index = propertyIndex;
+		propertyIndex = index + 1 == propertyShapes.size() ? 0 : index + 1;
+		ClassGenerationContext context = propertyContexts.get(index);
+		return shaclToJava.propertyToModel(propertyShapes.get(index), requiredImports,
+				propertyUrisForConstants, context.classUri, context.superClasses);
+	}
+}
@@ -0,0 +1,273 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.GenerationMetrics.Measurement;
+
+/**
+ * Writes the generated files to another sink on a dedicated writer thread
+ *
+ * Rendering threads only hand the rendered content to a bounded queue so that templating is not
+ * stalled by file system latency, e.g. on network mounted workspaces.  When the queue is full,
+ * rendering threads wait for the writer, which limits the memory held by rendered files which have
+ * not yet been written.  Files waiting in the queue are visible to <code>read</code> and <code>exists</code>.
+ * Deleting stale files and the file counts wait until all queued files are written.
+ *
+ * An error writing a file is reported, with the path of the file, by the next call to <code>write</code>,
+ * <code>flush</code> or <code>close</code>.  If metrics are given, the time spent writing each file on the
+ * writer thread is recorded in the <code>writeFile</code> phase.
+ *
+ * @author Gary O'Neall
+ */
+public class AsyncFileSink implements GeneratedFileSink {
+
+	static final int DEFAULT_QUEUE_CAPACITY = 128;
+
+	/**
+	 * File waiting to be written
+	 */
+	private static class PendingFile {
+		final String path;
+		final byte[] content;
+
+		PendingFile(String path, byte[] content) {
+			this.path = path;
+			this.content = content;
+		}
+	}
+
+	private static final PendingFile END_OF_FILES = new PendingFile("", new byte[0]);
+
+	private final GeneratedFileSink sink;
+	private final BlockingQueue<PendingFile> queue;
+	private final Map<String, byte[]> pendingFiles = new ConcurrentHashMap<>();
+	private final Thread writerThread;
+	private final @Nullable GenerationMetrics metrics;
+	private int queuedCount = 0; // number of files queued and not yet written - guarded by this
+	private @Nullable IOException writeError = null; // first error writing a file - guarded by this
+	private boolean closed = false;
+
+	/**
+	 * @param sink sink to write the files to - closed when this sink is closed
+	 * @param queueCapacity maximum number of rendered files waiting to be written
+	 * @param metrics metrics to record the time writing the files in or null if not recorded
+	 */
+	public AsyncFileSink(GeneratedFileSink sink, int queueCapacity, @Nullable GenerationMetrics metrics) {
+		this.sink = sink;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.metrics = metrics;
+		writerThread = new Thread(this::writeFiles, "model2java-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * @param sink sink to write the files to - closed when this sink is closed
+	 * @param queueCapacity maximum number of rendered files waiting to be written
+	 */
+	public AsyncFileSink(GeneratedFileSink sink, int queueCapacity) {
+		this(sink, queueCapacity, null);
+	}
+
+	/**
+	 * @param sink sink to write the files to - closed when this sink is closed
+	 */
+	public AsyncFileSink(GeneratedFileSink sink) {
+		this(sink, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Writes a file to the underlying sink, recording the time in the metrics if set
+	 * @param file file to write
+	 * @throws IOException on errors writing the file
+	 */
+	private void writeFile(PendingFile file) throws IOException {
+		if (Objects.isNull(metrics)) {
+			sink.write(file.path, file.content);
+		} else {
+			Measurement writeFileMeasurement = metrics.start("writeFile");
+			try {
+				sink.write(file.path, file.content);
+			} finally {
+				writeFileMeasurement.close();
+			}
+		}
+	}
+
+	/**
+	 * Writes the queued files until the end of the files is reached
+	 */
+	private void writeFiles() {
+		while (true) {
+			PendingFile file;
+			try {
+				file = queue.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+			if (file == END_OF_FILES) {
+				return;
+			}
+			IOException error = null;
+			try {
+				if (Objects.isNull(getWriteError())) {
+					writeFile(file);
+				}
+			} catch (IOException e) {
+				error = new IOException("Error writing " + file.path + ": " + e.getMessage(), e);
+			} catch (RuntimeException e) {
+				error = new IOException("Unexpected error writing " + file.path, e);
+			}
+			pendingFiles.remove(file.path, file.content);
+			synchronized (this) {
+				if (Objects.isNull(writeError)) {
+					writeError = error;
+				}
+				queuedCount--;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * @return the first error writing a file or null if all files were written successfully
+	 */
+	private synchronized @Nullable IOException getWriteError() {
+		return writeError;
+	}
+
+	/**
+	 * @throws IOException if a previously queued file could not be written
+	 */
+	private void checkWriteError() throws IOException {
+		IOException error = getWriteError();
+		if (Objects.nonNull(error)) {
+			throw new IOException("Error writing generated files: " + error.getMessage(), error);
+		}
+	}
+
+	/**
+	 * Waits until all queued files have been written
+	 * @return true if all files were written, false if interrupted while waiting
+	 */
+	private synchronized boolean awaitQueuedFiles() {
+		while (queuedCount > 0) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void write(String path, byte[] content) throws IOException {
+		checkWriteError();
+		synchronized (this) {
+			if (closed) {
+				throw new IOException("Sink has been closed");
+			}
+			queuedCount++;
+		}
+		pendingFiles.put(path, content);
+		try {
+			// blocks while the queue is full so that rendering can not run too far ahead of the writer
+			queue.put(new PendingFile(path, content));
+		} catch (InterruptedException e) {
+			pendingFiles.remove(path, content);
+			synchronized (this) {
+				queuedCount--;
+				notifyAll();
+			}
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted queuing " + path, e);
+		}
+	}
+
+	/**
+	 * Waits until all queued files have been written
+	 * @throws IOException if any of the files could not be written or if interrupted while waiting
+	 */
+	public void flush() throws IOException {
+		if (!awaitQueuedFiles()) {
+			throw new IOException("Interrupted waiting for the generated files to be written");
+		}
+		checkWriteError();
+	}
+
+	@Override
+	public @Nullable byte[] read(String path) throws IOException {
+		byte[] pending = pendingFiles.get(path);
+		return Objects.nonNull(pending) ? pending : sink.read(path);
+	}
+
+	@Override
+	public boolean exists(String path) {
+		return pendingFiles.containsKey(path) || sink.exists(path);
+	}
+
+	@Override
+	public void retain(String path) {
+		sink.retain(path);
+	}
+
+	@Override
+	public void deleteStaleFiles(String directory) throws IOException {
+		// the underlying sink only knows which files were generated once they are written
+		flush();
+		sink.deleteStaleFiles(directory);
+	}
+
+	@Override
+	public int getWrittenCount() {
+		awaitQueuedFiles();
+		return sink.getWrittenCount();
+	}
+
+	@Override
+	public int getSkippedCount() {
+		awaitQueuedFiles();
+		return sink.getSkippedCount();
+	}
+
+	@Override
+	public int getDeletedCount() {
+		return sink.getDeletedCount();
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		try {
+			flush();
+		} finally {
+			try {
+				queue.put(END_OF_FILES);
+				writerThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				writerThread.interrupt();
+			}
+			sink.close();
+		}
+	}
+}
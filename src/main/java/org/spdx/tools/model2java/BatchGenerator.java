@@ -0,0 +1,382 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.GenerationMetrics.Measurement;
+
+/**
+ * Generates several models, e.g. different SPDX versions, concurrently in a single JVM
+ *
+ * All models share the compiled templates and the Jena initialization.  Each model is loaded
+ * and generated independently with its own <code>GenerationMetrics</code>, and an error in one
+ * model does not stop the others.  The results of all models can be written as one JSON report.
+ *
+ * @author Gary O'Neall
+ */
+public class BatchGenerator {
+
+	/**
+	 * Result of generating a single model
+	 */
+	public static class ModelResult {
+		private final File modelFile;
+		private final File outputDirectory;
+		private final GenerationMetrics metrics = new GenerationMetrics();
+		private List<String> warnings = Collections.emptyList();
+		private List<String> patternWarnings = Collections.emptyList();
+		private @Nullable String error = null;
+		private long wallNanos = 0;
+		private int writtenFileCount = 0;
+		private int skippedFileCount = 0;
+		private int deletedFileCount = 0;
+
+		private ModelResult(File modelFile, File outputDirectory) {
+			this.modelFile = modelFile;
+			this.outputDirectory = outputDirectory;
+		}
+
+		/**
+		 * @return model file
+		 */
+		public File getModelFile() {
+			return modelFile;
+		}
+
+		/**
+		 * @return directory the model was generated into
+		 */
+		public File getOutputDirectory() {
+			return outputDirectory;
+		}
+
+		/**
+		 * @return metrics for loading and generating the model
+		 */
+		public GenerationMetrics getMetrics() {
+			return metrics;
+		}
+
+		/**
+		 * @return warnings from the generation
+		 */
+		public List<String> getWarnings() {
+			return warnings;
+		}
+
+		/**
+		 * @return warnings for patterns which may backtrack catastrophically - these do not affect the success
+		 */
+		public List<String> getPatternWarnings() {
+			return patternWarnings;
+		}
+
+		/**
+		 * @return error which stopped the generation of the model or null if the generation completed
+		 */
+		public @Nullable String getError() {
+			return error;
+		}
+
+		/**
+		 * @return true if the model was generated without errors or warnings
+		 */
+		public boolean isSuccess() {
+			return Objects.isNull(error) && warnings.isEmpty();
+		}
+
+		/**
+		 * @return wall time in nanoseconds to load and generate the model
+		 */
+		public long getWallNanos() {
+			return wallNanos;
+		}
+
+		/**
+		 * @return number of files written
+		 */
+		public int getWrittenFileCount() {
+			return writtenFileCount;
+		}
+
+		/**
+		 * @return number of files skipped since their content was unchanged
+		 */
+		public int getSkippedFileCount() {
+			return skippedFileCount;
+		}
+
+		/**
+		 * @return number of stale files deleted
+		 */
+		public int getDeletedFileCount() {
+			return deletedFileCount;
+		}
+	}
+
+	private final TemplateRegistry templateRegistry;
+	private final List<File> modelFiles = new ArrayList<>();
+	private final List<File> outputDirectories = new ArrayList<>();
+	private int concurrency = Runtime.getRuntime().availableProcessors();
+	private int parallelism = 1;
+	private boolean incremental = false;
+	private boolean writeIfChanged = false;
+	private boolean asyncWrite = false;
+	private @Nullable ModelSnapshotCache cache = null;
+	private @Nullable String year = null;
+	private @Nullable List<String> profiles = null;
+	private long wallNanos = 0;
+	private List<ModelResult> results = Collections.emptyList();
+
+	public BatchGenerator() {
+		this(new TemplateRegistry());
+	}
+
+	/**
+	 * @param templateRegistry registry of compiled templates shared by all models
+	 */
+	public BatchGenerator(TemplateRegistry templateRegistry) {
+		this.templateRegistry = templateRegistry;
+	}
+
+	/**
+	 * @param modelFile Turtle file containing the model
+	 * @param outputDirectory directory to generate the model into - must not be shared with other models
+	 */
+	public void addModel(File modelFile, File outputDirectory) {
+		modelFiles.add(modelFile);
+		outputDirectories.add(outputDirectory);
+	}
+
+	/**
+	 * Loads and generates all models
+	 * @return result for each model in the order the models were added
+	 * @throws IOException if interrupted while waiting for the models
+	 */
+	public List<ModelResult> generate() throws IOException {
+		long start = System.nanoTime();
+		List<ModelResult> retval = new ArrayList<>();
+		for (int i = 0; i < modelFiles.size(); i++) {
+			retval.add(new ModelResult(modelFiles.get(i), outputDirectories.get(i)));
+		}
+		ExecutorService service = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, retval.size())));
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (ModelResult result:retval) {
+				futures.add(service.submit(() -> generateModel(result)));
+			}
+			for (Future<?> future:futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted generating the models", e);
+		} catch (ExecutionException e) {
+			// generateModel records all exceptions in the result
+			throw new IOException("Unexpected error generating the models", e.getCause());
+		} finally {
+			service.shutdown();
+		}
+		wallNanos = System.nanoTime() - start;
+		results = retval;
+		return retval;
+	}
+
+	/**
+	 * Loads and generates a single model, recording any error in the result
+	 * @param result result for the model
+	 */
+	private void generateModel(ModelResult result) {
+		long start = System.nanoTime();
+		try {
+			OntologyIndex ontology;
+			Measurement loadModelMeasurement = result.metrics.start("loadModel");
+			try {
+				if (Objects.nonNull(cache)) {
+					ontology = cache.load(result.modelFile);
+				} else {
+					try (InputStream is = new FileInputStream(result.modelFile)) {
+						ontology = OntologyIndex.load(is);
+					}
+				}
+			} finally {
+				loadModelMeasurement.close();
+			}
+			ShaclToJava shaclToJava = new ShaclToJava(ontology, templateRegistry, result.metrics);
+			shaclToJava.setParallelism(parallelism);
+			shaclToJava.setIncremental(incremental);
+			shaclToJava.setWriteIfChanged(writeIfChanged);
+			shaclToJava.setAsyncWrite(asyncWrite);
+			if (Objects.nonNull(year)) {
+				shaclToJava.setYear(year);
+			}
+			shaclToJava.setProfiles(profiles);
+			Measurement generateMeasurement = result.metrics.start("generate");
+			try {
+				result.warnings = shaclToJava.generate(result.outputDirectory);
+			} finally {
+				generateMeasurement.close();
+			}
+			result.patternWarnings = shaclToJava.getPatternWarnings();
+			result.writtenFileCount = shaclToJava.getWrittenFileCount();
+			result.skippedFileCount = shaclToJava.getSkippedFileCount();
+			result.deletedFileCount = shaclToJava.getDeletedFileCount();
+		} catch (IOException e) {
+			result.error = "I/O error: " + e.getMessage();
+		} catch (ShaclToJavaException e) {
+			result.error = "Error generating Java code: " + e.getMessage();
+		} catch (RuntimeException e) {
+			result.error = "Error generating the model: " + e;
+		} finally {
+			result.wallNanos = System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Writes a JSON report of the last generation of all models
+	 * @param writer writer for the report - not closed
+	 * @throws IOException on errors writing the report
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		writer.write("{\n  \"generatorVersion\": ");
+		GenerationMetrics.writeJsonString(writer, ShaclToJava.GENERATOR_VERSION);
+		writer.write(String.format(",\n  \"wallNanos\": %d,\n  \"templatesCompiled\": %d,\n  \"models\": [",
+				wallNanos, templateRegistry.getMissCount()));
+		String separator = "\n";
+		for (ModelResult result:results) {
+			writer.write(separator);
+			writer.write("    {\n      \"modelFile\": ");
+			GenerationMetrics.writeJsonString(writer, result.modelFile.getPath());
+			writer.write(",\n      \"outputDirectory\": ");
+			GenerationMetrics.writeJsonString(writer, result.outputDirectory.getPath());
+			writer.write(",\n      \"error\": ");
+			if (Objects.isNull(result.error)) {
+				writer.write("null");
+			} else {
+				GenerationMetrics.writeJsonString(writer, result.error);
+			}
+			writer.write(",\n      \"warnings\": [");
+			String warningSeparator = "";
+			for (String warning:result.warnings) {
+				writer.write(warningSeparator);
+				GenerationMetrics.writeJsonString(writer, warning);
+				warningSeparator = ", ";
+			}
+			writer.write("],\n      \"patternWarnings\": [");
+			warningSeparator = "";
+			for (String warning:result.patternWarnings) {
+				writer.write(warningSeparator);
+				GenerationMetrics.writeJsonString(writer, warning);
+				warningSeparator = ", ";
+			}
+			writer.write(String.format("],\n      \"wallNanos\": %d,\n      \"filesWritten\": %d,\n      \"filesSkipped\": %d,\n      \"filesDeleted\": %d,\n      \"metrics\": ",
+					result.wallNanos, result.writtenFileCount, result.skippedFileCount, result.deletedFileCount));
+			writer.write(result.metrics.toJson().trim().replace("\n", "\n      "));
+			writer.write("\n    }");
+			separator = ",\n";
+		}
+		writer.write(results.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+	}
+
+	/**
+	 * @return JSON report of the last generation of all models
+	 */
+	public String toJson() {
+		StringWriter writer = new StringWriter();
+		try {
+			writeJson(writer);
+		} catch (IOException e) {
+			throw new RuntimeException("Unexpected error writing to a string", e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * @return results of the last generation
+	 */
+	public List<ModelResult> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return registry of compiled templates shared by all models
+	 */
+	public TemplateRegistry getTemplateRegistry() {
+		return templateRegistry;
+	}
+
+	/**
+	 * @param concurrency maximum number of models to generate at the same time
+	 */
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * @param parallelism number of classes of each model to generate concurrently
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param incremental if true, only regenerate files whose inputs changed - see <code>ShaclToJava.setIncremental</code>
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * @param writeIfChanged if true, only write files whose content changed - see <code>ShaclToJava.setWriteIfChanged</code>
+	 */
+	public void setWriteIfChanged(boolean writeIfChanged) {
+		this.writeIfChanged = writeIfChanged;
+	}
+
+	/**
+	 * @param asyncWrite if true, write the files of each model on a dedicated writer thread - see <code>ShaclToJava.setAsyncWrite</code>
+	 */
+	public void setAsyncWrite(boolean asyncWrite) {
+		this.asyncWrite = asyncWrite;
+	}
+
+	/**
+	 * @param profiles names of the profiles to generate for every model or null for all profiles - see <code>ShaclToJava.setProfiles</code>
+	 */
+	public void setProfiles(@Nullable List<String> profiles) {
+		this.profiles = profiles;
+	}
+
+	/**
+	 * @param year copyright year for the generated files or null for the default year - see <code>ShaclToJava.setYear</code>
+	 */
+	public void setYear(@Nullable String year) {
+		this.year = year;
+	}
+
+	/**
+	 * @param cache snapshot cache to load the models from or null to parse each model
+	 */
+	public void setCache(@Nullable ModelSnapshotCache cache) {
+		this.cache = cache;
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.apache.jena.shacl.parser.PropertyShape;
+import org.apache.jena.shacl.parser.Shape;
+
+/**
+ * Inputs needed to generate the files for a single class
+ *
+ * All of the information is collected from the ontology model before any files are generated
+ * so that the classes can be generated independently of each other (and in parallel).
+ *
+ * @author Gary O'Neall
+ */
+class ClassGenerationContext {
+
+	final String classUri;
+	final String name;
+	final String comment;
+	final @Nullable Shape classShape;
+	final List<PropertyShape> propertyShapes;
+	final List<String> superClasses;
+	final @Nullable String superClassUri;
+	final boolean enumClass;
+	final boolean abstractClass;
+	final Map<String, String> individualUriToComment;
+	String fingerprint = ""; // fingerprint of all inputs used to generate the files for the class
+	boolean upToDate = false; // true if the files generated by the previous incremental generation are still valid
+
+	/**
+	 * @param classUri URI of the class to generate
+	 * @param name local name for the class
+	 * @param comment description of the class
+	 * @param classShape shape for the class
+	 * @param propertyShapes properties for the class including properties inherited from superclasses
+	 * @param superClasses URIs of all superclasses for the class
+	 * @param enumClass true if the class is an enumeration
+	 * @param abstractClass true if the class is abstract
+	 * @param individualUriToComment map of the URI's to descriptions for any individuals of this class
+	 */
+	ClassGenerationContext(String classUri, String name, String comment, @Nullable Shape classShape,
+			List<PropertyShape> propertyShapes, List<String> superClasses, boolean enumClass,
+			boolean abstractClass, Map<String, String> individualUriToComment) {
+		this.classUri = classUri;
+		this.name = name;
+		this.comment = comment;
+		this.classShape = classShape;
+		this.propertyShapes = propertyShapes;
+		this.superClasses = superClasses;
+		this.superClassUri = superClasses.isEmpty() ? null : superClasses.get(0);
+		this.enumClass = enumClass;
+		this.abstractClass = abstractClass;
+		this.individualUriToComment = individualUriToComment;
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.ShaclToJava.PropertyType;
+
+/**
+ * Results of generating the files for a single class
+ *
+ * The results are kept separate for each class and merged in the ontology class order
+ * once all classes have been generated so that the aggregate files are the same
+ * regardless of the order the classes are generated in.
+ *
+ * @author Gary O'Neall
+ */
+class ClassGenerationResult {
+
+	final String classUri;
+	final String fingerprint;
+	final List<String> warnings = new ArrayList<>();
+	@Nullable EnumModel enumModel = null;
+	@Nullable String createString = null;
+	@Nullable ClassModel classModel = null;
+	final Map<PropertyType, Map<String, PropertyModel>> propertiesInUse = new HashMap<>();
+
+	/**
+	 * @param classUri URI for the class the results are for
+	 * @param fingerprint fingerprint of the inputs used to generate the files for the class
+	 */
+	ClassGenerationResult(String classUri, String fingerprint) {
+		this.classUri = classUri;
+		this.fingerprint = fingerprint;
+	}
+}
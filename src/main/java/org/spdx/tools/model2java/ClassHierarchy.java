@@ -0,0 +1,112 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Index of the class hierarchy computed once from the direct superclasses of each class
+ *
+ * Ancestors are ordered from the closest superclass following each direct superclass in
+ * turn depth first, with any class reachable through more than one path included only once.
+ *
+ * @author Gary O'Neall
+ */
+class ClassHierarchy {
+
+	private final Map<String, List<String>> ancestors = new HashMap<>();
+	private final Map<String, Set<String>> ancestorSets = new HashMap<>();
+	private final Map<String, Set<String>> descendants = new HashMap<>();
+
+	/**
+	 * @param directSuperClasses map of class URI to the URIs of its direct superclasses in model order
+	 */
+	ClassHierarchy(Map<String, List<String>> directSuperClasses) {
+		for (String classUri:directSuperClasses.keySet()) {
+			computeAncestors(classUri, directSuperClasses, new HashSet<>());
+		}
+		for (Entry<String, List<String>> entry:ancestors.entrySet()) {
+			ancestorSets.put(entry.getKey(), Collections.unmodifiableSet(new HashSet<>(entry.getValue())));
+			for (String ancestor:entry.getValue()) {
+				descendants.computeIfAbsent(ancestor, uri -> new HashSet<>()).add(entry.getKey());
+			}
+		}
+		for (Entry<String, Set<String>> entry:descendants.entrySet()) {
+			entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+		}
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @param directSuperClasses map of class URI to the URIs of its direct superclasses
+	 * @param inProgress classes currently being computed - guards against cycles in the hierarchy
+	 * @return ordered and deduplicated ancestors for the class
+	 */
+	private List<String> computeAncestors(String classUri, Map<String, List<String>> directSuperClasses,
+			Set<String> inProgress) {
+		List<String> retval = ancestors.get(classUri);
+		if (Objects.nonNull(retval)) {
+			return retval;
+		}
+		if (!inProgress.add(classUri)) {
+			return Collections.emptyList();
+		}
+		Set<String> result = new LinkedHashSet<>();
+		for (String superClassUri:directSuperClasses.getOrDefault(classUri, Collections.emptyList())) {
+			result.add(superClassUri);
+			result.addAll(computeAncestors(superClassUri, directSuperClasses, inProgress));
+		}
+		result.remove(classUri);
+		inProgress.remove(classUri);
+		retval = Collections.unmodifiableList(new ArrayList<>(result));
+		ancestors.put(classUri, retval);
+		return retval;
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return all superclasses of the class starting with the closest superclass
+	 */
+	List<String> getAncestors(String classUri) {
+		return ancestors.getOrDefault(classUri, Collections.emptyList());
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return all classes which have the class as a superclass
+	 */
+	Set<String> getDescendants(String classUri) {
+		return descendants.getOrDefault(classUri, Collections.emptySet());
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @param superClassUri possible superclass URI
+	 * @return true if superClassUri is a direct or transitive superclass of classUri
+	 */
+	boolean isSubclassOf(String classUri, String superClassUri) {
+		Set<String> classAncestors = ancestorSets.get(classUri);
+		return Objects.nonNull(classAncestors) && classAncestors.contains(superClassUri);
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @param superClassUri possible superclass URI
+	 * @return true if the classes are the same or superClassUri is a direct or transitive superclass of classUri
+	 */
+	boolean isSameOrSubclassOf(String classUri, String superClassUri) {
+		return classUri.equals(superClassUri) || isSubclassOf(classUri, superClassUri);
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.ShaclToJava.PropertyType;
+
+/**
+ * Immutable model of an ontology class built once and shared by the Java class, external Java class,
+ * unit test and test values generator templates
+ *
+ * @author Gary O'Neall
+ */
+final class ClassModel extends TypeModel {
+
+	final String classUri;
+	private final boolean abstractClass;
+	final boolean verifySuperclass;
+	final boolean hasCreationInfo;
+	final List<String> testImports; // imports for the unit test
+	final @Nullable String toString; // body of the toString override or null to use the default
+	final @Nullable String equalsHashOverride; // code for equals and hashCode or null to use the default
+	final boolean compareUsingProperties = false; // use properties to implement compareTo - not yet implemented
+	final List<PropertyModel> compareProperties = Collections.emptyList();
+
+	/**
+	 * @param classUri URI of the class
+	 * @param className name of the Java class
+	 * @param classProfile profile identifier type of the class
+	 * @param pkgName Java package of the class
+	 * @param classComments Javadoc comments for the class
+	 * @param superClass name of the Java superclass
+	 * @param year copyright year
+	 * @param properties properties for each property type - every property type must be present
+	 * @param imports sorted import statements for the Java class
+	 * @param testImports sorted import statements for the unit test
+	 * @param abstractClass true if the class is abstract
+	 * @param hasCreationInfo true if the class has a creation info property
+	 * @param toString body of the toString override or null to use the default
+	 * @param equalsHashOverride code for equals and hashCode or null to use the default
+	 */
+	ClassModel(String classUri, String className, String classProfile, String pkgName, String classComments,
+			String superClass, String year, Map<PropertyType, List<PropertyModel>> properties,
+			List<String> imports, List<String> testImports, boolean abstractClass, boolean hasCreationInfo,
+			@Nullable String toString, @Nullable String equalsHashOverride) {
+		super(className, classProfile, pkgName, classComments, superClass, year, properties, imports);
+		this.classUri = classUri;
+		this.abstractClass = abstractClass;
+		this.verifySuperclass = !"ModelObjectV3".equals(superClass);
+		this.hasCreationInfo = hasCreationInfo;
+		this.testImports = Collections.unmodifiableList(testImports);
+		this.toString = toString;
+		this.equalsHashOverride = equalsHashOverride;
+	}
+
+	/**
+	 * @return true if the class is abstract - <code>abstract</code> in the templates
+	 */
+	boolean isAbstract() {
+		return abstractClass;
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Result of compiling the generated sources with the <code>GeneratedSourceCompiler</code>
+ *
+ * @author Gary O'Neall
+ */
+public class CompilationResult {
+
+	private final boolean success;
+	private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+	private final Map<String, byte[]> mainClasses;
+	private final Map<String, byte[]> testClasses;
+
+	/**
+	 * @param success true if the compilation completed without errors
+	 * @param diagnostics diagnostics reported by the compiler
+	 * @param mainClasses class files compiled from the main sources keyed by binary class name
+	 * @param testClasses class files compiled from the test sources keyed by binary class name
+	 */
+	CompilationResult(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics,
+			Map<String, byte[]> mainClasses, Map<String, byte[]> testClasses) {
+		this.success = success;
+		this.diagnostics = Collections.unmodifiableList(new ArrayList<>(diagnostics));
+		this.mainClasses = Collections.unmodifiableMap(mainClasses);
+		this.testClasses = Collections.unmodifiableMap(testClasses);
+	}
+
+	/**
+	 * @return true if the compilation completed without errors
+	 */
+	public boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * @return all diagnostics reported by the compiler
+	 */
+	public List<Diagnostic<? extends JavaFileObject>> getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * @return formatted error messages including the source file and line number
+	 */
+	public List<String> getErrors() {
+		List<String> retval = new ArrayList<>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic:diagnostics) {
+			if (Diagnostic.Kind.ERROR.equals(diagnostic.getKind())) {
+				String source = diagnostic.getSource() == null ? "" : diagnostic.getSource().getName();
+				retval.add(String.format("%s:%d: %s", source, diagnostic.getLineNumber(), diagnostic.getMessage(Locale.ROOT)));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @return class files compiled from the main sources keyed by binary class name
+	 */
+	public Map<String, byte[]> getMainClasses() {
+		return mainClasses;
+	}
+
+	/**
+	 * @return class files compiled from the test sources keyed by binary class name
+	 */
+	public Map<String, byte[]> getTestClasses() {
+		return testClasses;
+	}
+
+	/**
+	 * Creates a class loader which defines the compiled main and test classes, e.g. to run or
+	 * benchmark the generated code in the same JVM
+	 * @param parent class loader for the classes the generated sources were compiled against
+	 * @return class loader for the compiled classes
+	 */
+	public ClassLoader createClassLoader(ClassLoader parent) {
+		Map<String, byte[]> classes = new HashMap<>(testClasses);
+		classes.putAll(mainClasses);
+		return new ClassLoader(parent) {
+			@Override
+			protected Class<?> findClass(String name) throws ClassNotFoundException {
+				byte[] classFile = classes.get(name);
+				if (Objects.isNull(classFile)) {
+					throw new ClassNotFoundException(name);
+				}
+				return defineClass(name, classFile, 0, classFile.length);
+			}
+		};
+	}
+
+	/**
+	 * Writes the classes compiled from the main sources to a JAR file
+	 * @param jarFile JAR file to create or replace
+	 * @throws IOException on errors writing the JAR file
+	 */
+	public void writeJar(Path jarFile) throws IOException {
+		try (OutputStream stream = Files.newOutputStream(jarFile)) {
+			writeJar(stream);
+		}
+	}
+
+	/**
+	 * Writes the classes compiled from the main sources in JAR format
+	 *
+	 * The entries are in class name order and, if the <code>SOURCE_DATE_EPOCH</code> environment
+	 * variable is set, stamped with that time so that the same classes always produce the same JAR.
+	 * @param stream stream to write the JAR to - not closed
+	 * @throws IOException on errors writing the JAR
+	 */
+	public void writeJar(OutputStream stream) throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		long entryTime = ShaclToJava.sourceDateEpochMillis();
+		JarOutputStream jarStream = new JarOutputStream(new BufferedOutputStream(stream));
+		// written as an entry rather than passed to the stream so that the manifest has the same time as the classes
+		ZipEntry manifestEntry = new ZipEntry(JarFile.MANIFEST_NAME);
+		JarFileSink.setEntryTime(manifestEntry, entryTime);
+		jarStream.putNextEntry(manifestEntry);
+		manifest.write(jarStream);
+		jarStream.closeEntry();
+		for (Entry<String, byte[]> entry:mainClasses.entrySet()) {
+			ZipEntry zipEntry = new ZipEntry(entry.getKey().replace('.', '/') + ".class");
+			JarFileSink.setEntryTime(zipEntry, entryTime);
+			jarStream.putNextEntry(zipEntry);
+			jarStream.write(entry.getValue());
+			jarStream.closeEntry();
+		}
+		jarStream.finish();
+		jarStream.flush();
+	}
+}
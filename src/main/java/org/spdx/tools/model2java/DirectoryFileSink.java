@@ -0,0 +1,164 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes the generated files to a directory
+ *
+ * Each output directory is created at most once per sink.  In write-if-changed mode, the content
+ * of an existing file is compared with the generated content and the file is only rewritten if it
+ * differs, preserving the modification time of unchanged files for downstream incremental builds.
+ *
+ * @author Gary O'Neall
+ */
+public class DirectoryFileSink implements GeneratedFileSink {
+
+	private final Path root;
+	private final boolean writeIfChanged;
+	private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+	private final Set<Path> generatedFiles = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger writtenCount = new AtomicInteger();
+	private final AtomicInteger skippedCount = new AtomicInteger();
+	private final AtomicInteger deletedCount = new AtomicInteger();
+
+	/**
+	 * @param dir root directory for the generated files
+	 * @param writeIfChanged if true, existing files with identical content are not rewritten
+	 */
+	public DirectoryFileSink(File dir, boolean writeIfChanged) {
+		this.root = dir.toPath().toAbsolutePath().normalize();
+		this.writeIfChanged = writeIfChanged;
+	}
+
+	/**
+	 * @param dir root directory for the generated files
+	 */
+	public DirectoryFileSink(File dir) {
+		this(dir, false);
+	}
+
+	/**
+	 * @param path logical path
+	 * @return file system path under the root directory
+	 */
+	private Path resolve(String path) {
+		return root.resolve(path).normalize();
+	}
+
+	@Override
+	public void write(String path, byte[] content) throws IOException {
+		Path file = resolve(path);
+		generatedFiles.add(file);
+		if (writeIfChanged && isUnchanged(file, content)) {
+			skippedCount.incrementAndGet();
+			return;
+		}
+		Path parent = file.getParent();
+		if (!createdDirectories.contains(parent)) {
+			// only recorded once created so that concurrent writers never see a directory which does not yet exist
+			Files.createDirectories(parent);
+			createdDirectories.add(parent);
+		}
+		Files.write(file, content);
+		writtenCount.incrementAndGet();
+	}
+
+	/**
+	 * @param file existing file
+	 * @param content generated content
+	 * @return true if the file exists and has the same content
+	 * @throws IOException on errors reading the file
+	 */
+	private boolean isUnchanged(Path file, byte[] content) throws IOException {
+		if (!Files.isRegularFile(file) || Files.size(file) != content.length) {
+			return false;
+		}
+		return Arrays.equals(Files.readAllBytes(file), content);
+	}
+
+	@Override
+	public @Nullable byte[] read(String path) throws IOException {
+		Path file = resolve(path);
+		return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+	}
+
+	@Override
+	public boolean exists(String path) {
+		return Files.isRegularFile(resolve(path));
+	}
+
+	@Override
+	public void retain(String path) {
+		generatedFiles.add(resolve(path));
+		skippedCount.incrementAndGet();
+	}
+
+	@Override
+	public void deleteStaleFiles(String directory) throws IOException {
+		Path dir = resolve(directory);
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		List<Path> staleFiles;
+		try (Stream<Path> paths = Files.walk(dir)) {
+			staleFiles = paths.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".java"))
+					.filter(path -> !generatedFiles.contains(path.toAbsolutePath().normalize()))
+					.collect(Collectors.toList());
+		}
+		for (Path staleFile:staleFiles) {
+			Files.delete(staleFile);
+			deletedCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return root directory for the generated files
+	 */
+	public Path getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return true if existing files with identical content are not rewritten
+	 */
+	public boolean isWriteIfChanged() {
+		return writeIfChanged;
+	}
+
+	@Override
+	public int getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	@Override
+	public int getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	@Override
+	public int getDeletedCount() {
+		return deletedCount.get();
+	}
+
+	@Override
+	public void close() throws IOException {
+		// nothing to close - all files are written as they are generated
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable model of an enumeration shared by the enum class and enum factory templates
+ *
+ * @author Gary O'Neall
+ */
+final class EnumModel {
+
+	final String classUri;
+	final String name;
+	final String pkgName;
+	final String classComment;
+	final String year;
+	final List<String> enumValues; // Java enum constant declarations including the separators
+
+	/**
+	 * @param classUri URI of the enumeration class
+	 * @param name name of the Java enum
+	 * @param pkgName Java package of the enum
+	 * @param classComment Javadoc comments for the enum
+	 * @param year copyright year
+	 * @param enumValues Java enum constant declarations including the separators
+	 */
+	EnumModel(String classUri, String name, String pkgName, String classComment, String year, List<String> enumValues) {
+		this.classUri = classUri;
+		this.name = name;
+		this.pkgName = pkgName;
+		this.classComment = classComment;
+		this.year = year;
+		this.enumValues = Collections.unmodifiableList(enumValues);
+	}
+}
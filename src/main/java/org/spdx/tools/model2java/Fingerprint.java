@@ -0,0 +1,100 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Builds a SHA-256 fingerprint from a sequence of values
+ *
+ * Each value is length prefixed so that different sequences of values can not produce the same input to the digest.
+ *
+ * @author Gary O'Neall
+ */
+class Fingerprint {
+
+	private final MessageDigest digest;
+
+	Fingerprint() {
+		digest = newDigest();
+	}
+
+	/**
+	 * @return a new SHA-256 message digest
+	 */
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not supported by this JVM", e);
+		}
+	}
+
+	/**
+	 * @param content bytes to fingerprint
+	 * @return hex encoded SHA-256 of the content
+	 */
+	static String of(byte[] content) {
+		return toHex(newDigest().digest(content));
+	}
+
+	/**
+	 * @param bytes bytes to encode
+	 * @return lower case hex encoding of the bytes
+	 */
+	static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b:bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param value value to add to the fingerprint - null values are distinct from empty strings
+	 * @return this to allow chaining
+	 */
+	Fingerprint add(@Nullable String value) {
+		if (value == null) {
+			update(-1);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			update(bytes.length);
+			digest.update(bytes);
+		}
+		return this;
+	}
+
+	/**
+	 * @param value value to add to the fingerprint
+	 * @return this to allow chaining
+	 */
+	Fingerprint add(boolean value) {
+		digest.update(value ? (byte)1 : (byte)0);
+		return this;
+	}
+
+	private void update(int value) {
+		digest.update((byte)(value >>> 24));
+		digest.update((byte)(value >>> 16));
+		digest.update((byte)(value >>> 8));
+		digest.update((byte)value);
+	}
+
+	/**
+	 * Completes the fingerprint - no further values can be added
+	 * @return hex encoded fingerprint
+	 */
+	@Override
+	public String toString() {
+		return toHex(digest.digest());
+	}
+}
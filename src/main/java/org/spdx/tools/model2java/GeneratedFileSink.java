@@ -0,0 +1,72 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Destination for the files produced by <code>ShaclToJava</code>
+ *
+ * Files are identified by logical paths relative to the root of the generated project using
+ * <code>/</code> as the separator (e.g. <code>src/main/java/org/spdx/library/model/v3_0_1/SpdxConstantsV3.java</code>).
+ * Implementations must be safe to call from multiple threads.
+ *
+ * @author Gary O'Neall
+ */
+public interface GeneratedFileSink extends Closeable {
+
+	/**
+	 * Writes a generated file
+	 * @param path logical path of the file
+	 * @param content generated content
+	 * @throws IOException on errors writing the file
+	 */
+	void write(String path, byte[] content) throws IOException;
+
+	/**
+	 * @param path logical path of the file
+	 * @return the content of a file written by this or a previous generation, or null if not available
+	 * @throws IOException on errors reading the file
+	 */
+	@Nullable byte[] read(String path) throws IOException;
+
+	/**
+	 * @param path logical path of the file
+	 * @return true if the file was written by this or a previous generation and is still available
+	 */
+	boolean exists(String path);
+
+	/**
+	 * Records a file from a previous generation which is still valid and is not rewritten
+	 * @param path logical path of the file
+	 */
+	void retain(String path);
+
+	/**
+	 * Deletes all java source files under the directory which were neither written nor retained by this generation
+	 * @param directory logical path of a directory containing only generated java source files
+	 * @throws IOException on errors deleting files
+	 */
+	void deleteStaleFiles(String directory) throws IOException;
+
+	/**
+	 * @return number of files written
+	 */
+	int getWrittenCount();
+
+	/**
+	 * @return number of files left untouched since they were unchanged or retained
+	 */
+	int getSkippedCount();
+
+	/**
+	 * @return number of stale files deleted
+	 */
+	int getDeletedCount();
+}
@@ -0,0 +1,207 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles the generated sources in memory using the system Java compiler
+ *
+ * The sources are never written to disk and the class files are kept in memory in the
+ * returned <code>CompilationResult</code>.  The class path must include spdx-java-core and,
+ * if the unit tests are compiled, junit and generex.
+ *
+ * @author Gary O'Neall
+ */
+public class GeneratedSourceCompiler {
+
+	static final String MAIN_SOURCE_ROOT = "src/main/java/";
+	static final String TEST_SOURCE_ROOT = "src/test/java/";
+
+	private final List<File> classPath;
+	private String release = "11";
+	private boolean includeTests = true;
+
+	/**
+	 * @param classPath class path to compile the generated sources against
+	 */
+	public GeneratedSourceCompiler(List<File> classPath) {
+		this.classPath = new ArrayList<>(classPath);
+	}
+
+	/**
+	 * @param classPath class path to compile the generated sources against using the platform path separator
+	 */
+	public GeneratedSourceCompiler(String classPath) {
+		this(Arrays.stream(classPath.split(File.pathSeparator))
+				.filter(path -> !path.isEmpty())
+				.map(File::new)
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * @param release Java release to compile for (default 11)
+	 */
+	public void setRelease(String release) {
+		this.release = release;
+	}
+
+	/**
+	 * @param includeTests if true, the generated unit tests are also compiled (default true)
+	 */
+	public void setIncludeTests(boolean includeTests) {
+		this.includeTests = includeTests;
+	}
+
+	/**
+	 * Compiles generated sources
+	 * @param files generated files keyed by logical path - only java sources under the main and, if included, test source roots are compiled
+	 * @return the result of the compilation
+	 * @throws IOException if no system Java compiler is available
+	 */
+	public CompilationResult compile(Map<String, byte[]> files) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (Objects.isNull(compiler)) {
+			throw new IOException("No system Java compiler available - a JDK is required to compile the generated sources");
+		}
+		List<JavaFileObject> sources = new ArrayList<>();
+		for (Entry<String, byte[]> entry:files.entrySet()) {
+			String path = entry.getKey();
+			if (path.endsWith(".java") &&
+					(path.startsWith(MAIN_SOURCE_ROOT) || (includeTests && path.startsWith(TEST_SOURCE_ROOT)))) {
+				sources.add(new SourceFile(path, new String(entry.getValue(), StandardCharsets.UTF_8)));
+			}
+		}
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		Map<String, byte[]> mainClasses = new TreeMap<>();
+		Map<String, byte[]> testClasses = new TreeMap<>();
+		try (StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+			standardFileManager.setLocation(StandardLocation.CLASS_PATH, classPath);
+			JavaFileManager fileManager = new InMemoryClassFileManager(standardFileManager, mainClasses, testClasses);
+			List<String> options = Arrays.asList("--release", release, "-nowarn", "-proc:none");
+			boolean success = sources.isEmpty() || compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+			return new CompilationResult(success, diagnostics.getDiagnostics(), mainClasses, testClasses);
+		}
+	}
+
+	/**
+	 * Compiles the generated sources from a generated project directory
+	 * @param dir directory the sources were generated into
+	 * @return the result of the compilation
+	 * @throws IOException on errors reading the sources
+	 */
+	public CompilationResult compile(File dir) throws IOException {
+		Map<String, byte[]> files = new TreeMap<>();
+		Path root = dir.toPath();
+		for (String sourceRoot:new String[] {MAIN_SOURCE_ROOT, TEST_SOURCE_ROOT}) {
+			Path sourceDir = root.resolve(sourceRoot);
+			if (!Files.isDirectory(sourceDir)) {
+				continue;
+			}
+			try (Stream<Path> paths = Files.walk(sourceDir)) {
+				for (Path path:paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+					files.put(root.relativize(path).toString().replace(File.separatorChar, '/'), Files.readAllBytes(path));
+				}
+			}
+		}
+		return compile(files);
+	}
+
+	/**
+	 * Java source held in memory
+	 */
+	private static class SourceFile extends SimpleJavaFileObject {
+
+		private final String content;
+
+		SourceFile(String path, String content) {
+			super(URI.create("string:///" + path), Kind.SOURCE);
+			this.content = content;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return content;
+		}
+	}
+
+	/**
+	 * Class file held in memory
+	 */
+	private static class ClassFile extends SimpleJavaFileObject {
+
+		private final String className;
+		private final Map<String, byte[]> classFiles;
+
+		ClassFile(String className, Map<String, byte[]> classFiles) {
+			super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+			this.className = className;
+			this.classFiles = classFiles;
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return new ByteArrayOutputStream() {
+				@Override
+				public void close() throws IOException {
+					super.close();
+					synchronized (classFiles) {
+						classFiles.put(className, toByteArray());
+					}
+				}
+			};
+		}
+	}
+
+	/**
+	 * File manager which keeps the class files in memory separated by main and test sources
+	 */
+	private static class InMemoryClassFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+		private final Map<String, byte[]> mainClasses;
+		private final Map<String, byte[]> testClasses;
+
+		InMemoryClassFileManager(JavaFileManager fileManager, Map<String, byte[]> mainClasses, Map<String, byte[]> testClasses) {
+			super(fileManager);
+			this.mainClasses = mainClasses;
+			this.testClasses = testClasses;
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling) {
+			boolean testClass = Objects.nonNull(sibling) && sibling.toUri().getPath().startsWith("/" + TEST_SOURCE_ROOT);
+			return new ClassFile(className, testClass ? testClasses : mainClasses);
+		}
+	}
+}
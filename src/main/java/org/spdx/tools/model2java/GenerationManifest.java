@@ -0,0 +1,98 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Manifest of the input fingerprints for the files generated by the previous incremental generation
+ *
+ * The manifest is stored with the generated files with one line per class or aggregate file containing
+ * the key and the fingerprint separated by a tab.
+ *
+ * @author Gary O'Neall
+ */
+class GenerationManifest {
+
+	static final String MANIFEST_FILE_NAME = ".model2java-manifest";
+	static final String AGGREGATE_KEY_PREFIX = "aggregate:";
+	private static final String HEADER = "# model2java generation manifest - do not edit";
+
+	private final Map<String, String> fingerprints = new TreeMap<>();
+
+	/**
+	 * @param sink destination for the generated files
+	 * @return the manifest stored with the generated files or an empty manifest if none exists
+	 * @throws IOException on errors reading the manifest
+	 */
+	static GenerationManifest load(GeneratedFileSink sink) throws IOException {
+		GenerationManifest retval = new GenerationManifest();
+		byte[] content = sink.read(MANIFEST_FILE_NAME);
+		if (content == null) {
+			return retval;
+		}
+		try (BufferedReader reader = new BufferedReader(new StringReader(new String(content, StandardCharsets.UTF_8)))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int tab = line.lastIndexOf('\t');
+				if (line.startsWith("#") || tab < 0) {
+					continue;
+				}
+				retval.fingerprints.put(line.substring(0, tab), line.substring(tab + 1));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Stores the manifest with the generated files replacing any existing manifest
+	 * @param sink destination for the generated files
+	 * @throws IOException on errors writing the manifest
+	 */
+	void store(GeneratedFileSink sink) throws IOException {
+		StringBuilder sb = new StringBuilder(HEADER);
+		sb.append('\n');
+		for (Entry<String, String> entry:fingerprints.entrySet()) {
+			sb.append(entry.getKey());
+			sb.append('\t');
+			sb.append(entry.getValue());
+			sb.append('\n');
+		}
+		sink.write(MANIFEST_FILE_NAME, sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param key class URI or aggregate key
+	 * @return the fingerprint for the key or null if not present
+	 */
+	@Nullable String getFingerprint(String key) {
+		return fingerprints.get(key);
+	}
+
+	/**
+	 * @param key class URI or aggregate key
+	 * @param fingerprint fingerprint of the inputs used to generate the files for the key
+	 */
+	void putFingerprint(String key, String fingerprint) {
+		fingerprints.put(key, fingerprint);
+	}
+
+	/**
+	 * @return unmodifiable view of all fingerprints in key order
+	 */
+	Map<String, String> getFingerprints() {
+		return Collections.unmodifiableMap(fingerprints);
+	}
+}
@@ -0,0 +1,287 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Wall time, allocated bytes and counts for each phase of the generation and for each generated class
+ *
+ * Measurements are started with <code>start</code> and recorded when closed in a <code>finally</code>
+ * block - a try-with-resources block would not use the measurement and trigger a lint warning.  Nested measurements are each recorded in full, so the time of a phase
+ * includes the time of any phases run within it.  Allocated bytes are measured for the current
+ * thread using the <code>com.sun.management.ThreadMXBean</code> when the JVM supports it and are
+ * reported as -1 otherwise.  Measurements may be recorded concurrently.
+ *
+ * @author Gary O'Neall
+ */
+public class GenerationMetrics {
+
+	/**
+	 * Totals for all measurements of a phase
+	 */
+	public static class PhaseStatistics {
+		private long count = 0;
+		private long wallNanos = 0;
+		private long allocatedBytes = 0;
+
+		private void add(long wallNanos, long allocatedBytes) {
+			this.count++;
+			this.wallNanos += wallNanos;
+			if (this.allocatedBytes >= 0) {
+				this.allocatedBytes = allocatedBytes < 0 ? -1 : this.allocatedBytes + allocatedBytes;
+			}
+		}
+
+		/**
+		 * @return number of times the phase was measured
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return total wall time in nanoseconds
+		 */
+		public long getWallNanos() {
+			return wallNanos;
+		}
+
+		/**
+		 * @return total bytes allocated by the measuring threads or -1 if allocations can not be measured
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+
+	/**
+	 * A measurement in progress - recorded when closed
+	 */
+	public class Measurement implements AutoCloseable {
+		private final String phase;
+		private final @Nullable String classUri;
+		private final long startNanos;
+		private final long startAllocatedBytes;
+
+		private Measurement(String phase, @Nullable String classUri) {
+			this.phase = phase;
+			this.classUri = classUri;
+			this.startAllocatedBytes = currentThreadAllocatedBytes();
+			this.startNanos = System.nanoTime();
+		}
+
+		@Override
+		public void close() {
+			long wallNanos = System.nanoTime() - startNanos;
+			long endAllocatedBytes = currentThreadAllocatedBytes();
+			long allocatedBytes = startAllocatedBytes < 0 || endAllocatedBytes < 0 ? -1 : endAllocatedBytes - startAllocatedBytes;
+			record(phase, classUri, wallNanos, allocatedBytes);
+		}
+	}
+
+	private final @Nullable com.sun.management.ThreadMXBean threadBean;
+	private final Map<String, PhaseStatistics> phases = new LinkedHashMap<>();
+	private final Map<String, Map<String, PhaseStatistics>> classes = new TreeMap<>();
+	private final Map<String, Long> counters = new LinkedHashMap<>();
+
+	public GenerationMetrics() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean &&
+				((com.sun.management.ThreadMXBean)bean).isThreadAllocatedMemorySupported() &&
+				((com.sun.management.ThreadMXBean)bean).isThreadAllocatedMemoryEnabled()) {
+			threadBean = (com.sun.management.ThreadMXBean)bean;
+		} else {
+			threadBean = null;
+		}
+	}
+
+	/**
+	 * @return bytes allocated by the current thread or -1 if not supported
+	 */
+	private long currentThreadAllocatedBytes() {
+		return Objects.isNull(threadBean) ? -1 : threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * @param phase name of the phase
+	 * @return measurement to be closed when the phase completes
+	 */
+	public Measurement start(String phase) {
+		return new Measurement(phase, null);
+	}
+
+	/**
+	 * @param phase name of the phase
+	 * @param classUri URI of the class the phase is run for - the phase is recorded both in total and for the class
+	 * @return measurement to be closed when the phase completes
+	 */
+	public Measurement start(String phase, String classUri) {
+		return new Measurement(phase, classUri);
+	}
+
+	/**
+	 * @param phase name of the phase
+	 * @param classUri URI of the class the phase was run for or null
+	 * @param wallNanos wall time in nanoseconds
+	 * @param allocatedBytes allocated bytes or -1 if not measured
+	 */
+	private synchronized void record(String phase, @Nullable String classUri, long wallNanos, long allocatedBytes) {
+		phases.computeIfAbsent(phase, name -> new PhaseStatistics()).add(wallNanos, allocatedBytes);
+		if (Objects.nonNull(classUri)) {
+			classes.computeIfAbsent(classUri, uri -> new LinkedHashMap<>())
+					.computeIfAbsent(phase, name -> new PhaseStatistics()).add(wallNanos, allocatedBytes);
+		}
+	}
+
+	/**
+	 * @param counter name of the counter
+	 * @param value value to add to the counter
+	 */
+	public synchronized void addCount(String counter, long value) {
+		counters.merge(counter, value, Long::sum);
+	}
+
+	/**
+	 * @return true if the allocated bytes are measured
+	 */
+	public boolean isAllocationMeasured() {
+		return Objects.nonNull(threadBean);
+	}
+
+	/**
+	 * @return statistics for each phase in the order the phases were first recorded
+	 */
+	public synchronized Map<String, PhaseStatistics> getPhases() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return statistics for each phase run for the class
+	 */
+	public synchronized Map<String, PhaseStatistics> getClassPhases(String classUri) {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(classes.getOrDefault(classUri, Collections.emptyMap())));
+	}
+
+	/**
+	 * @return values of all counters
+	 */
+	public synchronized Map<String, Long> getCounters() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(counters));
+	}
+
+	/**
+	 * Writes the metrics as a JSON report
+	 * @param writer writer for the report - not closed
+	 * @throws IOException on errors writing the report
+	 */
+	public synchronized void writeJson(Writer writer) throws IOException {
+		writer.write("{\n  \"generatorVersion\": ");
+		writeJsonString(writer, ShaclToJava.GENERATOR_VERSION);
+		writer.write(",\n  \"allocationMeasured\": ");
+		writer.write(Boolean.toString(isAllocationMeasured()));
+		writer.write(",\n  \"counters\": {");
+		String separator = "\n";
+		for (Entry<String, Long> counter:counters.entrySet()) {
+			writer.write(separator);
+			writer.write("    ");
+			writeJsonString(writer, counter.getKey());
+			writer.write(": ");
+			writer.write(Long.toString(counter.getValue()));
+			separator = ",\n";
+		}
+		writer.write(counters.isEmpty() ? "},\n  \"phases\": " : "\n  },\n  \"phases\": ");
+		writePhasesJson(writer, phases, "  ");
+		writer.write(",\n  \"classes\": {");
+		separator = "\n";
+		for (Entry<String, Map<String, PhaseStatistics>> entry:classes.entrySet()) {
+			writer.write(separator);
+			writer.write("    ");
+			writeJsonString(writer, entry.getKey());
+			writer.write(": ");
+			writePhasesJson(writer, entry.getValue(), "    ");
+			separator = ",\n";
+		}
+		writer.write(classes.isEmpty() ? "}\n}\n" : "\n  }\n}\n");
+	}
+
+	/**
+	 * @return the metrics as a JSON report
+	 */
+	public String toJson() {
+		StringWriter writer = new StringWriter();
+		try {
+			writeJson(writer);
+		} catch (IOException e) {
+			throw new RuntimeException("Unexpected error writing to a string", e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * @param writer writer for the report
+	 * @param phaseStatistics statistics keyed by phase
+	 * @param indent indent of the enclosing object
+	 * @throws IOException on errors writing
+	 */
+	private static void writePhasesJson(Writer writer, Map<String, PhaseStatistics> phaseStatistics, String indent) throws IOException {
+		if (phaseStatistics.isEmpty()) {
+			writer.write("{}");
+			return;
+		}
+		writer.write("{");
+		String separator = "\n";
+		for (Entry<String, PhaseStatistics> entry:phaseStatistics.entrySet()) {
+			writer.write(separator);
+			writer.write(indent);
+			writer.write("  ");
+			writeJsonString(writer, entry.getKey());
+			writer.write(String.format(": {\"count\": %d, \"wallNanos\": %d, \"allocatedBytes\": %d}",
+					entry.getValue().getCount(), entry.getValue().getWallNanos(), entry.getValue().getAllocatedBytes()));
+			separator = ",\n";
+		}
+		writer.write("\n");
+		writer.write(indent);
+		writer.write("}");
+	}
+
+	/**
+	 * @param writer writer
+	 * @param value string to write as a quoted and escaped JSON string
+	 * @throws IOException on errors writing
+	 */
+	static void writeJsonString(Writer writer, String value) throws IOException {
+		writer.write('"');
+		for (char c:value.toCharArray()) {
+			switch (c) {
+				case '"': writer.write("\\\""); break;
+				case '\\': writer.write("\\\\"); break;
+				case '\n': writer.write("\\n"); break;
+				case '\r': writer.write("\\r"); break;
+				case '\t': writer.write("\\t"); break;
+				default:
+					if (c < 0x20) {
+						writer.write(String.format("\\u%04x", (int)c));
+					} else {
+						writer.write(c);
+					}
+			}
+		}
+		writer.write('"');
+	}
+}
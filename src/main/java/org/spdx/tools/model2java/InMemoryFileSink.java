@@ -0,0 +1,110 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the generated files in memory
+ *
+ * Useful for tests and tools which process the generated sources without writing them to disk.
+ *
+ * @author Gary O'Neall
+ */
+public class InMemoryFileSink implements GeneratedFileSink {
+
+	private final SortedMap<String, byte[]> files = new ConcurrentSkipListMap<>();
+	private final Set<String> generatedFiles = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger writtenCount = new AtomicInteger();
+	private final AtomicInteger skippedCount = new AtomicInteger();
+	private final AtomicInteger deletedCount = new AtomicInteger();
+
+	@Override
+	public void write(String path, byte[] content) throws IOException {
+		generatedFiles.add(path);
+		files.put(path, content);
+		writtenCount.incrementAndGet();
+	}
+
+	@Override
+	public @Nullable byte[] read(String path) {
+		return files.get(path);
+	}
+
+	@Override
+	public boolean exists(String path) {
+		return files.containsKey(path);
+	}
+
+	@Override
+	public void retain(String path) {
+		generatedFiles.add(path);
+		skippedCount.incrementAndGet();
+	}
+
+	@Override
+	public void deleteStaleFiles(String directory) {
+		String prefix = directory.endsWith("/") ? directory : directory + "/";
+		List<String> staleFiles = new ArrayList<>();
+		for (String path:files.keySet()) {
+			if (path.startsWith(prefix) && path.endsWith(".java") && !generatedFiles.contains(path)) {
+				staleFiles.add(path);
+			}
+		}
+		for (String staleFile:staleFiles) {
+			files.remove(staleFile);
+			deletedCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @param path logical path of the file
+	 * @return the UTF-8 content of the file or null if the file has not been written
+	 */
+	public @Nullable String getContent(String path) {
+		byte[] content = files.get(path);
+		return content == null ? null : new String(content, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return unmodifiable view of all files keyed by logical path in path order
+	 */
+	public Map<String, byte[]> getFiles() {
+		return Collections.unmodifiableMap(files);
+	}
+
+	@Override
+	public int getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	@Override
+	public int getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	@Override
+	public int getDeletedCount() {
+		return deletedCount.get();
+	}
+
+	@Override
+	public void close() {
+		// nothing to close - the files remain available
+	}
+}
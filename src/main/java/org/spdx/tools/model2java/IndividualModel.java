@@ -0,0 +1,42 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.List;
+import java.util.Map;
+
+import org.spdx.tools.model2java.ShaclToJava.PropertyType;
+
+/**
+ * Immutable model of a named individual generated as a Java class with the properties of its class
+ *
+ * @author Gary O'Neall
+ */
+final class IndividualModel extends TypeModel {
+
+	final String individualUri;
+	final String toStringName; // value returned by toString
+
+	/**
+	 * @param individualUri URI of the individual
+	 * @param className name of the Java class
+	 * @param classProfile profile identifier type of the individual
+	 * @param pkgName Java package of the class
+	 * @param classComments Javadoc comments for the class
+	 * @param superClass name of the Java class of the individual's type
+	 * @param year copyright year
+	 * @param properties properties for each property type - every property type must be present
+	 * @param imports sorted import statements for the Java class
+	 * @param toStringName value returned by toString
+	 */
+	IndividualModel(String individualUri, String className, String classProfile, String pkgName,
+			String classComments, String superClass, String year, Map<PropertyType, List<PropertyModel>> properties,
+			List<String> imports, String toStringName) {
+		super(className, classProfile, pkgName, classComments, superClass, year, properties, imports);
+		this.individualUri = individualUri;
+		this.toStringName = toStringName;
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import javax.annotation.Nullable;
+
+/**
+ * Streams the generated files directly into a JAR (or ZIP) archive
+ *
+ * Entries are written in the order the files are generated.  Since the archive is written from
+ * scratch, previous generations are never available so incremental generation will regenerate
+ * all files.
+ *
+ * Entries are stamped with the current time unless an entry time is set or the
+ * <code>SOURCE_DATE_EPOCH</code> environment variable is set, so that archives of identical
+ * content generated with a single thread are byte identical.
+ *
+ * @author Gary O'Neall
+ */
+public class JarFileSink implements GeneratedFileSink {
+
+	private final JarOutputStream jarStream;
+	private final AtomicInteger writtenCount = new AtomicInteger();
+	private volatile long entryTime = ShaclToJava.sourceDateEpochMillis(); // -1 for the current time
+	Clock clock = Clock.systemUTC(); // source of the current time for the entries if no entry time is set
+
+	/**
+	 * @param stream stream to write the archive to - closed when the sink is closed
+	 * @throws IOException on errors writing the archive header
+	 */
+	public JarFileSink(OutputStream stream) throws IOException {
+		this.jarStream = new JarOutputStream(new BufferedOutputStream(stream));
+	}
+
+	/**
+	 * @param jarFile archive file to create or replace
+	 * @throws IOException on errors creating the file
+	 */
+	public JarFileSink(Path jarFile) throws IOException {
+		this(Files.newOutputStream(jarFile));
+	}
+
+	/**
+	 * @param entryTime modification time in milliseconds since the epoch for all entries or -1 for the current time
+	 */
+	public void setEntryTime(long entryTime) {
+		this.entryTime = entryTime;
+	}
+
+	/**
+	 * Sets the time of an archive entry independently of the default time zone
+	 * @param entry archive entry
+	 * @param entryTime modification time in milliseconds since the epoch or -1 to leave the current time
+	 */
+	static void setEntryTime(ZipEntry entry, long entryTime) {
+		if (entryTime >= 0) {
+			entry.setTimeLocal(LocalDateTime.ofInstant(Instant.ofEpochMilli(entryTime), ZoneOffset.UTC));
+		}
+	}
+
+	@Override
+	public void write(String path, byte[] content) throws IOException {
+		ZipEntry entry = new ZipEntry(path);
+		if (entryTime >= 0) {
+			setEntryTime(entry, entryTime);
+		} else {
+			entry.setTime(clock.millis());
+		}
+		synchronized (jarStream) {
+			jarStream.putNextEntry(entry);
+			jarStream.write(content);
+			jarStream.closeEntry();
+		}
+		writtenCount.incrementAndGet();
+	}
+
+	@Override
+	public @Nullable byte[] read(String path) {
+		return null;
+	}
+
+	@Override
+	public boolean exists(String path) {
+		return false;
+	}
+
+	@Override
+	public void retain(String path) {
+		// files from previous generations are never retained since the archive is written from scratch
+	}
+
+	@Override
+	public void deleteStaleFiles(String directory) {
+		// no stale files since the archive is written from scratch
+	}
+
+	@Override
+	public int getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	@Override
+	public int getSkippedCount() {
+		return 0;
+	}
+
+	@Override
+	public int getDeletedCount() {
+		return 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (jarStream) {
+			jarStream.close();
+		}
+	}
+}
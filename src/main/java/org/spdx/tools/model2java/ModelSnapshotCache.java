@@ -0,0 +1,159 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.graph.GraphFactory;
+
+/**
+ * Cache of binary snapshots of parsed models keyed by the SHA-256 hash of the model file
+ *
+ * A snapshot contains a small header, the <code>OntologyIndex</code> and the graph in RDF Thrift
+ * format.  Loading a snapshot avoids parsing the Turtle and indexing the model.  Snapshots written
+ * by a different generator version or snapshot format, or which can not be read, are ignored and
+ * replaced.  Models may be loaded concurrently.
+ *
+ * @author Gary O'Neall
+ */
+public class ModelSnapshotCache {
+
+	static final String SNAPSHOT_FILE_SUFFIX = ".m2jsnap";
+	private static final int MAGIC = 0x4D324A53; // "M2JS"
+	private static final int FORMAT_VERSION = 2;
+
+	private final Path cacheDir;
+	private final AtomicInteger hitCount = new AtomicInteger();
+	private final AtomicInteger missCount = new AtomicInteger();
+
+	/**
+	 * @param cacheDir directory to store the snapshots - created if it does not exist
+	 */
+	public ModelSnapshotCache(File cacheDir) {
+		this.cacheDir = cacheDir.toPath();
+	}
+
+	/**
+	 * Loads the model from the snapshot for the model file content if one exists, otherwise parses
+	 * the model file and stores a snapshot for later loads
+	 * @param modelFile Turtle file containing the SPDX model
+	 * @return index of the ontology
+	 * @throws IOException on errors reading the model file or writing the snapshot
+	 */
+	public OntologyIndex load(File modelFile) throws IOException {
+		byte[] content = Files.readAllBytes(modelFile.toPath());
+		String hash = Fingerprint.of(content);
+		Path snapshot = getSnapshotPath(hash);
+		if (Files.isRegularFile(snapshot)) {
+			OntologyIndex retval = readSnapshot(snapshot, hash);
+			if (retval != null) {
+				hitCount.incrementAndGet();
+				return retval;
+			}
+		}
+		missCount.incrementAndGet();
+		OntologyIndex retval = OntologyIndex.load(new ByteArrayInputStream(content));
+		writeSnapshot(snapshot, hash, retval);
+		return retval;
+	}
+
+	/**
+	 * @param hash hash of the model file content
+	 * @return path of the snapshot for the model content
+	 */
+	Path getSnapshotPath(String hash) {
+		return cacheDir.resolve(hash + SNAPSHOT_FILE_SUFFIX);
+	}
+
+	/**
+	 * @param snapshot snapshot file
+	 * @param hash expected hash of the model file content
+	 * @return the index read from the snapshot or null if the snapshot is not valid for the hash and generator version
+	 */
+	private @Nullable OntologyIndex readSnapshot(Path snapshot, String hash) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION ||
+					!ShaclToJava.GENERATOR_VERSION.equals(in.readUTF()) || !hash.equals(in.readUTF())) {
+				return null;
+			}
+			Graph graph = GraphFactory.createDefaultGraph();
+			OntologyIndex retval = OntologyIndex.readFrom(in, graph);
+			RDFParser.source(in).lang(Lang.RDFTHRIFT).parse(graph);
+			return retval;
+		} catch (IOException | RuntimeException e) {
+			// treat an unreadable snapshot as a cache miss - it will be replaced
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the snapshot to a temporary file which then replaces any existing snapshot
+	 * @param snapshot snapshot file
+	 * @param hash hash of the model file content
+	 * @param ontology index of the parsed model
+	 * @throws IOException on errors writing the snapshot
+	 */
+	private void writeSnapshot(Path snapshot, String hash, OntologyIndex ontology) throws IOException {
+		Files.createDirectories(cacheDir);
+		Path tempFile = Files.createTempFile(cacheDir, hash, ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(ShaclToJava.GENERATOR_VERSION);
+				out.writeUTF(hash);
+				ontology.writeTo(out);
+				out.flush();
+				RDFDataMgr.write(out, ontology.getGraph(), Lang.RDFTHRIFT);
+			}
+			try {
+				Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * @return directory the snapshots are stored in
+	 */
+	public Path getCacheDir() {
+		return cacheDir;
+	}
+
+	/**
+	 * @return number of loads which used an existing snapshot
+	 */
+	public int getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return number of loads which parsed the model file
+	 */
+	public int getMissCount() {
+		return missCount.get();
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Watches model files for changes using a <code>WatchService</code> on their directories
+ *
+ * Editors often save a file in several steps (truncate and write, or write a temporary file and
+ * rename it), so events are collected until none arrive for a quiet period.  A file is only
+ * reported as changed if its content hash differs from the content last seen, which filters out
+ * events for other files in the same directory and saves which do not change the content.
+ *
+ * @author Gary O'Neall
+ */
+public class ModelWatcher implements Closeable {
+
+	static final long DEFAULT_QUIET_PERIOD_MILLIS = 100;
+
+	private final WatchService watchService;
+	private final Map<Path, File> modelFiles = new LinkedHashMap<>();
+	private final Map<Path, String> contentHashes = new HashMap<>();
+	private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+	private long quietPeriodMillis = DEFAULT_QUIET_PERIOD_MILLIS;
+
+	/**
+	 * @param modelFiles model files to watch - the current content of each file is the baseline for changes
+	 * @throws IOException if the directories can not be watched
+	 */
+	public ModelWatcher(List<File> modelFiles) throws IOException {
+		Path firstDirectory = null;
+		for (File modelFile:modelFiles) {
+			Path path = modelFile.toPath().toAbsolutePath().normalize();
+			this.modelFiles.put(path, modelFile);
+			if (Objects.isNull(firstDirectory)) {
+				firstDirectory = path.getParent();
+			}
+		}
+		if (Objects.isNull(firstDirectory)) {
+			throw new IOException("No model files to watch");
+		}
+		watchService = firstDirectory.getFileSystem().newWatchService();
+		try {
+			Set<Path> directories = new LinkedHashSet<>();
+			for (Path path:this.modelFiles.keySet()) {
+				directories.add(path.getParent());
+				contentHashes.put(path, contentHash(path));
+			}
+			for (Path directory:directories) {
+				WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+				watchedDirectories.put(key, directory);
+			}
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @param path file path
+	 * @return SHA-256 hash of the file content or null if the file can not be read
+	 */
+	private static @Nullable String contentHash(Path path) {
+		try {
+			return Fingerprint.of(Files.readAllBytes(path));
+		} catch (IOException e) {
+			// the file may be missing while it is being saved
+			return null;
+		}
+	}
+
+	/**
+	 * Waits until the content of at least one of the model files changes
+	 * @return model files whose content changed in the order they were passed to the constructor
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws IOException if the watcher has been closed
+	 */
+	public List<File> awaitChanges() throws InterruptedException, IOException {
+		try {
+			while (true) {
+				Set<Path> candidates = new LinkedHashSet<>();
+				collectEvents(watchService.take(), candidates);
+				// merge the events of a save made in several steps
+				WatchKey key;
+				while ((key = watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS)) != null) {
+					collectEvents(key, candidates);
+				}
+				List<File> retval = new ArrayList<>();
+				for (Map.Entry<Path, File> modelFile:modelFiles.entrySet()) {
+					if (!candidates.contains(modelFile.getKey())) {
+						continue;
+					}
+					String hash = contentHash(modelFile.getKey());
+					if (Objects.nonNull(hash) && !hash.equals(contentHashes.get(modelFile.getKey()))) {
+						contentHashes.put(modelFile.getKey(), hash);
+						retval.add(modelFile.getValue());
+					}
+				}
+				if (!retval.isEmpty()) {
+					return retval;
+				}
+			}
+		} catch (ClosedWatchServiceException e) {
+			throw new IOException("Model watcher has been closed", e);
+		}
+	}
+
+	/**
+	 * Adds the paths of the watched model files affected by the events of the key and resets the key
+	 * @param key signalled key
+	 * @param candidates updated with the affected model files
+	 */
+	private void collectEvents(WatchKey key, Set<Path> candidates) {
+		Path directory = watchedDirectories.get(key);
+		for (WatchEvent<?> event:key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// events were lost - check every file
+				candidates.addAll(modelFiles.keySet());
+			} else if (Objects.nonNull(directory) && event.context() instanceof Path) {
+				Path path = directory.resolve((Path)event.context());
+				if (modelFiles.containsKey(path)) {
+					candidates.add(path);
+				}
+			}
+		}
+		key.reset();
+	}
+
+	/**
+	 * @param quietPeriodMillis time without further events after which the collected events are checked
+	 */
+	public void setQuietPeriodMillis(long quietPeriodMillis) {
+		this.quietPeriodMillis = quietPeriodMillis;
+	}
+
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+}
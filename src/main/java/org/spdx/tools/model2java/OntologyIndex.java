@@ -0,0 +1,399 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+/**
+ * Index of the ontology information needed to generate the Java classes
+ *
+ * The index is built from a plain graph using triple pattern lookups only - no ontology model,
+ * inference or SPARQL queries are used.  Once built, the index is immutable and can be read
+ * concurrently.
+ *
+ * @author Gary O'Neall
+ */
+public class OntologyIndex {
+
+	private static final Node TYPE = RDF.type.asNode();
+	private static final Node COMMENT = RDFS.comment.asNode();
+
+	private final Graph graph;
+	private final @Nullable String spdxNamespace;
+	private final List<String> classUris = new ArrayList<>();
+	private final Map<String, List<String>> directSuperClasses = new HashMap<>();
+	private final Set<String> enumeratedClassUris = new HashSet<>();
+	private final Map<String, String> comments = new HashMap<>();
+	private final List<String> individualUris = new ArrayList<>();
+	private final Map<String, List<String>> types = new HashMap<>();
+	private final List<String> namedIndividualUris = new ArrayList<>();
+	private final List<String> datatypePropertyUris = new ArrayList<>();
+	private final List<String> objectPropertyUris = new ArrayList<>();
+
+	/**
+	 * Parses a Turtle document into a graph and indexes it
+	 * @param turtle input stream for the Turtle document - not closed
+	 * @return index of the ontology
+	 */
+	public static OntologyIndex load(InputStream turtle) {
+		Graph graph = GraphFactory.createDefaultGraph();
+		RDFParser.source(turtle).lang(Lang.TURTLE).parse(graph);
+		return new OntologyIndex(graph);
+	}
+
+	/**
+	 * @param graph graph containing the OWL ontology and SHACL shapes
+	 */
+	public OntologyIndex(Graph graph) {
+		this(graph, graph.getPrefixMapping().getNsPrefixURI("spdx"));
+		Set<Node> classNodes = new HashSet<>();
+		for (Node classNode:subjectsOfType(OWL.Class.asNode())) {
+			if (classNode.isURI()) {
+				classNodes.add(classNode);
+				classUris.add(classNode.getURI());
+				String comment = firstComment(classNode);
+				if (Objects.nonNull(comment)) {
+					comments.put(classNode.getURI(), comment);
+				}
+				if (graph.contains(classNode, OWL.oneOf.asNode(), Node.ANY)) {
+					enumeratedClassUris.add(classNode.getURI());
+				}
+			}
+		}
+		indexSuperClasses();
+		List<Triple> typeTriples = graph.find(Node.ANY, TYPE, Node.ANY).toList();
+		Set<Node> classInstances = new HashSet<>();
+		for (Triple triple:typeTriples) {
+			if (triple.getSubject().isURI()) {
+				types.computeIfAbsent(triple.getSubject().getURI(), uri -> new ArrayList<>()).add(
+						triple.getObject().isURI() ? triple.getObject().getURI() : null);
+			}
+			if (classNodes.contains(triple.getObject())) {
+				classInstances.add(triple.getSubject());
+			}
+		}
+		// sorted by URI since the individuals determine the order of the enum values and the order of the
+		// type statements depends on the graph implementation
+		Set<String> individuals = new TreeSet<>();
+		for (Node individual:classInstances) {
+			if (individual.isURI()) {
+				individuals.add(individual.getURI());
+			}
+		}
+		individualUris.addAll(individuals);
+		for (Node namedIndividual:subjectsOfType(NodeFactory.createURI(ShaclToJavaConstants.NAMED_INDIVIDUAL))) {
+			if (namedIndividual.isURI()) {
+				namedIndividualUris.add(namedIndividual.getURI());
+				String comment = firstComment(namedIndividual);
+				if (Objects.nonNull(comment)) {
+					comments.put(namedIndividual.getURI(), comment);
+				}
+			}
+		}
+		datatypePropertyUris.addAll(uris(subjectsOfType(OWL.DatatypeProperty.asNode())));
+		objectPropertyUris.addAll(uris(subjectsOfType(OWL.ObjectProperty.asNode())));
+	}
+
+	/**
+	 * @param graph graph containing the OWL ontology and SHACL shapes
+	 * @param spdxNamespace namespace for the "spdx" prefix
+	 */
+	private OntologyIndex(Graph graph, @Nullable String spdxNamespace) {
+		this.graph = graph;
+		this.spdxNamespace = spdxNamespace;
+	}
+
+	/**
+	 * Writes the index, but not the graph, in the binary format read by <code>readFrom</code>
+	 * @param out output to write to
+	 * @throws IOException on errors writing the index
+	 */
+	void writeTo(DataOutputStream out) throws IOException {
+		writeString(out, spdxNamespace);
+		writeList(out, classUris);
+		out.writeInt(directSuperClasses.size());
+		for (Entry<String, List<String>> entry:directSuperClasses.entrySet()) {
+			writeString(out, entry.getKey());
+			writeList(out, entry.getValue());
+		}
+		writeList(out, new ArrayList<>(enumeratedClassUris));
+		out.writeInt(comments.size());
+		for (Entry<String, String> entry:comments.entrySet()) {
+			writeString(out, entry.getKey());
+			writeString(out, entry.getValue());
+		}
+		writeList(out, individualUris);
+		out.writeInt(types.size());
+		for (Entry<String, List<String>> entry:types.entrySet()) {
+			writeString(out, entry.getKey());
+			writeList(out, entry.getValue());
+		}
+		writeList(out, namedIndividualUris);
+		writeList(out, datatypePropertyUris);
+		writeList(out, objectPropertyUris);
+	}
+
+	/**
+	 * Reads an index written by <code>writeTo</code>
+	 * @param in input to read from
+	 * @param graph graph the index was built from
+	 * @return the index
+	 * @throws IOException on errors reading the index
+	 */
+	static OntologyIndex readFrom(DataInputStream in, Graph graph) throws IOException {
+		OntologyIndex retval = new OntologyIndex(graph, readString(in));
+		retval.classUris.addAll(readList(in));
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			retval.directSuperClasses.put(readString(in), Collections.unmodifiableList(readList(in)));
+		}
+		retval.enumeratedClassUris.addAll(readList(in));
+		count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			retval.comments.put(readString(in), readString(in));
+		}
+		retval.individualUris.addAll(readList(in));
+		count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			retval.types.put(readString(in), readList(in));
+		}
+		retval.namedIndividualUris.addAll(readList(in));
+		retval.datatypePropertyUris.addAll(readList(in));
+		retval.objectPropertyUris.addAll(readList(in));
+		return retval;
+	}
+
+	/**
+	 * @param out output to write to
+	 * @param value string to write - may be null
+	 * @throws IOException on errors writing
+	 */
+	private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+		if (Objects.isNull(value)) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * @param in input to read from
+	 * @return string written by <code>writeString</code>
+	 * @throws IOException on errors reading
+	 */
+	private static @Nullable String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param out output to write to
+	 * @param values strings to write - may contain nulls
+	 * @throws IOException on errors writing
+	 */
+	private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value:values) {
+			writeString(out, value);
+		}
+	}
+
+	/**
+	 * @param in input to read from
+	 * @return list written by <code>writeList</code>
+	 * @throws IOException on errors reading
+	 */
+	private static List<String> readList(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> retval = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			retval.add(readString(in));
+		}
+		return retval;
+	}
+
+	/**
+	 * Indexes the direct superclasses for all classes and their superclasses
+	 */
+	private void indexSuperClasses() {
+		List<String> toVisit = new ArrayList<>(classUris);
+		while (!toVisit.isEmpty()) {
+			String classUri = toVisit.remove(toVisit.size() - 1);
+			if (directSuperClasses.containsKey(classUri)) {
+				continue;
+			}
+			List<String> superClassUris = new ArrayList<>();
+			graph.find(NodeFactory.createURI(classUri), RDFS.subClassOf.asNode(), Node.ANY).forEachRemaining(triple -> {
+				if (triple.getObject().isURI()) {
+					superClassUris.add(triple.getObject().getURI());
+					toVisit.add(triple.getObject().getURI());
+				}
+			});
+			directSuperClasses.put(classUri, Collections.unmodifiableList(superClassUris));
+		}
+	}
+
+	/**
+	 * @param type type
+	 * @return all subjects with an rdf:type of type in graph order without duplicates
+	 */
+	private Set<Node> subjectsOfType(Node type) {
+		Set<Node> retval = new LinkedHashSet<>();
+		graph.find(Node.ANY, TYPE, type).mapWith(Triple::getSubject).forEachRemaining(retval::add);
+		return retval;
+	}
+
+	/**
+	 * @param nodes nodes
+	 * @return URIs for all the URI nodes
+	 */
+	private static List<String> uris(Set<Node> nodes) {
+		List<String> retval = new ArrayList<>();
+		for (Node node:nodes) {
+			if (node.isURI()) {
+				retval.add(node.getURI());
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param subject subject
+	 * @return the lexical form of the first literal rdfs:comment for the subject or null if there is none
+	 */
+	private @Nullable String firstComment(Node subject) {
+		return graph.find(subject, COMMENT, Node.ANY)
+				.mapWith(Triple::getObject)
+				.filterKeep(Node::isLiteral)
+				.nextOptional()
+				.map(Node::getLiteralLexicalForm)
+				.orElse(null);
+	}
+
+	/**
+	 * @return graph containing the ontology and SHACL shapes
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return namespace for the "spdx" prefix or null if the prefix is not defined
+	 */
+	public @Nullable String getSpdxNamespace() {
+		return spdxNamespace;
+	}
+
+	/**
+	 * @return URIs of all named OWL classes in graph order
+	 */
+	public List<String> getClassUris() {
+		return Collections.unmodifiableList(classUris);
+	}
+
+	/**
+	 * @return map of class URI to its direct superclass URIs for all classes and their superclasses
+	 */
+	public Map<String, List<String>> getDirectSuperClasses() {
+		return Collections.unmodifiableMap(directSuperClasses);
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return true if the class is an enumerated class (owl:oneOf)
+	 */
+	public boolean isEnumeratedClass(String classUri) {
+		return enumeratedClassUris.contains(classUri);
+	}
+
+	/**
+	 * @param uri class or named individual URI
+	 * @return description of the class or named individual or null if there is none
+	 */
+	public @Nullable String getComment(String uri) {
+		return comments.get(uri);
+	}
+
+	/**
+	 * @return URIs of all resources with a type which is one of the classes in URI order
+	 */
+	public List<String> getIndividualUris() {
+		return Collections.unmodifiableList(individualUris);
+	}
+
+	/**
+	 * @param uri resource URI
+	 * @return URIs of the rdf:type values for the resource in graph order - null for blank node types
+	 */
+	public List<String> getTypes(String uri) {
+		return Collections.unmodifiableList(types.getOrDefault(uri, Collections.emptyList()));
+	}
+
+	/**
+	 * @param uri resource URI
+	 * @param typeUri type URI
+	 * @return true if the resource has the rdf:type typeUri
+	 */
+	public boolean hasType(String uri, String typeUri) {
+		return types.getOrDefault(uri, Collections.emptyList()).contains(typeUri);
+	}
+
+	/**
+	 * @return URIs of all owl:NamedIndividual resources in graph order
+	 */
+	public List<String> getNamedIndividualUris() {
+		return Collections.unmodifiableList(namedIndividualUris);
+	}
+
+	/**
+	 * @return URIs of all datatype properties in graph order
+	 */
+	public List<String> getDatatypePropertyUris() {
+		return Collections.unmodifiableList(datatypePropertyUris);
+	}
+
+	/**
+	 * @return URIs of all object properties in graph order
+	 */
+	public List<String> getObjectPropertyUris() {
+		return Collections.unmodifiableList(objectPropertyUris);
+	}
+}
@@ -0,0 +1,564 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Finds regular expressions which may backtrack catastrophically when matched by <code>java.util.regex</code>
+ *
+ * The check is a heuristic on the structure of the expression.  It reports a repeated group containing
+ * another repeated element, unless every repetition of the group starts or ends with a character the inner
+ * repetition can not match (e.g. <code>(\.\d+)*</code>), a repeated group with alternatives which can start
+ * with the same character, and adjacent repeated elements which can match the same characters.  Characters
+ * are tracked for ASCII only - any other character is assumed to overlap.  Possessive quantifiers and
+ * atomic groups do not backtrack and are not reported.
+ *
+ * @author Gary O'Neall
+ */
+class PatternChecker {
+
+	static final int UNBOUNDED = -1;
+
+	/**
+	 * Approximation of the characters matched by an element
+	 */
+	private static class CharSet {
+		final BitSet ascii = new BitSet(128);
+		boolean other = false; // true if any non-ASCII character may be matched
+
+		static CharSet all() {
+			CharSet retval = new CharSet();
+			retval.ascii.set(0, 128);
+			retval.other = true;
+			return retval;
+		}
+
+		static CharSet of(char c) {
+			CharSet retval = new CharSet();
+			retval.add(c);
+			return retval;
+		}
+
+		void add(char c) {
+			if (c < 128) {
+				ascii.set(c);
+			} else {
+				other = true;
+			}
+		}
+
+		void addRange(char from, char to) {
+			for (char c = from; c <= to && c < 128; c++) {
+				ascii.set(c);
+			}
+			if (to >= 128) {
+				other = true;
+			}
+		}
+
+		void addAll(CharSet chars) {
+			ascii.or(chars.ascii);
+			other = other || chars.other;
+		}
+
+		CharSet complement() {
+			CharSet retval = new CharSet();
+			retval.ascii.set(0, 128);
+			retval.ascii.andNot(ascii);
+			retval.other = true;
+			return retval;
+		}
+
+		boolean overlaps(CharSet chars) {
+			return ascii.intersects(chars.ascii) || (other && chars.other);
+		}
+	}
+
+	/**
+	 * Element of an expression with its quantifier
+	 */
+	private static class Term {
+		final int start; // index of the element in the expression
+		int end;
+		CharSet chars = new CharSet(); // characters matched by a single character element
+		@Nullable List<List<Term>> alternatives = null; // alternatives of a group
+		boolean atomic = false; // atomic groups do not backtrack
+		boolean zeroWidth = false; // anchors and lookarounds
+		int min = 1;
+		int max = 1;
+		boolean possessive = false;
+
+		Term(int start) {
+			this.start = start;
+		}
+
+		boolean repeats() {
+			return max == UNBOUNDED && !possessive && !zeroWidth;
+		}
+	}
+
+	private final String regex;
+	private int pos = 0;
+	private final List<String> risks = new ArrayList<>();
+
+	private PatternChecker(String regex) {
+		this.regex = regex;
+	}
+
+	/**
+	 * @param regex regular expression in <code>java.util.regex</code> syntax
+	 * @return descriptions of the constructs which may backtrack catastrophically - empty if none are found
+	 * @throws PatternSyntaxException if the expression is not valid
+	 */
+	static List<String> findBacktrackingRisks(String regex) {
+		Pattern.compile(regex);
+		PatternChecker checker = new PatternChecker(regex);
+		List<List<Term>> alternatives = checker.parseAlternatives();
+		for (List<Term> sequence:alternatives) {
+			checker.checkSequence(sequence);
+		}
+		return checker.risks;
+	}
+
+	private List<List<Term>> parseAlternatives() {
+		List<List<Term>> retval = new ArrayList<>();
+		retval.add(parseSequence());
+		while (pos < regex.length() && regex.charAt(pos) == '|') {
+			pos++;
+			retval.add(parseSequence());
+		}
+		return retval;
+	}
+
+	private List<Term> parseSequence() {
+		List<Term> retval = new ArrayList<>();
+		while (pos < regex.length() && regex.charAt(pos) != '|' && regex.charAt(pos) != ')') {
+			Term term = parseAtom();
+			parseQuantifier(term);
+			term.end = pos;
+			retval.add(term);
+		}
+		return retval;
+	}
+
+	private Term parseAtom() {
+		Term retval = new Term(pos);
+		char c = regex.charAt(pos++);
+		switch (c) {
+			case '(': parseGroup(retval); break;
+			case '[': retval.chars = parseClass(); break;
+			case '\\': parseEscape(retval, false); break;
+			case '.': retval.chars = CharSet.all(); break;
+			case '^':
+			case '$': retval.zeroWidth = true; break;
+			default: retval.chars = CharSet.of(c);
+		}
+		return retval;
+	}
+
+	private void parseGroup(Term term) {
+		if (regex.startsWith("?", pos)) {
+			if (regex.startsWith("?:", pos)) {
+				pos += 2;
+			} else if (regex.startsWith("?>", pos)) {
+				term.atomic = true;
+				pos += 2;
+			} else if (regex.startsWith("?=", pos) || regex.startsWith("?!", pos)) {
+				term.zeroWidth = true;
+				pos += 2;
+			} else if (regex.startsWith("?<=", pos) || regex.startsWith("?<!", pos)) {
+				term.zeroWidth = true;
+				pos += 3;
+			} else if (regex.startsWith("?<", pos)) {
+				pos = regex.indexOf('>', pos) + 1;
+			} else {
+				// inline flags - either (?flags) or (?flags:X)
+				while (pos < regex.length() && regex.charAt(pos) != ')' && regex.charAt(pos) != ':') {
+					pos++;
+				}
+				if (regex.charAt(pos++) == ')') {
+					term.zeroWidth = true;
+					return;
+				}
+			}
+		}
+		term.alternatives = parseAlternatives();
+		pos++; // closing parenthesis
+	}
+
+	private CharSet parseClass() {
+		CharSet retval = new CharSet();
+		boolean negated = false;
+		if (regex.charAt(pos) == '^') {
+			negated = true;
+			pos++;
+		}
+		boolean first = true;
+		while (regex.charAt(pos) != ']' || first) {
+			first = false;
+			char c = regex.charAt(pos++);
+			if (c == '[' || regex.startsWith("&&", pos - 1)) {
+				// nested classes and intersections are not tracked
+				int depth = c == '[' ? 1 : 0;
+				while (depth > 0 || regex.charAt(pos) != ']') {
+					char next = regex.charAt(pos++);
+					if (next == '\\') {
+						pos++;
+					} else if (next == '[') {
+						depth++;
+					} else if (next == ']') {
+						depth--;
+					}
+				}
+				pos++; // closing bracket
+				return CharSet.all();
+			} else if (c == '\\') {
+				Term escaped = new Term(pos - 1);
+				parseEscape(escaped, true);
+				retval.addAll(escaped.chars);
+			} else if (regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+				pos++;
+				char to = regex.charAt(pos++);
+				if (to == '\\') {
+					to = regex.charAt(pos++);
+				}
+				retval.addRange(c, to);
+			} else {
+				retval.add(c);
+			}
+		}
+		pos++; // closing bracket
+		return negated ? retval.complement() : retval;
+	}
+
+	private void parseEscape(Term term, boolean inClass) {
+		char c = regex.charAt(pos++);
+		switch (c) {
+			case 'd': term.chars.addRange('0', '9'); break;
+			case 'D': term.chars.addRange('0', '9'); term.chars = term.chars.complement(); break;
+			case 'w': addWordChars(term.chars); break;
+			case 'W': addWordChars(term.chars); term.chars = term.chars.complement(); break;
+			case 's': addSpaceChars(term.chars); break;
+			case 'S': addSpaceChars(term.chars); term.chars = term.chars.complement(); break;
+			case 't': term.chars.add('\t'); break;
+			case 'n': term.chars.add('\n'); break;
+			case 'r': term.chars.add('\r'); break;
+			case 'f': term.chars.add('\f'); break;
+			case 'b':
+			case 'B':
+			case 'A':
+			case 'z':
+			case 'Z':
+			case 'G':
+				if (inClass) {
+					term.chars = CharSet.all();
+				} else {
+					term.zeroWidth = true;
+				}
+				break;
+			case 'Q':
+				int quoteEnd = regex.indexOf("\\E", pos);
+				String quoted = regex.substring(pos, quoteEnd < 0 ? regex.length() : quoteEnd);
+				pos = quoteEnd < 0 ? regex.length() : quoteEnd + 2;
+				if (quoted.isEmpty()) {
+					term.zeroWidth = true;
+				} else {
+					term.chars.add(quoted.charAt(0));
+				}
+				break;
+			case 'p':
+			case 'P':
+				if (regex.charAt(pos) == '{') {
+					pos = regex.indexOf('}', pos) + 1;
+				} else {
+					pos++;
+				}
+				term.chars = CharSet.all();
+				break;
+			case 'u':
+				term.chars.add((char)Integer.parseInt(regex.substring(pos, pos + 4), 16));
+				pos += 4;
+				break;
+			case 'x':
+				if (regex.charAt(pos) == '{') {
+					pos = regex.indexOf('}', pos) + 1;
+				} else {
+					pos += 2;
+				}
+				term.chars = CharSet.all();
+				break;
+			case '0':
+				while (pos < regex.length() && regex.charAt(pos) >= '0' && regex.charAt(pos) <= '7') {
+					pos++;
+				}
+				term.chars = CharSet.all();
+				break;
+			case 'c':
+				pos++;
+				term.chars = CharSet.all();
+				break;
+			case 'k':
+				pos = regex.indexOf('>', pos) + 1;
+				term.chars = CharSet.all(); // back reference
+				break;
+			default:
+				if (Character.isDigit(c)) {
+					term.chars = CharSet.all(); // back reference
+				} else {
+					term.chars.add(c);
+				}
+		}
+	}
+
+	private static void addWordChars(CharSet chars) {
+		chars.addRange('a', 'z');
+		chars.addRange('A', 'Z');
+		chars.addRange('0', '9');
+		chars.add('_');
+	}
+
+	private static void addSpaceChars(CharSet chars) {
+		for (char c:" \t\n\u000B\f\r".toCharArray()) {
+			chars.add(c);
+		}
+	}
+
+	private void parseQuantifier(Term term) {
+		if (pos >= regex.length()) {
+			return;
+		}
+		char c = regex.charAt(pos);
+		if (c == '*') {
+			term.min = 0;
+			term.max = UNBOUNDED;
+		} else if (c == '+') {
+			term.max = UNBOUNDED;
+		} else if (c == '?') {
+			term.min = 0;
+		} else if (c == '{') {
+			int close = regex.indexOf('}', pos);
+			String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+			term.min = Integer.parseInt(bounds[0].trim());
+			if (bounds.length == 1) {
+				term.max = term.min;
+			} else {
+				term.max = bounds[1].trim().isEmpty() ? UNBOUNDED : Integer.parseInt(bounds[1].trim());
+			}
+			pos = close;
+		} else {
+			return;
+		}
+		pos++;
+		if (pos < regex.length() && regex.charAt(pos) == '+') {
+			term.possessive = true;
+			pos++;
+		} else if (pos < regex.length() && regex.charAt(pos) == '?') {
+			pos++; // reluctant quantifiers still backtrack
+		}
+	}
+
+	/**
+	 * Checks a sequence of terms and all groups within it
+	 * @param sequence terms matched in sequence
+	 */
+	private void checkSequence(List<Term> sequence) {
+		Term previous = null;
+		for (Term term:sequence) {
+			if (Objects.nonNull(term.alternatives)) {
+				if (term.repeats() && !term.atomic) {
+					checkRepeatedGroup(term);
+				}
+				for (List<Term> alternative:term.alternatives) {
+					checkSequence(alternative);
+				}
+			}
+			if (Objects.nonNull(previous) && previous.repeats() && term.repeats() && !previous.atomic && !term.atomic &&
+					edgeChars(previous, false).overlaps(edgeChars(term, true))) {
+				risks.add("adjacent repetitions '" + regex.substring(previous.start, previous.end) +
+						"' and '" + regex.substring(term.start, term.end) + "' can match the same characters");
+			}
+			if (!term.zeroWidth) {
+				previous = term;
+			}
+		}
+	}
+
+	/**
+	 * Checks a group repeated without an upper bound for nested repetitions and overlapping alternatives
+	 * @param group repeated group
+	 */
+	private void checkRepeatedGroup(Term group) {
+		String groupText = regex.substring(group.start, group.end);
+		CharSet innerRepeated = new CharSet();
+		boolean nested = false;
+		for (List<Term> alternative:group.alternatives) {
+			for (Term term:alternative) {
+				if (term.repeats() && !term.atomic) {
+					nested = true;
+					innerRepeated.addAll(chars(term));
+				} else if (Objects.nonNull(term.alternatives) && !term.atomic && containsRepetition(term.alternatives)) {
+					nested = true;
+					innerRepeated.addAll(chars(term));
+				}
+			}
+		}
+		if (nested && !separated(group.alternatives, innerRepeated, true) && !separated(group.alternatives, innerRepeated, false)) {
+			risks.add("the repeated group '" + groupText + "' contains a repetition");
+		}
+		List<List<Term>> alternatives = group.alternatives;
+		for (int i = 0; i < alternatives.size(); i++) {
+			for (int j = i + 1; j < alternatives.size(); j++) {
+				if (alternativesOverlap(alternatives.get(i), alternatives.get(j))) {
+					risks.add("the alternatives of the repeated group '" + groupText + "' can match the same characters");
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compares two alternatives character by character while both match a single character, so that
+	 * alternatives which differ after a common prefix, e.g. <code>(ab|ac)*</code>, are not reported
+	 * @param first first alternative
+	 * @param second second alternative
+	 * @return true if the alternatives may match the same input
+	 */
+	private static boolean alternativesOverlap(List<Term> first, List<Term> second) {
+		int i = 0;
+		int j = 0;
+		while (true) {
+			while (i < first.size() && first.get(i).zeroWidth) {
+				i++;
+			}
+			while (j < second.size() && second.get(j).zeroWidth) {
+				j++;
+			}
+			if (i >= first.size() || j >= second.size()) {
+				// one alternative is a prefix of the other, e.g. (a|aa)*
+				return true;
+			}
+			if (!firstChars(first.subList(i, first.size())).overlaps(firstChars(second.subList(j, second.size())))) {
+				return false;
+			}
+			if (!matchesSingleChar(first.get(i)) || !matchesSingleChar(second.get(j))) {
+				// repetitions and groups are not compared beyond their first characters
+				return true;
+			}
+			i++;
+			j++;
+		}
+	}
+
+	/**
+	 * @param term term
+	 * @return true if the term always matches exactly one character
+	 */
+	private static boolean matchesSingleChar(Term term) {
+		return Objects.isNull(term.alternatives) && !term.zeroWidth && term.min == 1 && term.max == 1;
+	}
+
+	/**
+	 * @param alternatives alternatives of a group
+	 * @param innerRepeated characters matched by the repetitions within the group
+	 * @param atStart if true, check the first term of each alternative, otherwise the last term
+	 * @return true if every alternative starts (or ends) with a required character which the inner repetitions can not match
+	 */
+	private static boolean separated(List<List<Term>> alternatives, CharSet innerRepeated, boolean atStart) {
+		for (List<Term> alternative:alternatives) {
+			if (alternative.isEmpty()) {
+				return false;
+			}
+			Term term = alternative.get(atStart ? 0 : alternative.size() - 1);
+			if (Objects.nonNull(term.alternatives) || term.zeroWidth || term.min < 1 || term.chars.overlaps(innerRepeated)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsRepetition(List<List<Term>> alternatives) {
+		for (List<Term> alternative:alternatives) {
+			for (Term term:alternative) {
+				if (term.repeats() && !term.atomic) {
+					return true;
+				}
+				if (Objects.nonNull(term.alternatives) && !term.atomic && containsRepetition(term.alternatives)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param term term
+	 * @return all characters the term can match
+	 */
+	private static CharSet chars(Term term) {
+		if (Objects.isNull(term.alternatives)) {
+			return term.chars;
+		}
+		CharSet retval = new CharSet();
+		for (List<Term> alternative:term.alternatives) {
+			for (Term inner:alternative) {
+				retval.addAll(chars(inner));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param sequence sequence of terms
+	 * @return characters the sequence can start with
+	 */
+	private static CharSet firstChars(List<Term> sequence) {
+		return edgeChars(sequence, true);
+	}
+
+	/**
+	 * @param term term
+	 * @param first if true, the characters a single match of the term can start with, otherwise end with
+	 * @return the characters at the start or end of the term
+	 */
+	private static CharSet edgeChars(Term term, boolean first) {
+		if (Objects.isNull(term.alternatives)) {
+			return term.chars;
+		}
+		CharSet retval = new CharSet();
+		for (List<Term> alternative:term.alternatives) {
+			retval.addAll(edgeChars(alternative, first));
+		}
+		return retval;
+	}
+
+	/**
+	 * @param sequence sequence of terms
+	 * @param first if true, the characters the sequence can start with, otherwise end with
+	 * @return the characters at the start or end of the sequence
+	 */
+	private static CharSet edgeChars(List<Term> sequence, boolean first) {
+		CharSet retval = new CharSet();
+		for (int i = 0; i < sequence.size(); i++) {
+			Term term = sequence.get(first ? i : sequence.size() - 1 - i);
+			if (term.zeroWidth) {
+				continue;
+			}
+			retval.addAll(edgeChars(term, first));
+			if (term.min > 0) {
+				break;
+			}
+		}
+		return retval;
+	}
+}
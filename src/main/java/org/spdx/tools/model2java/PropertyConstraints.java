@@ -0,0 +1,181 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.shacl.engine.constraint.ShNot;
+import org.apache.jena.shacl.engine.constraint.SparqlConstraint;
+import org.apache.jena.shacl.parser.Constraint;
+import org.apache.jena.shacl.parser.PropertyShape;
+
+/**
+ * Immutable summary of all constraints on a property shape
+ *
+ * Where more than one constraint of the same kind is present, the minimum cardinality, maximum
+ * cardinality and minimum string length are the smallest values, the maximum string length is
+ * the largest value and the remaining constraints are taken from the last constraint in shape order.
+ *
+ * @author Gary O'Neall
+ */
+class PropertyConstraints {
+
+	private final Integer minCardinality;
+	private final Integer maxCardinality;
+	private final String pattern;
+	private final Node dataType;
+	private final Integer strMinLength;
+	private final Integer strMaxLength;
+	private final Node expectedClass;
+	private final SparqlConstraint sparqlConstraint;
+	private final List<ShNot> notConstraints;
+
+	private PropertyConstraints(Integer minCardinality, Integer maxCardinality, String pattern, Node dataType,
+			Integer strMinLength, Integer strMaxLength, Node expectedClass, SparqlConstraint sparqlConstraint,
+			List<ShNot> notConstraints) {
+		this.minCardinality = minCardinality;
+		this.maxCardinality = maxCardinality;
+		this.pattern = pattern;
+		this.dataType = dataType;
+		this.strMinLength = strMinLength;
+		this.strMaxLength = strMaxLength;
+		this.expectedClass = expectedClass;
+		this.sparqlConstraint = sparqlConstraint;
+		this.notConstraints = Collections.unmodifiableList(notConstraints);
+	}
+
+	/**
+	 * @param propertyShape property shape
+	 * @return summary of all the constraints on the property shape
+	 */
+	static PropertyConstraints of(PropertyShape propertyShape) {
+		Integer minCardinality = null;
+		Integer maxCardinality = null;
+		String pattern = null;
+		Node dataType = null;
+		Integer strMinLength = null;
+		Integer strMaxLength = null;
+		Node expectedClass = null;
+		SparqlConstraint sparqlConstraint = null;
+		List<ShNot> notConstraints = new ArrayList<>();
+		for (Constraint constraint:propertyShape.getConstraints()) {
+			ConstraintCollector collector = new ConstraintCollector();
+			constraint.visit(collector);
+			minCardinality = smallest(minCardinality, collector.getMinCardinality());
+			maxCardinality = smallest(maxCardinality, collector.getMaxCardinality());
+			strMinLength = smallest(strMinLength, collector.getStrMinLengh());
+			if (Objects.nonNull(collector.getStrMaxLenght()) &&
+					(Objects.isNull(strMaxLength) || strMaxLength < collector.getStrMaxLenght())) {
+				strMaxLength = collector.getStrMaxLenght();
+			}
+			if (Objects.nonNull(collector.getPattern())) {
+				pattern = collector.getPattern();
+			}
+			if (Objects.nonNull(collector.getDataType())) {
+				dataType = collector.getDataType();
+			}
+			if (Objects.nonNull(collector.getExpectedClass())) {
+				expectedClass = collector.getExpectedClass();
+			}
+			if (Objects.nonNull(collector.getSparqlConstraint())) {
+				sparqlConstraint = collector.getSparqlConstraint();
+			}
+			if (Objects.nonNull(collector.getNotConstraint())) {
+				notConstraints.add(collector.getNotConstraint());
+			}
+		}
+		return new PropertyConstraints(minCardinality, maxCardinality, pattern, dataType, strMinLength,
+				strMaxLength, expectedClass, sparqlConstraint, notConstraints);
+	}
+
+	/**
+	 * @param current current value
+	 * @param value value from the next constraint
+	 * @return the smaller of the non-null values or null if both are null
+	 */
+	private static Integer smallest(Integer current, Integer value) {
+		if (Objects.isNull(value)) {
+			return current;
+		}
+		return Objects.isNull(current) || current > value ? value : current;
+	}
+
+	/**
+	 * @return the minimum cardinality or null if not constrained
+	 */
+	@Nullable Integer getMinCardinality() {
+		return minCardinality;
+	}
+
+	/**
+	 * @return the maximum cardinality or null if not constrained
+	 */
+	@Nullable Integer getMaxCardinality() {
+		return maxCardinality;
+	}
+
+	/**
+	 * @return true if the minimum cardinality is greater than zero
+	 */
+	boolean isRequired() {
+		return Objects.nonNull(minCardinality) && minCardinality > 0;
+	}
+
+	/**
+	 * @return the regular expression pattern or null if not constrained
+	 */
+	@Nullable String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * @return the datatype or null if not constrained
+	 */
+	@Nullable Node getDataType() {
+		return dataType;
+	}
+
+	/**
+	 * @return the minimum string length or null if not constrained
+	 */
+	@Nullable Integer getStrMinLength() {
+		return strMinLength;
+	}
+
+	/**
+	 * @return the maximum string length or null if not constrained
+	 */
+	@Nullable Integer getStrMaxLength() {
+		return strMaxLength;
+	}
+
+	/**
+	 * @return the expected class or null if not constrained
+	 */
+	@Nullable Node getExpectedClass() {
+		return expectedClass;
+	}
+
+	/**
+	 * @return the SPARQL constraint or null if none
+	 */
+	@Nullable SparqlConstraint getSparqlConstraint() {
+		return sparqlConstraint;
+	}
+
+	/**
+	 * @return all sh:not constraints in shape order
+	 */
+	List<ShNot> getNotConstraints() {
+		return notConstraints;
+	}
+}
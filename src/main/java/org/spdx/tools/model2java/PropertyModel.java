@@ -0,0 +1,101 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.ShaclToJava.PropertyType;
+
+/**
+ * Immutable model of a property of a generated class
+ *
+ * The field names are the names used in the templates.  A property model is built once for each
+ * property of a class and shared by the class, unit test and test values generator templates.
+ *
+ * @author Gary O'Neall
+ */
+final class PropertyModel {
+
+	/**
+	 * Collects the values for a property model - the fields are copied by <code>build</code>
+	 */
+	static class Builder {
+		String uri = "";
+		String propertyName = "";
+		String propertyNameUpper = "";
+		String getter = "";
+		String setter = "";
+		String adder = "";
+		String addAller = "";
+		boolean isCreationInfo = false;
+		PropertyType propertyType = PropertyType.OBJECT;
+		@Nullable String typeUri = null;
+		@Nullable String type = null;
+		boolean required = false;
+		String requiredProfiles = "";
+		boolean superSetter = false;
+		boolean nonOptional = false;
+		boolean hasConstraint = false;
+		@Nullable String pattern = null;
+		@Nullable String min = null;
+		@Nullable String max = null;
+		String propertyConstant = "";
+		boolean isSpecVersion = false;
+
+		/**
+		 * @return property model with the values of this builder
+		 */
+		PropertyModel build() {
+			return new PropertyModel(this);
+		}
+	}
+
+	final String uri;
+	final String propertyName;
+	final String propertyNameUpper;
+	final String getter;
+	final String setter;
+	final String adder;
+	final String addAller;
+	final boolean isCreationInfo;
+	final PropertyType propertyType;
+	final @Nullable String typeUri;
+	final @Nullable String type; // Java type of the property value
+	final boolean required;
+	final String requiredProfiles;
+	final boolean superSetter; // true if the property is also defined in a superclass
+	final boolean nonOptional; // true if the getter returns the value rather than an Optional
+	final boolean hasConstraint;
+	final @Nullable String pattern; // escaped for use in a Java string literal
+	final @Nullable String min;
+	final @Nullable String max;
+	final String propertyConstant;
+	final boolean isSpecVersion; // the spec version is also set in the CoreModelObject
+
+	private PropertyModel(Builder builder) {
+		this.uri = builder.uri;
+		this.propertyName = builder.propertyName;
+		this.propertyNameUpper = builder.propertyNameUpper;
+		this.getter = builder.getter;
+		this.setter = builder.setter;
+		this.adder = builder.adder;
+		this.addAller = builder.addAller;
+		this.isCreationInfo = builder.isCreationInfo;
+		this.propertyType = builder.propertyType;
+		this.typeUri = builder.typeUri;
+		this.type = builder.type;
+		this.required = builder.required;
+		this.requiredProfiles = builder.requiredProfiles;
+		this.superSetter = builder.superSetter;
+		this.nonOptional = builder.nonOptional;
+		this.hasConstraint = builder.hasConstraint;
+		this.pattern = builder.pattern;
+		this.min = builder.min;
+		this.max = builder.max;
+		this.propertyConstant = builder.propertyConstant;
+		this.isSpecVersion = builder.isSpecVersion;
+	}
+}
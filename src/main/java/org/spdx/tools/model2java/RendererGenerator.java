@@ -0,0 +1,628 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import com.github.mustachejava.Code;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.codes.DefaultCode;
+import com.github.mustachejava.codes.IterableCode;
+import com.github.mustachejava.codes.NotIterableCode;
+import com.github.mustachejava.codes.ValueCode;
+import com.github.mustachejava.codes.WriteCode;
+
+/**
+ * Generates Java renderer classes for the templates rendered once per class
+ *
+ * The generator walks the parse tree of the compiled Mustache template, so the literal text and the
+ * whitespace handling are exactly those of Mustache, and resolves each name against the model
+ * classes using the same lookup order as the Mustache reflection object handler: a method named
+ * as the name, a <code>get</code> method, an <code>is</code> method and finally a field, searching
+ * from the innermost to the outermost section.  Sections and inverted sections follow the Mustache
+ * rules for null, boolean, empty string and empty collection values.  Templates using constructs
+ * which can not be resolved against the model classes (partials, dotted names, values of
+ * non-final types) are rejected.
+ *
+ * Run with the directory for the renderer sources and, optionally, the class output directory
+ * to also compile the renderers - see the <code>renderers</code> profile in the pom.
+ *
+ * @author Gary O'Neall
+ */
+public class RendererGenerator {
+
+	static final String RENDERER_PACKAGE = RendererGenerator.class.getPackage().getName();
+
+	/**
+	 * Templates rendered for every class in the model and the class of their scope
+	 */
+	static final Map<String, Class<?>> HOT_TEMPLATES;
+	static {
+		Map<String, Class<?>> hotTemplates = new LinkedHashMap<>();
+		hotTemplates.put(ShaclToJavaConstants.JAVA_CLASS_TEMPLATE, ClassModel.class);
+		hotTemplates.put(ShaclToJavaConstants.UNIT_TEST_TEMPLATE, ClassModel.class);
+		hotTemplates.put(ShaclToJavaConstants.EXTERNAL_JAVA_CLASS_TEMPLATE, ClassModel.class);
+		hotTemplates.put(ShaclToJavaConstants.INDIVIDUAL_CLASS_TEMPLATE, IndividualModel.class);
+		HOT_TEMPLATES = Collections.unmodifiableMap(hotTemplates);
+	}
+
+	private final TemplateRegistry templateRegistry;
+
+	public RendererGenerator() {
+		this(new TemplateRegistry());
+	}
+
+	/**
+	 * @param templateRegistry registry the templates are compiled from
+	 */
+	public RendererGenerator(TemplateRegistry templateRegistry) {
+		this.templateRegistry = templateRegistry;
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @return simple name of the renderer class for the template
+	 */
+	static String rendererClassName(String templateName) {
+		int extension = templateName.lastIndexOf('.');
+		return (extension > 0 ? templateName.substring(0, extension) : templateName) + "Renderer";
+	}
+
+	/**
+	 * @return source of the renderers for all hot templates keyed by the logical path of the source under the main source root
+	 * @throws IOException on errors reading the templates
+	 * @throws ShaclToJavaException if a template uses constructs which are not supported by the renderers
+	 */
+	public Map<String, byte[]> generateSources() throws IOException, ShaclToJavaException {
+		Map<String, byte[]> retval = new TreeMap<>();
+		for (Entry<String, Class<?>> entry:HOT_TEMPLATES.entrySet()) {
+			String className = rendererClassName(entry.getKey());
+			retval.put(GeneratedSourceCompiler.MAIN_SOURCE_ROOT + RENDERER_PACKAGE.replace('.', '/') + "/" + className + ".java",
+					generateSource(entry.getKey(), entry.getValue(), className).getBytes(StandardCharsets.UTF_8));
+		}
+		return retval;
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @param scopeClass class of the model the template is rendered from
+	 * @param className simple name of the generated renderer class
+	 * @return Java source of the renderer
+	 * @throws IOException on errors reading the template
+	 * @throws ShaclToJavaException if the template uses constructs which are not supported by the renderers
+	 */
+	public String generateSource(String templateName, Class<?> scopeClass, String className) throws IOException, ShaclToJavaException {
+		Mustache mustache = templateRegistry.getTemplate(templateName);
+		RendererSource source = new RendererSource(templateName, scopeClass, className);
+		source.addSection(mustache.getCodes(), Collections.singletonList(scopeClass));
+		String rootText = appendedText(mustache);
+		if (!rootText.isEmpty()) {
+			throw new ShaclToJavaException("Unexpected text following the root of template " + templateName);
+		}
+		return source.toSource(templateRegistry.getTemplateHash(templateName));
+	}
+
+	/**
+	 * Java source of a renderer under construction
+	 */
+	private static class RendererSource {
+		private final String templateName;
+		private final Class<?> scopeClass;
+		private final String className;
+		private final Map<String, String> textConstants = new LinkedHashMap<>();
+		private final List<StringBuilder> sectionMethods = new ArrayList<>();
+		private int localCount = 0;
+
+		RendererSource(String templateName, Class<?> scopeClass, String className) {
+			this.templateName = templateName;
+			this.scopeClass = scopeClass;
+			this.className = className;
+		}
+
+		/**
+		 * Adds a method rendering a section
+		 * @param codes codes within the section
+		 * @param scopes classes of the scopes in the section from the outermost to the innermost
+		 * @return name of the method
+		 * @throws ShaclToJavaException if the section uses unsupported constructs
+		 */
+		String addSection(@Nullable Code[] codes, List<Class<?>> scopes) throws ShaclToJavaException {
+			StringBuilder method = new StringBuilder();
+			String methodName = "section" + sectionMethods.size();
+			sectionMethods.add(method);
+			method.append("\tprivate static void ");
+			method.append(methodName);
+			method.append("(StringBuilder out");
+			for (int i = 0; i < scopes.size(); i++) {
+				method.append(", ");
+				method.append(typeName(scopes.get(i)));
+				method.append(" s");
+				method.append(i);
+			}
+			method.append(") {\n");
+			if (Objects.nonNull(codes)) {
+				for (Code code:codes) {
+					addCode(code, scopes, method);
+				}
+			}
+			method.append("\t}\n");
+			return methodName;
+		}
+
+		/**
+		 * Adds the statements rendering a code followed by its appended text
+		 * @param code code to render
+		 * @param scopes classes of the scopes from the outermost to the innermost
+		 * @param method method the statements are added to
+		 * @throws ShaclToJavaException if the code is not supported
+		 */
+		private void addCode(Code code, List<Class<?>> scopes, StringBuilder method) throws ShaclToJavaException {
+			if (code instanceof WriteCode) {
+				// the text is the appended text
+			} else if (code instanceof ValueCode) {
+				addValue((ValueCode)code, scopes, method);
+			} else if (code instanceof NotIterableCode) {
+				addInvertedSection((NotIterableCode)code, scopes, method);
+			} else if (code instanceof IterableCode) {
+				addSectionCall((IterableCode)code, scopes, method);
+			} else if (code.getClass() == DefaultCode.class) {
+				// e.g. the end of the template - the codes are rendered in the same scope
+				if (Objects.nonNull(code.getCodes())) {
+					for (Code child:code.getCodes()) {
+						addCode(child, scopes, method);
+					}
+				}
+			} else {
+				throw new ShaclToJavaException(String.format("Unsupported Mustache construct %s in template %s",
+						code.getClass().getSimpleName(), templateName));
+			}
+			String text = appendedText(code);
+			if (!text.isEmpty()) {
+				method.append("\t\tout.append(");
+				method.append(textConstant(text));
+				method.append(");\n");
+			}
+		}
+
+		/**
+		 * Adds the statements for a <code>{{name}}</code> or <code>{{{name}}}</code> value
+		 */
+		private void addValue(ValueCode code, List<Class<?>> scopes, StringBuilder method) throws ShaclToJavaException {
+			Resolved value = resolve(codeName(code), scopes);
+			if (Objects.isNull(value)) {
+				return;	// missing values render nothing
+			}
+			Class<?> rawType = rawType(value.type);
+			if (!rawType.isPrimitive() && !Modifier.isFinal(rawType.getModifiers())) {
+				throw new ShaclToJavaException(String.format("Value %s of non-final type %s in template %s can not be rendered",
+						codeName(code), rawType.getName(), templateName));
+			}
+			method.append(isEncoded(code) ? "\t\tappendEncoded(out, " : "\t\tappend(out, ");
+			method.append(value.expression);
+			method.append(");\n");
+		}
+
+		/**
+		 * Adds the statements for a <code>{{#name}}</code> section
+		 */
+		private void addSectionCall(IterableCode code, List<Class<?>> scopes, StringBuilder method) throws ShaclToJavaException {
+			Resolved value = resolve(codeName(code), scopes);
+			if (Objects.isNull(value)) {
+				return;	// missing sections render nothing
+			}
+			Class<?> rawType = rawType(value.type);
+			String local = "v" + localCount++;
+			List<Class<?>> sectionScopes = new ArrayList<>(scopes);
+			if (rawType == boolean.class || rawType == Boolean.class) {
+				sectionScopes.add(Boolean.class);
+				String methodName = addSection(code.getCodes(), sectionScopes);
+				method.append(String.format("\t\tif (Boolean.TRUE.equals(%s)) {\n", value.expression));
+				method.append(String.format("\t\t\t%s(%s, Boolean.TRUE);\n", methodName, arguments(scopes)));
+			} else if (Iterable.class.isAssignableFrom(rawType)) {
+				Class<?> elementType = elementType(value.type, codeName(code));
+				sectionScopes.add(elementType);
+				String methodName = addSection(code.getCodes(), sectionScopes);
+				String element = "e" + localCount++;
+				method.append(String.format("\t\tIterable<%s> %s = %s;\n", typeName(elementType), local, value.expression));
+				method.append(String.format("\t\tif (%s != null) {\n", local));
+				method.append(String.format("\t\t\tfor (%s %s:%s) {\n", typeName(elementType), element, local));
+				method.append(String.format("\t\t\t\t%s(%s, %s);\n", methodName, arguments(scopes), element));
+				method.append("\t\t\t}\n");
+			} else if (rawType == String.class) {
+				sectionScopes.add(String.class);
+				String methodName = addSection(code.getCodes(), sectionScopes);
+				method.append(String.format("\t\tString %s = %s;\n", local, value.expression));
+				method.append(String.format("\t\tif (%s != null && !%s.isEmpty()) {\n", local, local));
+				method.append(String.format("\t\t\t%s(%s, %s);\n", methodName, arguments(scopes), local));
+			} else if (!rawType.isPrimitive() && Modifier.isFinal(rawType.getModifiers())) {
+				sectionScopes.add(rawType);
+				String methodName = addSection(code.getCodes(), sectionScopes);
+				method.append(String.format("\t\t%s %s = %s;\n", typeName(rawType), local, value.expression));
+				method.append(String.format("\t\tif (%s != null) {\n", local));
+				method.append(String.format("\t\t\t%s(%s, %s);\n", methodName, arguments(scopes), local));
+			} else {
+				throw new ShaclToJavaException(String.format("Section %s of type %s in template %s can not be rendered",
+						codeName(code), rawType.getName(), templateName));
+			}
+			method.append("\t\t}\n");
+		}
+
+		/**
+		 * Adds the statements for a <code>{{^name}}</code> inverted section
+		 */
+		private void addInvertedSection(NotIterableCode code, List<Class<?>> scopes, StringBuilder method) throws ShaclToJavaException {
+			Resolved value = resolve(codeName(code), scopes);
+			// inverted sections do not add a scope
+			String methodName = addSection(code.getCodes(), scopes);
+			String call = String.format("%s(%s);\n", methodName, arguments(scopes));
+			if (Objects.isNull(value)) {
+				// missing values are false
+				method.append("\t\t");
+				method.append(call);
+				return;
+			}
+			Class<?> rawType = rawType(value.type);
+			String local = "v" + localCount++;
+			if (rawType == boolean.class || rawType == Boolean.class) {
+				method.append(String.format("\t\tif (!Boolean.TRUE.equals(%s)) {\n", value.expression));
+			} else if (Iterable.class.isAssignableFrom(rawType)) {
+				method.append(String.format("\t\tIterable<?> %s = %s;\n", local, value.expression));
+				method.append(String.format("\t\tif (%s == null || !%s.iterator().hasNext()) {\n", local, local));
+			} else if (rawType == String.class) {
+				method.append(String.format("\t\tString %s = %s;\n", local, value.expression));
+				method.append(String.format("\t\tif (%s == null || %s.isEmpty()) {\n", local, local));
+			} else if (!rawType.isPrimitive() && Modifier.isFinal(rawType.getModifiers())) {
+				method.append(String.format("\t\tif (%s == null) {\n", value.expression));
+			} else {
+				throw new ShaclToJavaException(String.format("Inverted section %s of type %s in template %s can not be rendered",
+						codeName(code), rawType.getName(), templateName));
+			}
+			method.append("\t\t\t");
+			method.append(call);
+			method.append("\t\t}\n");
+		}
+
+		/**
+		 * Resolves a name in the same order as the Mustache reflection object handler
+		 * @param name name from the template
+		 * @param scopes classes of the scopes from the outermost to the innermost
+		 * @return expression for the value or null if the name is missing from all scopes
+		 * @throws ShaclToJavaException if the name can not be resolved statically
+		 */
+		private @Nullable Resolved resolve(String name, List<Class<?>> scopes) throws ShaclToJavaException {
+			int innermost = scopes.size() - 1;
+			if (".".equals(name)) {
+				return new Resolved("s" + innermost, scopes.get(innermost));
+			}
+			if (name.startsWith(".")) {
+				// the empty first segment of the dotted name is never found
+				return null;
+			}
+			if (name.indexOf('.') >= 0) {
+				throw new ShaclToJavaException(String.format("Dotted name %s in template %s is not supported", name, templateName));
+			}
+			for (int i = innermost; i >= 0; i--) {
+				Class<?> scope = scopes.get(i);
+				if (!Modifier.isFinal(scope.getModifiers())) {
+					throw new ShaclToJavaException(String.format("Scope class %s for %s in template %s must be final",
+							scope.getName(), name, templateName));
+				}
+				Member member = findMember(scope, name);
+				if (Objects.nonNull(member)) {
+					if (member instanceof Method) {
+						return new Resolved("s" + i + "." + member.getName() + "()", ((Method)member).getGenericReturnType());
+					} else {
+						return new Resolved("s" + i + "." + member.getName(), ((Field)member).getGenericType());
+					}
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @param type generic type of an iterable value
+		 * @param name name of the section
+		 * @return type of the elements
+		 * @throws ShaclToJavaException if the element type is not a final class
+		 */
+		private Class<?> elementType(Type type, String name) throws ShaclToJavaException {
+			if (type instanceof ParameterizedType) {
+				Type[] arguments = ((ParameterizedType)type).getActualTypeArguments();
+				if (arguments.length == 1 && arguments[0] instanceof Class &&
+						Modifier.isFinal(((Class<?>)arguments[0]).getModifiers())) {
+					return (Class<?>)arguments[0];
+				}
+			}
+			throw new ShaclToJavaException(String.format("Section %s in template %s must be a collection of a final class",
+					name, templateName));
+		}
+
+		/**
+		 * @param text literal text
+		 * @return name of the constant holding the text
+		 */
+		private String textConstant(String text) {
+			String retval = textConstants.get(text);
+			if (Objects.isNull(retval)) {
+				retval = "TEXT_" + textConstants.size();
+				textConstants.put(text, retval);
+			}
+			return retval;
+		}
+
+		/**
+		 * @param templateHash hash of the template source
+		 * @return Java source of the renderer
+		 */
+		String toSource(String templateHash) {
+			StringBuilder sb = new StringBuilder();
+			sb.append("/**\n * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.\n");
+			// the identifier is split so that the license scanner of this project does not parse the string literal
+			sb.append(" * SPDX-FileType: SOURCE\n * SPDX-" + "License-Identifier: Apache-2.0\n */\n");
+			sb.append("package ");
+			sb.append(RENDERER_PACKAGE);
+			sb.append(";\n\n/**\n * Renders ");
+			sb.append(templateName);
+			sb.append("\n *\n * Generated by RendererGenerator - DO NOT EDIT\n */\n");
+			sb.append("final class ");
+			sb.append(className);
+			sb.append(" extends TemplateRenderer {\n\n");
+			sb.append("\tstatic final String TEMPLATE_NAME = ");
+			sb.append(javaString(templateName));
+			sb.append(";\n\tstatic final String TEMPLATE_HASH = ");
+			sb.append(javaString(templateHash));
+			sb.append(";\n");
+			for (Entry<String, String> text:textConstants.entrySet()) {
+				sb.append("\tprivate static final String ");
+				sb.append(text.getValue());
+				sb.append(" = ");
+				sb.append(javaString(text.getKey()));
+				sb.append(";\n");
+			}
+			sb.append("\n\t@Override\n\tString getTemplateName() {\n\t\treturn TEMPLATE_NAME;\n\t}\n");
+			sb.append("\n\t@Override\n\tString getTemplateHash() {\n\t\treturn TEMPLATE_HASH;\n\t}\n");
+			sb.append("\n\t@Override\n\tClass<?> getScopeClass() {\n\t\treturn ");
+			sb.append(typeName(scopeClass));
+			sb.append(".class;\n\t}\n");
+			sb.append("\n\t@Override\n\tvoid render(Object scope, StringBuilder out) {\n\t\tsection0(out, (");
+			sb.append(typeName(scopeClass));
+			sb.append(")scope);\n\t}\n");
+			for (StringBuilder method:sectionMethods) {
+				sb.append("\n");
+				sb.append(method);
+			}
+			sb.append("}\n");
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Expression for a value resolved from the scopes
+	 */
+	private static class Resolved {
+		final String expression;
+		final Type type;
+
+		Resolved(String expression, Type type) {
+			this.expression = expression;
+			this.type = type;
+		}
+	}
+
+	/**
+	 * Finds the member for a name in the same order as the Mustache reflection object handler
+	 * @param scope class of the scope
+	 * @param name name from the template
+	 * @return the method or field or null if the scope has no member for the name
+	 */
+	static @Nullable Member findMember(Class<?> scope, String name) {
+		String capitalized = name.isEmpty() ? "" : name.substring(0, 1).toUpperCase() + name.substring(1);
+		for (String methodName:new String[] {name, "get" + capitalized, "is" + capitalized}) {
+			Method method = findDeclared(scope, methodName, true);
+			if (Objects.nonNull(method)) {
+				return method;
+			}
+		}
+		return findDeclared(scope, name, false);
+	}
+
+	/**
+	 * @param scope class of the scope
+	 * @param name member name
+	 * @param isMethod true for a method without parameters, false for a field
+	 * @return the first member declared by the class or its superclasses other than <code>Object</code>, or null if not found or private
+	 */
+	@SuppressWarnings("unchecked")
+	private static @Nullable <T extends Member> T findDeclared(Class<?> scope, String name, boolean isMethod) {
+		Class<?> declaringClass = scope;
+		while (Objects.nonNull(declaringClass)) {
+			try {
+				Member member = isMethod ? declaringClass.getDeclaredMethod(name) : declaringClass.getDeclaredField(name);
+				// Mustache only allows public, protected and package members
+				return Modifier.isPrivate(member.getModifiers()) ? null : (T)member;
+			} catch (NoSuchMethodException | NoSuchFieldException e) {
+				declaringClass = declaringClass.getSuperclass();
+				if (declaringClass == Object.class) {
+					declaringClass = null;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param type generic type
+	 * @return raw class of the type
+	 */
+	private static Class<?> rawType(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>)type;
+		} else if (type instanceof ParameterizedType) {
+			return (Class<?>)((ParameterizedType)type).getRawType();
+		} else {
+			return Object.class;
+		}
+	}
+
+	/**
+	 * @param type class
+	 * @return name of the class in the renderer source
+	 */
+	private static String typeName(Class<?> type) {
+		return RENDERER_PACKAGE.equals(type.getPackageName()) || "java.lang".equals(type.getPackageName()) ?
+				type.getSimpleName() : type.getCanonicalName();
+	}
+
+	/**
+	 * @param scopes classes of the scopes
+	 * @return arguments passing the builder and all scopes
+	 */
+	private static String arguments(List<Class<?>> scopes) {
+		StringBuilder sb = new StringBuilder("out");
+		for (int i = 0; i < scopes.size(); i++) {
+			sb.append(", s");
+			sb.append(i);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param value string value
+	 * @return Java string literal for the value
+	 */
+	static String javaString(String value) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c:value.toCharArray()) {
+			switch (c) {
+				case '"': sb.append("\\\""); break;
+				case '\\': sb.append("\\\\"); break;
+				case '\n': sb.append("\\n"); break;
+				case '\r': sb.append("\\r"); break;
+				case '\t': sb.append("\\t"); break;
+				default:
+					if (c < 0x20 || c > 0x7e) {
+						sb.append(String.format("\\u%04x", (int)c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+		return sb.toString();
+	}
+
+	/**
+	 * @param code Mustache code
+	 * @return text written after the code
+	 */
+	private static String appendedText(Code code) {
+		String text = (String)codeField(code, DefaultCode.class, "appended");
+		return Objects.isNull(text) ? "" : text;
+	}
+
+	/**
+	 * @param code Mustache code
+	 * @return name in the tag of the code
+	 */
+	private static String codeName(Code code) {
+		return (String)codeField(code, DefaultCode.class, "name");
+	}
+
+	/**
+	 * @param code value code
+	 * @return true if the value is HTML encoded
+	 */
+	private static boolean isEncoded(ValueCode code) {
+		return (Boolean)codeField(code, ValueCode.class, "encoded");
+	}
+
+	/**
+	 * Mustache does not expose the parse tree details used by the generator
+	 * @param code Mustache code
+	 * @param declaringClass class declaring the field
+	 * @param fieldName name of the field
+	 * @return value of the field
+	 */
+	private static @Nullable Object codeField(Code code, Class<?> declaringClass, String fieldName) {
+		try {
+			Field field = declaringClass.getDeclaredField(fieldName);
+			field.setAccessible(true);
+			return field.get(code);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new RuntimeException("Unsupported Mustache version - unable to read " + fieldName, e);
+		}
+	}
+
+	/**
+	 * Generates the renderer sources and, if a class directory is given, compiles them into the class directory
+	 * @param args directory for the renderer sources, optionally followed by the class output directory
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: RendererGenerator sourceDirectory [classDirectory]");
+			System.exit(1);
+		}
+		try {
+			Map<String, byte[]> sources = new RendererGenerator().generateSources();
+			Path sourceDir = new File(args[0]).toPath();
+			for (Entry<String, byte[]> source:sources.entrySet()) {
+				Path sourceFile = sourceDir.resolve(source.getKey().substring(GeneratedSourceCompiler.MAIN_SOURCE_ROOT.length()));
+				Files.createDirectories(sourceFile.getParent());
+				Files.write(sourceFile, source.getValue());
+			}
+			System.out.println(String.format("Generated %d template renderers in %s", sources.size(), sourceDir));
+			if (args.length > 1) {
+				Path classDir = new File(args[1]).toPath();
+				List<File> classPath = new ArrayList<>();
+				classPath.add(classDir.toFile());
+				for (String entry:System.getProperty("java.class.path").split(File.pathSeparator)) {
+					classPath.add(new File(entry));
+				}
+				GeneratedSourceCompiler compiler = new GeneratedSourceCompiler(classPath);
+				compiler.setIncludeTests(false);
+				CompilationResult result = compiler.compile(sources);
+				if (!result.isSuccess()) {
+					for (String error:result.getErrors()) {
+						System.err.println(error);
+					}
+					System.exit(1);
+				}
+				for (Entry<String, byte[]> classFile:result.getMainClasses().entrySet()) {
+					Path classFilePath = classDir.resolve(classFile.getKey().replace('.', '/') + ".class");
+					Files.createDirectories(classFilePath.getParent());
+					Files.write(classFilePath, classFile.getValue());
+				}
+				System.out.println(String.format("Compiled the template renderers into %s", classDir));
+			}
+		} catch (IOException e) {
+			System.err.println("I/O error generating the template renderers: " + e.getMessage());
+			System.exit(1);
+		} catch (ShaclToJavaException e) {
+			System.err.println("Error generating the template renderers: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -6,44 +6,45 @@
 package org.spdx.tools.model2java;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
 import java.io.StringWriter;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.PatternSyntaxException;
 
 import javax.annotation.Nullable;
 
 import org.apache.jena.ontology.OntModel;
-import org.apache.jena.ontology.DatatypeProperty;
-import org.apache.jena.ontology.Individual;
-import org.apache.jena.ontology.ObjectProperty;
-import org.apache.jena.ontology.OntClass;
-import org.apache.jena.ontology.OntProperty;
-import org.apache.jena.query.Query;
-import org.apache.jena.query.QueryExecution;
-import org.apache.jena.query.QueryExecutionFactory;
-import org.apache.jena.query.QueryFactory;
-import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
-import org.apache.jena.rdf.model.Resource;
-import org.apache.jena.rdf.model.Statement;
-import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.shacl.Shapes;
 import org.apache.jena.shacl.engine.constraint.HasValueConstraint;
 import org.apache.jena.shacl.engine.constraint.ShNot;
@@ -53,8 +54,8 @@ import org.apache.jena.shacl.parser.PropertyShape;
 import org.apache.jena.shacl.parser.Shape;
 import org.apache.jena.sparql.syntax.Element;
 import org.apache.jena.sparql.syntax.ElementGroup;
+import org.spdx.tools.model2java.GenerationMetrics.Measurement;
 
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 
 import static org.spdx.tools.model2java.ShaclToJavaConstants.RESERVED_JAVA_WORDS;
@@ -67,13 +68,13 @@ import static org.spdx.tools.model2java.ShaclToJavaConstants.TYPE_PRED;
  */
 public class ShaclToJava {
 	
-	OntModel model;
+	OntologyIndex ontology;
 	Shapes shapes;
 	Map<Node, Shape> shapeMap;
 
 	Set<String> enumClassUris = new HashSet<>(); // Set of enum URI's
-	Map<String, List<String>> classUriToIndividualUris = new HashMap<>(); // set of all non-enum individual URI's
-	Set<String> propertyUrisForConstants = new HashSet<>(); // Map of property URI's to be included in the SPDX Constants file
+	Map<String, List<String>> classUriToIndividualUris = new TreeMap<>(); // set of all non-enum individual URI's
+	Set<String> propertyUrisForConstants = ConcurrentHashMap.newKeySet(); // Set of property URI's to be included in the SPDX Constants file - updated concurrently when generating in parallel
 	Set<String> enumerationTypes = new HashSet<>(); // Set of URI's for enumeration types
 	Set<String> anyLicenseInfoTypes = new HashSet<>(); // Set of URI's for AnyLicenseInfo types
 	Set<String> licenseAdditionTypes = new HashSet<>(); // Set of URI's for LicenseAddition types
@@ -82,14 +83,33 @@ public class ShaclToJava {
 	Set<String> stringTypes = new HashSet<>(); // set of classes which subtype from String
 	Map<String, String> uriToClassName = new HashMap<>();
 	Map<String, String> uriToPropertyName = new HashMap<>();
-	List<Individual> allIndividuals;
-	List<OntClass> allClasses;
-	List<DatatypeProperty> allDataProperties;
-	List<ObjectProperty> allObjectProperties;
-	List<Resource> objectIndividuals;
+	List<String> allClassUris;
+	ClassHierarchy classHierarchy; // ancestors and descendants for all classes and their superclasses
+	Set<String> elementClassUris = new HashSet<>(); // URIs of the Element classes
+	// map of class URI to the property paths defined in any superclass shape and whether the superclasses require the property
+	Map<String, Map<String, SuperclassRequired>> superPropertyIndex = new HashMap<>();
+	// constraint summaries computed once per property shape - shapes use identity equality
+	Map<PropertyShape, PropertyConstraints> propertyConstraintsCache = new ConcurrentHashMap<>();
 	String versionSemVer;
 	String versionSuffix;
-	
+	TemplateRegistry templateRegistry;
+	int parallelism = 1; // number of classes to generate concurrently
+	@Nullable ExecutorService executor = null; // if not null, used to generate the classes concurrently
+	boolean incremental = false; // if true, only files whose inputs changed since the last generation are regenerated
+	GenerationManifest previousManifest = new GenerationManifest(); // fingerprints from the last incremental generation
+	GenerationManifest currentManifest = new GenerationManifest(); // fingerprints for the current generation
+	String runFingerprint = ""; // fingerprint of the inputs common to all generated files
+	String modelFingerprint = ""; // fingerprint of the inputs for the aggregate files generated from all classes
+	int upToDateClassCount = 0; // number of classes not regenerated since they are up to date
+	boolean writeIfChanged = false; // if true, files with unchanged content are not rewritten and stale files are deleted
+	boolean asyncWrite = false; // if true, files generated into a directory are written on a dedicated writer thread
+	String year = YEAR; // copyright year in the headers of the generated files
+	@Nullable Set<String> profiles = null; // names of the profiles to generate or null to generate all profiles
+	@Nullable Set<String> sliceClassUris = null; // classes generated for the profiles of the current generation or null for all classes
+	List<String> patternWarnings = new ArrayList<>(); // warnings for risky patterns from the current generation
+	GeneratedFileSink sink = new InMemoryFileSink(); // destination for the files of the current generation
+	GenerationMetrics metrics; // time and allocations for each phase and class
+
 	public enum PropertyType {
 		ELEMENT,
 		ANY_LICENSE_INFO,
@@ -111,15 +131,82 @@ public class ShaclToJava {
 		YES, // All superclasses have this as a required property
 		NO,	 // None of the superclasses have this as a required property
 		BOTH, // Some superclasses have this as a required property and other superclasses do not
-		NONE  // The property is not referenced in any of the superclasses
+		NONE;  // The property is not referenced in any of the superclasses
+		
+		/**
+		 * @param other required value for the same property in other superclasses
+		 * @return the required value for the property considering both this and the other superclasses
+		 */
+		SuperclassRequired combine(SuperclassRequired other) {
+			if (this.equals(other) || NONE.equals(other)) {
+				return this;
+			} else if (NONE.equals(this)) {
+				return other;
+			} else {
+				return BOTH;
+			}
+		}
+	}
+
+	/**
+	 * Environment variable with the build timestamp in seconds since the epoch used for reproducible builds - see https://reproducible-builds.org/specs/source-date-epoch/
+	 */
+	static final String SOURCE_DATE_EPOCH = "SOURCE_DATE_EPOCH";
+
+	static String YEAR = defaultYear(sourceDateEpochMillis(System.getenv(SOURCE_DATE_EPOCH)));
+
+	/**
+	 * @param sourceDateEpoch value of <code>SOURCE_DATE_EPOCH</code> or null if not set
+	 * @return the source date epoch in milliseconds or -1 if not set or not a valid timestamp
+	 */
+	static long sourceDateEpochMillis(@Nullable String sourceDateEpoch) {
+		if (Objects.isNull(sourceDateEpoch) || sourceDateEpoch.isBlank()) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(sourceDateEpoch.trim()) * 1000;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
 	}
 
-	static String YEAR;
+	/**
+	 * @return the <code>SOURCE_DATE_EPOCH</code> in milliseconds or -1 if not set - used as the time of archive entries
+	 */
+	static long sourceDateEpochMillis() {
+		return sourceDateEpochMillis(System.getenv(SOURCE_DATE_EPOCH));
+	}
+
+	/**
+	 * @param sourceDateEpochMillis source date epoch in milliseconds or -1 if not set
+	 * @return the UTC year of the source date epoch if set, otherwise the current year
+	 */
+	static String defaultYear(long sourceDateEpochMillis) {
+		if (sourceDateEpochMillis >= 0) {
+			return String.valueOf(Instant.ofEpochMilli(sourceDateEpochMillis).atZone(ZoneOffset.UTC).getYear());
+		}
+		return new SimpleDateFormat("yyyy").format(new Date());
+	}
 	
+	// reused by the generated template renderers to avoid growing a new buffer for every class
+	private static final ThreadLocal<StringBuilder> RENDER_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64 * 1024));
+
+	/**
+	 * Version of the generator from <code>model2java.properties</code> - used by the generator fingerprint,
+	 * the model snapshots and the reports
+	 */
+	static final String GENERATOR_VERSION;
+
 	static {
-		Date date = new Date();
-		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy");
-		YEAR = dateFormat.format(date);
+		Properties properties = new Properties();
+		try (InputStream is = ShaclToJava.class.getResourceAsStream("/model2java.properties")) {
+			if (Objects.nonNull(is)) {
+				properties.load(is);
+			}
+		} catch (IOException e) {
+			// ignore - use the default version
+		}
+		GENERATOR_VERSION = properties.getProperty("version", "unknown");
 	}
 	
 	
@@ -127,30 +214,73 @@ public class ShaclToJava {
 	 * @param model model to use to generate the java files
 	 */
 	public ShaclToJava(OntModel model) {
-		this.model = model;
-		String spdxUri = model.getNsPrefixURI("spdx");
+		this(model, new TemplateRegistry());
+	}
+
+	/**
+	 * @param model model to use to generate the java files
+	 * @param templateRegistry registry of compiled templates - may be shared with other instances
+	 */
+	public ShaclToJava(OntModel model, TemplateRegistry templateRegistry) {
+		this(new OntologyIndex(model.getGraph()), templateRegistry);
+	}
+
+	/**
+	 * @param ontology index of the ontology to use to generate the java files - see <code>OntologyIndex.load</code>
+	 */
+	public ShaclToJava(OntologyIndex ontology) {
+		this(ontology, new TemplateRegistry());
+	}
+
+	/**
+	 * @param ontology index of the ontology to use to generate the java files - see <code>OntologyIndex.load</code>
+	 * @param templateRegistry registry of compiled templates - may be shared with other instances
+	 */
+	public ShaclToJava(OntologyIndex ontology, TemplateRegistry templateRegistry) {
+		this(ontology, templateRegistry, new GenerationMetrics());
+	}
+
+	/**
+	 * @param ontology index of the ontology to use to generate the java files - see <code>OntologyIndex.load</code>
+	 * @param templateRegistry registry of compiled templates - may be shared with other instances
+	 * @param metrics metrics to record the time and allocations of the model analysis and generation in
+	 */
+	public ShaclToJava(OntologyIndex ontology, TemplateRegistry templateRegistry, GenerationMetrics metrics) {
+		this.ontology = ontology;
+		this.templateRegistry = templateRegistry;
+		this.metrics = metrics;
+		String spdxUri = ontology.getSpdxNamespace();
 		versionSemVer = spdxUri.substring("https://spdx.org/rdf/".length());
 		versionSemVer = versionSemVer.substring(0, versionSemVer.indexOf('/'));
 		versionSuffix = "v" + versionSemVer.replaceAll("\\.", "_");
-		shapes = Shapes.parse(model);
-		shapeMap = shapes.getShapeMap();
-		allIndividuals = model.listIndividuals().toList();
-		allClasses = model.listClasses().toList();
-		allDataProperties = model.listDatatypeProperties().toList();
-		allObjectProperties = model.listObjectProperties().toList();
-		objectIndividuals = new ArrayList<>();
-		Query asIndividualQuery = QueryFactory.create(String.format(
-				"select ?oi where {?oi <%s> <%s>}", TYPE_PRED, ShaclToJavaConstants.NAMED_INDIVIDUAL));
-		try (QueryExecution qexec = QueryExecutionFactory.create(asIndividualQuery, model)) {
-			ResultSet results = qexec.execSelect();
-			while (results.hasNext()) {
-				QuerySolution soln = results.nextSolution();
-				objectIndividuals.add(soln.getResource("oi"));
-			}
-		}
-		collectTypeInformation();
-		collectRelationshipRestrictions();
-		collectNameMappings();
+		Measurement parseShapesMeasurement = metrics.start("parseShapes");
+		try {
+			shapes = Shapes.parse(ontology.getGraph());
+			shapeMap = shapes.getShapeMap();
+		} finally {
+			parseShapesMeasurement.close();
+		}
+		allClassUris = ontology.getClassUris();
+		Measurement buildClassHierarchyMeasurement = metrics.start("buildClassHierarchy");
+		try {
+			buildClassHierarchy();
+			buildSuperPropertyIndex();
+		} finally {
+			buildClassHierarchyMeasurement.close();
+		}
+		Measurement collectTypeInformationMeasurement = metrics.start("collectTypeInformation");
+		try {
+			collectTypeInformation();
+			collectRelationshipRestrictions();
+		} finally {
+			collectTypeInformationMeasurement.close();
+		}
+		Measurement collectNameMappingsMeasurement = metrics.start("collectNameMappings");
+		try {
+			collectNameMappings();
+		} finally {
+			collectNameMappingsMeasurement.close();
+		}
 	}
 	
 	/**
@@ -189,139 +319,942 @@ public class ShaclToJava {
 			nameUriMap.put(name, uri);
 		}
 	}
-	
+	
+	/**
+	 * Create the mapings from the URI's to class names and property names
+	 */
+	private void collectNameMappings() {
+		uriToClassName.clear();
+		Map<String, String> classNameToUri = new HashMap<>();
+		for (String classUri:allClassUris) {
+			createUriNameMapping(classUri, uriToClassName, classNameToUri);
+		}
+		for (List<String> individualUris:classUriToIndividualUris.values()) {
+			for (String individualUri:individualUris) {
+				createUriNameMapping(individualUri, uriToClassName, classNameToUri);
+			}
+		}
+		uriToPropertyName.clear();
+		Map<String, String> propertyNameToUri = new HashMap<>();
+		for (String propertyUri:ontology.getDatatypePropertyUris()) {
+			createUriNameMapping(propertyUri, uriToPropertyName, propertyNameToUri);
+		}
+		for (String propertyUri:ontology.getObjectPropertyUris()) {
+			createUriNameMapping(propertyUri, uriToPropertyName, propertyNameToUri);
+		}
+	}
+
+	/**
+	 * Generates source and test files and store them in the dir
+	 * @param dir Directory to hold the java source
+	 * @return list of warnings - if empty, all files were generated successfully
+	 * @throws IOException for any issues storing the files
+	 * @throws ShaclToJavaException errors in the ontology
+	 */
+	public List<String> generate(File dir) throws IOException, ShaclToJavaException {
+		GeneratedFileSink directorySink = new DirectoryFileSink(dir, writeIfChanged);
+		try (GeneratedFileSink fileSink = asyncWrite ?
+				new AsyncFileSink(directorySink, AsyncFileSink.DEFAULT_QUEUE_CAPACITY, metrics) : directorySink) {
+			return generate(fileSink);
+		}
+	}
+
+	/**
+	 * Generates source and test files and writes them to the sink
+	 * @param sink destination for the generated files
+	 * @return list of warnings - if empty, all files were generated successfully
+	 * @throws IOException for any issues storing the files
+	 * @throws ShaclToJavaException errors in the ontology
+	 */
+	public List<String> generate(GeneratedFileSink sink) throws IOException, ShaclToJavaException {
+		this.sink = sink;
+		List<String> warnings = new ArrayList<>();
+		List<String> classUris = new ArrayList<>();
+		List<EnumModel> enumModels = new ArrayList<>();
+		List<String> createBuilderList = new ArrayList<>();
+		Map<String, ClassModel> classModels = new LinkedHashMap<>();
+		Map<PropertyType, Map<String, PropertyModel>> allPropertiesInUse = new EnumMap<>(PropertyType.class);
+		Measurement loadManifestMeasurement = metrics.start("loadManifest");
+		try {
+			previousManifest = incremental ? GenerationManifest.load(sink) : new GenerationManifest();
+		} finally {
+			loadManifestMeasurement.close();
+		}
+		currentManifest = new GenerationManifest();
+		runFingerprint = computeRunFingerprint();
+		upToDateClassCount = 0;
+		propertyUrisForConstants.clear();
+		if (Objects.nonNull(profiles)) {
+			Measurement computeProfileSliceMeasurement = metrics.start("computeProfileSlice");
+			try {
+				sliceClassUris = computeProfileSlice(profiles);
+			} finally {
+				computeProfileSliceMeasurement.close();
+			}
+		} else {
+			sliceClassUris = null;
+		}
+		List<ClassGenerationContext> classContexts;
+		Measurement collectClassContextsMeasurement = metrics.start("collectClassContexts");
+		try {
+			classContexts = collectClassGenerationContexts(classUris);
+		} finally {
+			collectClassContextsMeasurement.close();
+		}
+		patternWarnings = new ArrayList<>();
+		List<String> invalidPatterns = new ArrayList<>();
+		Measurement checkPatternsMeasurement = metrics.start("checkPatterns");
+		try {
+			checkPatterns(classContexts, invalidPatterns, patternWarnings);
+		} finally {
+			checkPatternsMeasurement.close();
+		}
+		Fingerprint modelInputs = new Fingerprint().add(runFingerprint);
+		for (String classUri:classUris) {
+			modelInputs.add(classUri).add(uriToClassName.get(classUri));
+		}
+		for (ClassGenerationContext context:classContexts) {
+			modelInputs.add(context.fingerprint);
+			if (context.upToDate) {
+				upToDateClassCount++;
+			}
+		}
+		modelFingerprint = modelInputs.toString();
+		// merge the results in the ontology class order so the aggregate files do not depend on the generation order
+		for (ClassGenerationResult result:generateClasses(classContexts)) {
+			warnings.addAll(result.warnings);
+			if (result.warnings.isEmpty()) {
+				currentManifest.putFingerprint(result.classUri, result.fingerprint);
+			}
+			if (Objects.nonNull(result.enumModel)) {
+				enumModels.add(result.enumModel);
+			}
+			if (Objects.nonNull(result.createString)) {
+				createBuilderList.add(result.createString);
+			}
+			if (Objects.nonNull(result.classModel)) {
+				classModels.put(result.classUri, result.classModel);
+			}
+			for (Entry<PropertyType, Map<String, PropertyModel>> entry:result.propertiesInUse.entrySet()) {
+				Map<String, PropertyModel> allPropertiesForType = allPropertiesInUse.get(entry.getKey());
+				if (Objects.isNull(allPropertiesForType)) {
+					allPropertiesForType = new TreeMap<>();
+					allPropertiesInUse.put(entry.getKey(), allPropertiesForType);
+				}
+				for (Entry<String, PropertyModel> propEntry:entry.getValue().entrySet()) {
+					if (!allPropertiesForType.containsKey(propEntry.getKey())) {
+						allPropertiesForType.put(propEntry.getKey(), propEntry.getValue());
+					}
+				}
+			}
+		}
+		generateAggregate("TestValueGenerator", () -> generateTestValueGenerator(allPropertiesInUse, classModels));
+		generateAggregate("SpdxConstants", () -> generateSpdxConstants(classUris));
+		generateAggregate("EnumFactory", () -> generateEnumFactory(enumModels));
+		generateAggregate("ModelClassFactory", () -> generateModelClassFactory(classUris));
+		generateAggregate("ModelObject", () -> generateModelObject(createBuilderList, classUris));
+		generateAggregate("SpdxModelInfo", () -> generateSpdxModelInfo());
+		generateAggregate("PackageInfo", () -> generatePackageInfo());
+		generateAggregate("PomFile", () -> generatePomFile());
+		generateAggregate("IndividualFactory", () -> generateIndividualFactory());
+		//TODO: Get the version from the SHACL file
+		generateAggregate("MockFiles", () -> generateMockFiles());
+		generateAggregate("InvalidLicenseExpression", () -> generateInvalidLicenseExpression());
+		if (sink instanceof AsyncFileSink) {
+			Measurement awaitWriterMeasurement = metrics.start("awaitWriter");
+			try {
+				((AsyncFileSink)sink).flush();
+			} finally {
+				awaitWriterMeasurement.close();
+			}
+		}
+		if (writeIfChanged && warnings.isEmpty()) {
+			Measurement deleteStaleFilesMeasurement = metrics.start("deleteStaleFiles");
+			try {
+				sink.deleteStaleFiles(mainSourceDir());
+				sink.deleteStaleFiles(testSourceDir());
+			} finally {
+				deleteStaleFilesMeasurement.close();
+			}
+		}
+		if (incremental) {
+			Measurement storeManifestMeasurement = metrics.start("storeManifest");
+			try {
+				currentManifest.store(sink);
+			} finally {
+				storeManifestMeasurement.close();
+			}
+		}
+		// invalid patterns would fail when the generated classes are loaded but do not affect the generated
+		// files so are added after the manifest and stale files are handled
+		warnings.addAll(invalidPatterns);
+		metrics.addCount("patternWarnings", patternWarnings.size());
+		metrics.addCount("classes", classContexts.size());
+		metrics.addCount("classesUpToDate", upToDateClassCount);
+		metrics.addCount("filesWritten", sink.getWrittenCount());
+		metrics.addCount("filesSkipped", sink.getSkippedCount());
+		metrics.addCount("filesDeleted", sink.getDeletedCount());
+		metrics.addCount("warnings", warnings.size());
+		return warnings;
+	}
+
+	/**
+	 * Generator for a file aggregating information from all classes
+	 */
+	@FunctionalInterface
+	private interface AggregateGenerator {
+		void generate() throws IOException, ShaclToJavaException;
+	}
+
+	/**
+	 * Runs an aggregate generator recording its time and allocations
+	 * @param name name of the aggregate file(s)
+	 * @param generator generator for the aggregate file(s)
+	 * @throws IOException for any issues storing the files
+	 * @throws ShaclToJavaException errors in the ontology
+	 */
+	private void generateAggregate(String name, AggregateGenerator generator) throws IOException, ShaclToJavaException {
+		Measurement measurement = metrics.start("aggregate:" + name);
+		try {
+			generator.generate();
+		} finally {
+			measurement.close();
+		}
+	}
+
+	/**
+	 * @return fingerprint of the inputs common to all generated files
+	 * @throws IOException on errors reading the templates
+	 */
+	private String computeRunFingerprint() throws IOException {
+		return new Fingerprint()
+				.add(computeGeneratorFingerprint(templateRegistry))
+				.add(year)
+				.add(Objects.isNull(profiles) ? "" : String.join(",", profiles))
+				.add(versionSuffix)
+				.add(versionSemVer)
+				.toString();
+	}
+
+	/**
+	 * @param templateRegistry registry of the templates used for the generation
+	 * @return fingerprint of the generator version and the content of all templates - the same model
+	 * generates the same files for the same copyright year as long as the fingerprint is unchanged
+	 * @throws IOException on errors reading the templates
+	 */
+	public static String computeGeneratorFingerprint(TemplateRegistry templateRegistry) throws IOException {
+		Fingerprint retval = new Fingerprint()
+				.add(GENERATOR_VERSION);
+		for (String templateName:ShaclToJavaConstants.ALL_TEMPLATES) {
+			retval.add(templateName).add(templateRegistry.getTemplateHash(templateName));
+		}
+		return retval.toString();
+	}
+
+	/**
+	 * @param context generation context for the class
+	 * @return fingerprint of all inputs used to generate the files for the class
+	 */
+	private String computeClassFingerprint(ClassGenerationContext context) {
+		Fingerprint retval = new Fingerprint()
+				.add(runFingerprint)
+				.add(context.classUri)
+				.add(context.name)
+				.add(context.comment)
+				.add(context.enumClass)
+				.add(context.abstractClass)
+				.add(typeCategories(context.classUri));
+		addShapeToFingerprint(retval, context.classShape);
+		for (String superClassUri:context.superClasses) {
+			retval.add(superClassUri).add(uriToClassName.get(superClassUri));
+			addShapeToFingerprint(retval, shapeMap.get(NodeFactory.createURI(superClassUri)));
+		}
+		List<String> propertyInputs = new ArrayList<>();
+		for (PropertyShape propertyShape:context.propertyShapes) {
+			String propertyUri = propertyShape.getPath().toString().replaceAll("<", "").replaceAll(">", "");
+			StringBuilder sb = new StringBuilder(propertyUri);
+			sb.append(' ');
+			sb.append(uriToPropertyName.get(propertyUri));
+			PropertyConstraints constraints = getPropertyConstraints(propertyShape);
+			for (Node type:new Node[] {constraints.getExpectedClass(), constraints.getDataType()}) {
+				if (Objects.nonNull(type) && type.isURI()) {
+					sb.append(' ');
+					sb.append(type.getURI());
+					sb.append(' ');
+					sb.append(uriToClassName.get(type.getURI()));
+					sb.append(' ');
+					sb.append(typeCategories(type.getURI()));
+				}
+			}
+			propertyInputs.add(sb.toString());
+		}
+		Collections.sort(propertyInputs);
+		for (String propertyInput:propertyInputs) {
+			retval.add(propertyInput);
+		}
+		for (Entry<String, String> individual:context.individualUriToComment.entrySet()) {
+			retval.add(individual.getKey()).add(uriToClassName.get(individual.getKey())).add(individual.getValue());
+		}
+		if (context.enumClass) {
+			for (String individualUri:ontology.getIndividualUris()) {
+				if (ontology.hasType(individualUri, context.classUri)) {
+					retval.add(localName(individualUri));
+				}
+			}
+		}
+		return retval.toString();
+	}
+
+	/**
+	 * @param uri class or type URI
+	 * @return string representing all the type categories the URI belongs to
+	 */
+	private String typeCategories(String uri) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(enumerationTypes.contains(uri) ? 'N' : '-');
+		sb.append(enumClassUris.contains(uri) ? 'E' : '-');
+		sb.append(stringTypes.contains(uri) ? 'S' : '-');
+		sb.append(elementTypes.contains(uri) ? 'L' : '-');
+		sb.append(anyLicenseInfoTypes.contains(uri) ? 'A' : '-');
+		sb.append(licenseAdditionTypes.contains(uri) ? 'D' : '-');
+		sb.append(extendableLicenseTypes.contains(uri) ? 'X' : '-');
+		sb.append(classUriToIndividualUris.containsKey(uri) ? 'I' : '-');
+		return sb.toString();
+	}
+
+	/**
+	 * Adds a canonical form of the shape and all of its property shapes to the fingerprint
+	 * @param fingerprint fingerprint to add the shape to
+	 * @param shape shape to add
+	 */
+	private void addShapeToFingerprint(Fingerprint fingerprint, @Nullable Shape shape) {
+		if (Objects.isNull(shape)) {
+			fingerprint.add((String)null);
+			return;
+		}
+		fingerprint.add(canonicalConstraints(shape.getConstraints()));
+		List<String> propertyShapes = new ArrayList<>();
+		for (PropertyShape propertyShape:shape.getPropertyShapes()) {
+			propertyShapes.add(propertyShape.getPath().toString() + " " + canonicalConstraints(propertyShape.getConstraints()));
+		}
+		Collections.sort(propertyShapes);
+		for (String propertyShape:propertyShapes) {
+			fingerprint.add(propertyShape);
+		}
+	}
+
+	/**
+	 * @param constraints constraints
+	 * @return a string representation of the constraints which does not depend on blank node labels or order
+	 */
+	private String canonicalConstraints(Collection<Constraint> constraints) {
+		List<String> retval = new ArrayList<>();
+		for (Constraint constraint:constraints) {
+			if (constraint instanceof ShNot) {
+				Shape other = ((ShNot)constraint).getOther();
+				retval.add("Not[" + (Objects.isNull(other) ? "" : canonicalConstraints(other.getConstraints())) + "]");
+			} else {
+				retval.add(constraint.toString());
+			}
+		}
+		Collections.sort(retval);
+		return retval.toString();
+	}
+
+	/**
+	 * @param context generation context for the class
+	 * @return all files generated for the class
+	 */
+	private List<String> classOutputPaths(ClassGenerationContext context) {
+		List<String> retval = new ArrayList<>();
+		for (String individualUri:context.individualUriToComment.keySet()) {
+			retval.add(javaSourcePath(individualUri));
+		}
+		if (context.enumClass) {
+			retval.add(javaSourcePath(context.classUri));
+		} else if (!stringTypes.contains(context.classUri)) {
+			retval.add(javaSourcePath(context.classUri));
+			if (elementTypes.contains(context.classUri)) {
+				retval.add(externalJavaSourcePath(context.classUri));
+			}
+			if (!context.abstractClass) {
+				retval.add(unitTestPath(context.classUri));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Records the fingerprint for an aggregate file in the current manifest
+	 * @param templateName name of the template used to generate the aggregate file
+	 * @param inputFingerprint fingerprint of the inputs to the aggregate file
+	 * @param path logical path of the aggregate file
+	 * @return true if the aggregate file exists and was generated from the same inputs by the previous incremental generation
+	 * @throws IOException on errors reading the template
+	 */
+	private boolean aggregateUpToDate(String templateName, String inputFingerprint, String path) throws IOException {
+		String key = GenerationManifest.AGGREGATE_KEY_PREFIX + templateName;
+		String fingerprint = new Fingerprint()
+				.add(inputFingerprint)
+				.add(templateRegistry.getTemplateHash(templateName))
+				.toString();
+		currentManifest.putFingerprint(key, fingerprint);
+		if (incremental && fingerprint.equals(previousManifest.getFingerprint(key)) && sink.exists(path)) {
+			sink.retain(path);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Collects everything needed from the ontology model to generate each class.  Any updates to
+	 * the shared name mappings are made here so that generating the classes only reads shared state.
+	 * @param classUris list of class URIs to include in the aggregate files - updated with the classes and external classes
+	 * @return generation context for each class in the ontology class order
+	 */
+	List<ClassGenerationContext> collectClassGenerationContexts(List<String> classUris) {
+		List<ClassGenerationContext> retval = new ArrayList<>();
+		for (String classUri:allClassUris) {
+			if (classUri.startsWith("http://spdx.invalid.") || !inSlice(classUri)) {
+				continue;
+			}
+			String comment = ontology.getComment(classUri);
+			classUris.add(classUri);
+			String name = uriToClassName.get(classUri);
+			Shape classShape = shapeMap.get(NodeFactory.createURI(classUri));
+			// sorted by path since the order of the shapes parsed by Jena differs between runs
+			Map<String, PropertyShape> propertyShapes = new TreeMap<>();
+			
+			if (Objects.nonNull(classShape)) {
+				for (PropertyShape ps : classShape.getPropertyShapes()) {
+					propertyShapes.put(ps.getPath().toString(), ps);
+				}
+			}
+			if (elementTypes.contains(classUri) ||
+					licenseAdditionTypes.contains(classUri) ||
+					extendableLicenseTypes.contains(classUri) ||
+					anyLicenseInfoTypes.contains(classUri)) {
+				String externalClassUri = classUriToExternalClassUri(classUri);
+				classUris.add(externalClassUri);
+				String externalClassName = "External" + uriToName(classUri);
+				this.uriToClassName.put(externalClassUri, externalClassName);
+			}
+			List<String> superClasses = classHierarchy.getAncestors(classUri);
+			for (String superClassUri : superClasses) {
+				Shape superClassShape = shapeMap.get(NodeFactory.createURI(superClassUri));
+				if (Objects.nonNull(superClassShape)) {
+					for (PropertyShape ps : superClassShape.getPropertyShapes()) {
+						
+						if (!propertyShapes.containsKey(ps.getPath().toString())) {
+							propertyShapes.put(ps.getPath().toString(), ps);
+						}
+					}
+				}
+			}
+			for (PropertyShape propertyShape:propertyShapes.values()) {
+				if (propertyShape.getPath().toString().contains("/terms")) {
+					String propertyUri = propertyShape.getPath().toString().replaceAll("<", "").replaceAll(">", "");
+					if (!uriToPropertyName.containsKey(propertyUri)) {
+						// This is a special case if a property is not defined in SHACL as either
+						// an ObjectProperty or an DataProperty - e.g. core:extension
+						uriToPropertyName.put(propertyUri, uriToName(propertyUri));
+					}
+				}
+			}
+			Map<String, String> individualUriToComment = new LinkedHashMap<>();
+			if (this.classUriToIndividualUris.containsKey(classUri)) {
+				for (String individualUri:this.classUriToIndividualUris.get(classUri)) {
+					individualUriToComment.put(individualUri, getIndividualComment(individualUri));
+				}
+			}
+			boolean enumClass = isEnumClass(classUri);
+			boolean abstractClass = !enumClass && isAbstract(classUri);
+			ClassGenerationContext context = new ClassGenerationContext(classUri, name, comment, classShape, 
+					new ArrayList<>(propertyShapes.values()), superClasses, enumClass, abstractClass,
+					individualUriToComment);
+			retval.add(context);
+		}
+		// fingerprints are computed once all name mappings, including the external classes, are known
+		for (ClassGenerationContext context:retval) {
+			context.fingerprint = computeClassFingerprint(context);
+			if (incremental && context.fingerprint.equals(previousManifest.getFingerprint(context.classUri))) {
+				context.upToDate = true;
+				for (String output:classOutputPaths(context)) {
+					if (!sink.exists(output)) {
+						context.upToDate = false;
+						break;
+					}
+				}
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Checks the patterns of the string properties, which are compiled into constants of the generated
+	 * classes, for syntax errors and constructs which may backtrack catastrophically
+	 * @param classContexts contexts for all classes to be generated
+	 * @param invalidPatterns updated with a warning for each pattern which can not be compiled
+	 * @param riskyPatterns updated with a warning for each pattern which may backtrack catastrophically
+	 */
+	private void checkPatterns(List<ClassGenerationContext> classContexts, List<String> invalidPatterns,
+			List<String> riskyPatterns) {
+		Set<String> checkedPatterns = new HashSet<>();
+		for (ClassGenerationContext context:classContexts) {
+			for (PropertyShape propertyShape:context.propertyShapes) {
+				String pattern = getPropertyConstraints(propertyShape).getPattern();
+				if (Objects.isNull(pattern) || !checkedPatterns.add(pattern)) {
+					continue;
+				}
+				String location = " for property " + propertyShape.getPath().toString() + " in class " + context.name;
+				try {
+					for (String risk:PatternChecker.findBacktrackingRisks(pattern)) {
+						riskyPatterns.add("Pattern '" + pattern + "'" + location + " may backtrack catastrophically - " + risk);
+					}
+				} catch (PatternSyntaxException e) {
+					invalidPatterns.add("Invalid pattern '" + pattern + "'" + location + ": " + e.getDescription());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates the files for all classes - in parallel if an executor or a parallelism greater than 1 has been configured
+	 * @param classContexts contexts for all classes to be generated
+	 * @return the results of generating each class in the same order as the classContexts
+	 * @throws IOException on errors running the parallel generation
+	 */
+	private List<ClassGenerationResult> generateClasses(List<ClassGenerationContext> classContexts) throws IOException {
+		List<ClassGenerationResult> retval = new ArrayList<>();
+		if (Objects.isNull(executor) && parallelism <= 1) {
+			for (ClassGenerationContext context:classContexts) {
+				retval.add(generateClass(context));
+			}
+			return retval;
+		}
+		ExecutorService service = Objects.nonNull(executor) ? executor : new ForkJoinPool(parallelism);
+		// the worker threads only read from the ontology index and the shapes
+		try {
+			List<Future<ClassGenerationResult>> futures = new ArrayList<>();
+			for (ClassGenerationContext context:classContexts) {
+				futures.add(service.submit(() -> generateClass(context)));
+			}
+			for (Future<ClassGenerationResult> future:futures) {
+				retval.add(future.get());
+			}
+			return retval;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted generating Java classes", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error)e.getCause();
+			} else {
+				throw new IOException("Error generating Java classes", e.getCause());
+			}
+		} finally {
+			if (service != executor) {
+				service.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Generates the Java source, unit test and individual files for a single class.  Only reads
+	 * from the shared state of this object so that classes can be generated concurrently.
+	 * @param context inputs for generating the class
+	 * @return the results needed for generating the aggregate files
+	 */
+	private ClassGenerationResult generateClass(ClassGenerationContext context) {
+		Measurement generateClassMeasurement = metrics.start("generateClass", context.classUri);
+		try {
+			return generateClassFiles(context);
+		} finally {
+			generateClassMeasurement.close();
+		}
+	}
+
+	/**
+	 * @param context inputs for generating the class
+	 * @return the results needed for generating the aggregate files
+	 */
+	private ClassGenerationResult generateClassFiles(ClassGenerationContext context) {
+		ClassGenerationResult result = new ClassGenerationResult(context.classUri, context.fingerprint);
+		String classUri = context.classUri;
+		String name = context.name;
+		// when up to date, the class models are still needed for the aggregate files but no class files are written
+		boolean writeFiles = !context.upToDate;
+		if (!writeFiles) {
+			for (String output:classOutputPaths(context)) {
+				sink.retain(output);
+			}
+		}
+		try {
+			// Generate the individuals
+			for (Entry<String, String> individual:context.individualUriToComment.entrySet()) {
+				if (!writeFiles) {
+					break;
+				}
+				try {
+					generateIndividualClass(individual.getKey(), uriToClassName.get(individual.getKey()),
+							context.propertyShapes, individual.getValue(),
+							classUri, context.classShape, context.superClasses);
+				} catch (ShaclToJavaException e) {
+					result.warnings.add("Error generating Individual Java class for "+individual.getKey()+":" + e.getMessage());
+				}
+			}
+			if (context.enumClass) {
+				result.enumModel = buildEnumModel(classUri, name, context.comment);
+				if (writeFiles) {
+					writeMustacheFile(ShaclToJavaConstants.ENUM_CLASS_TEMPLATE, javaSourcePath(classUri), result.enumModel);
+				}
+			} else if (!stringTypes.contains(classUri)) { // TODO: we may want to handle String subtypes in the future
+				try {
+					boolean isAbstract = context.abstractClass;
+					String createString;
+					Measurement buildClassModelMeasurement = metrics.start("buildClassModel", classUri);
+					try {
+						createString = buildClassModel(classUri, name, context.propertyShapes,
+								context.classShape, context.comment, context.superClassUri, context.superClasses, isAbstract, 
+								result);
+					} finally {
+						buildClassModelMeasurement.close();
+					}
+					if (!isAbstract) {
+						result.createString = createString;
+					}
+					if (writeFiles) {
+						generateJavaClass(classUri, result.classModel);
+						if (elementTypes.contains(classUri)) {
+							generateExternalJavaClass(classUri, result.classModel);
+						}
+						if (!isAbstract) {
+							generateUnitTest(classUri, result.classModel);
+						}
+					}
+				} catch (ShaclToJavaException e) {
+					result.warnings.add("Error generating Java class for "+name+":" + e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			result.warnings.add("I/O Error generating Java class for "+name+":" + e.getMessage());
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the number of classes to generate concurrently using a fork-join pool created for each
+	 * call to <code>generate</code>.  Ignored if an executor has been set.
+	 * @param parallelism number of classes to generate concurrently - 1 or less generates the classes sequentially
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the number of classes to generate concurrently if no executor is set
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the executor used to generate the classes concurrently, e.g. a <code>ForkJoinPool</code> or
+	 * a virtual thread per task executor.  The executor is not shut down by the generator.
+	 * @param executor executor to generate the classes or null to use the configured parallelism
+	 */
+	public void setExecutor(@Nullable ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @return the executor used to generate the classes concurrently or null if not set
+	 */
+	public @Nullable ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets incremental generation.  When incremental, a manifest of the input fingerprints for each class and aggregate file
+	 * is stored in the output directory and only the files whose fingerprint changed since the last incremental
+	 * generation are regenerated.
+	 * @param incremental if true, only regenerate files whose inputs changed
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * @return true if only files whose inputs changed are regenerated
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * Sets write-if-changed output.  When set, generated files are rendered into memory and only written if
+	 * their content differs from the existing file, and java source files in the generated packages which
+	 * are no longer produced by the model are deleted.
+	 * @param writeIfChanged if true, leave files with unchanged content untouched
+	 */
+	public void setWriteIfChanged(boolean writeIfChanged) {
+		this.writeIfChanged = writeIfChanged;
+	}
+
+	/**
+	 * @return true if files with unchanged content are left untouched
+	 */
+	public boolean isWriteIfChanged() {
+		return writeIfChanged;
+	}
+
+	/**
+	 * Sets asynchronous writing for generation into a directory.  When set, rendered files are queued to a
+	 * dedicated writer thread so that rendering continues while files are written - see <code>AsyncFileSink</code>.
+	 * The writer thread records the time writing the files in the <code>writeFile</code> phase, and the time
+	 * the rendering threads spend queuing the files is recorded in the <code>queueFile</code> phase.
+	 * @param asyncWrite if true, write the files on a dedicated writer thread (default false)
+	 */
+	public void setAsyncWrite(boolean asyncWrite) {
+		this.asyncWrite = asyncWrite;
+	}
+
+	/**
+	 * @return true if files generated into a directory are written on a dedicated writer thread
+	 */
+	public boolean isAsyncWrite() {
+		return asyncWrite;
+	}
+
+	/**
+	 * Sets the copyright year for the headers of the generated files.  The default is the year of the
+	 * <code>SOURCE_DATE_EPOCH</code> environment variable if set, otherwise the current year.  Setting a fixed
+	 * year makes the generated files depend only on the model, the templates and the generator version.
+	 * @param year copyright year
+	 */
+	public void setYear(String year) {
+		this.year = year;
+	}
+
+	/**
+	 * @return copyright year for the headers of the generated files
+	 */
+	public String getYear() {
+		return year;
+	}
+
+	/**
+	 * @return copyright year used if no year is set - the year of the <code>SOURCE_DATE_EPOCH</code>
+	 * environment variable if set, otherwise the current year
+	 */
+	public static String getDefaultYear() {
+		return YEAR;
+	}
+
+	/**
+	 * Restricts the generation to the classes of the profiles and the classes they require.  Only the
+	 * classes of the profiles, their superclasses and the types of their properties (and so on for the
+	 * required classes) are generated, and the factories and constants only include these classes.
+	 * The Core profile is always included since every profile depends on it.
+	 * @param profiles names of the profiles to generate (e.g. Software) - not case sensitive - or null to generate all profiles
+	 */
+	public void setProfiles(@Nullable Collection<String> profiles) {
+		if (Objects.isNull(profiles)) {
+			this.profiles = null;
+		} else {
+			this.profiles = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+			this.profiles.addAll(profiles);
+		}
+	}
+
+	/**
+	 * @return names of the profiles to generate or null if all profiles are generated
+	 */
+	public @Nullable Set<String> getProfiles() {
+		return profiles;
+	}
+
+	/**
+	 * @return names of all profiles in the model
+	 */
+	public Set<String> getProfileNames() {
+		Set<String> retval = new TreeSet<>();
+		for (String classUri:allClassUris) {
+			if (!classUri.startsWith("http://spdx.invalid.")) {
+				retval.add(uriToProfile(classUri));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Computes the classes needed for the profiles - the classes of the profiles and the Core profile, their
+	 * superclasses and the classes of their properties
+	 * @param profiles names of the profiles
+	 * @return URIs of the classes needed for the profiles
+	 * @throws ShaclToJavaException if a profile is not in the model
+	 */
+	Set<String> computeProfileSlice(Set<String> profiles) throws ShaclToJavaException {
+		Set<String> profileNames = getProfileNames();
+		for (String profile:profiles) {
+			if (profileNames.stream().noneMatch(profile::equalsIgnoreCase)) {
+				throw new ShaclToJavaException("Profile " + profile + " is not in the model - the profiles are " + profileNames);
+			}
+		}
+		Set<String> allClasses = new HashSet<>(allClassUris);
+		Deque<String> toVisit = new ArrayDeque<>();
+		for (String classUri:allClassUris) {
+			String profile = uriToProfile(classUri);
+			if (!classUri.startsWith("http://spdx.invalid.") &&
+					("Core".equalsIgnoreCase(profile) || profiles.contains(profile))) {
+				toVisit.add(classUri);
+			}
+		}
+		Set<String> retval = new HashSet<>();
+		while (!toVisit.isEmpty()) {
+			String classUri = toVisit.pop();
+			if (!retval.add(classUri)) {
+				continue;
+			}
+			// the property shapes of the superclasses are covered when the superclasses are visited
+			toVisit.addAll(classHierarchy.getAncestors(classUri));
+			Shape classShape = shapeMap.get(NodeFactory.createURI(classUri));
+			if (Objects.nonNull(classShape)) {
+				for (PropertyShape propertyShape:classShape.getPropertyShapes()) {
+					Node expectedClass = getPropertyConstraints(propertyShape).getExpectedClass();
+					if (Objects.nonNull(expectedClass) && expectedClass.isURI() && allClasses.contains(expectedClass.getURI())) {
+						toVisit.add(expectedClass.getURI());
+					}
+				}
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param classUri URI of a class or individual class
+	 * @return true if the class is generated in the current generation
+	 */
+	private boolean inSlice(String classUri) {
+		return Objects.isNull(sliceClassUris) || sliceClassUris.contains(classUri);
+	}
+
+	/**
+	 * @return the non-enum individual URIs for each class generated in the current generation
+	 */
+	private Map<String, List<String>> individualUrisInSlice() {
+		if (Objects.isNull(sliceClassUris)) {
+			return classUriToIndividualUris;
+		}
+		Map<String, List<String>> retval = new TreeMap<>();
+		for (Entry<String, List<String>> entry:classUriToIndividualUris.entrySet()) {
+			if (sliceClassUris.contains(entry.getKey())) {
+				retval.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return retval;
+	}
+
 	/**
-	 * Create the mapings from the URI's to class names and property names
+	 * @param profile profile of the class
+	 * @param className local name of the class
+	 * @return true if the class is generated in the current generation
 	 */
-	private void collectNameMappings() {
-		uriToClassName.clear();
-		Map<String, String> classNameToUri = new HashMap<>();
-		for (OntClass ontClass:allClasses) {
-			createUriNameMapping(ontClass.getURI(), uriToClassName, classNameToUri);
+	private boolean classInSlice(String profile, String className) {
+		if (Objects.isNull(sliceClassUris)) {
+			return true;
 		}
-		for (List<String> individualUris:classUriToIndividualUris.values()) {
-			for (String individualUri:individualUris) {
-				createUriNameMapping(individualUri, uriToClassName, classNameToUri);
+		for (String classUri:sliceClassUris) {
+			if (profile.equals(uriToProfile(classUri)) && className.equals(localName(classUri))) {
+				return true;
 			}
 		}
-		uriToPropertyName.clear();
-		Map<String, String> propertyNameToUri = new HashMap<>();
-		for (DatatypeProperty prop:allDataProperties) {
-			createUriNameMapping(prop.getURI(), uriToPropertyName, propertyNameToUri);
+		return false;
+	}
+
+	/**
+	 * @return true if the LicenseExpression class extended by InvalidLicenseExpression is generated
+	 */
+	private boolean includeInvalidLicenseExpression() {
+		return classInSlice("SimpleLicensing", "LicenseExpression");
+	}
+
+	/**
+	 * @param profile profile name
+	 * @return true if any class of the profile is generated in the current generation
+	 */
+	private boolean profileInSlice(String profile) {
+		if (Objects.isNull(sliceClassUris)) {
+			return true;
 		}
-		for (ObjectProperty prop:allObjectProperties) {
-			createUriNameMapping(prop.getURI(), uriToPropertyName, propertyNameToUri);
+		for (String classUri:sliceClassUris) {
+			if (profile.equalsIgnoreCase(uriToProfile(classUri))) {
+				return true;
+			}
 		}
+		return false;
 	}
 
 	/**
-	 * Generates source and test files and store them in the dir
-	 * @param dir Directory to hold the java source
-	 * @return list of warnings - if empty, all files were generated successfully
-	 * @throws IOException for any issues storing the files
-	 * @throws ShaclToJavaException errors in the ontology
+	 * @return the number of files written by the last call to generate
 	 */
-	public List<String> generate(File dir) throws IOException, ShaclToJavaException {
-		List<String> warnings = new ArrayList<>();
-		List<String> classUris = new ArrayList<>();
-		List<Map<String, Object>> enumMustacheMaps = new ArrayList<>();
-		List<String> createBuilderList = new ArrayList<>();
-		Map<String, Map<String, Object>> javaClassMaps = new HashMap<>();
-		Map<String, Map<String, Object>> unitTestMaps = new HashMap<>();
-		Map<PropertyType, Map<String, Map<String, Object>>> allPropertiesInUse = new HashMap<>();
-		allClasses.forEach(ontClass -> {
-			String classUri = ontClass.getURI();
-			if (classUri.startsWith("http://spdx.invalid.")) {
-				return;
-			}
-			String comment = ontClass.getComment(null);
-			classUris.add(classUri);
-			String name = uriToClassName.get(classUri);
-			Shape classShape = shapeMap.get(ontClass.asNode());
-			Map<String, PropertyShape> propertyShapes = new HashMap<>();
-			
-			if (Objects.nonNull(classShape)) {
-				for (PropertyShape ps : classShape.getPropertyShapes()) {
-					propertyShapes.put(ps.getPath().toString(), ps);
-				}
-			}
-			List<OntClass> superClasses = new ArrayList<>();
-			if (elementTypes.contains(classUri) ||
-					licenseAdditionTypes.contains(classUri) ||
-					extendableLicenseTypes.contains(classUri) ||
-					anyLicenseInfoTypes.contains(classUri)) {
-				String externalClassUri = classUriToExternalClassUri(classUri);
-				classUris.add(externalClassUri);
-				String externalClassName = "External" + uriToName(classUri);
-				this.uriToClassName.put(externalClassUri, externalClassName);
-			}
-			addAllSuperClasses(ontClass, superClasses);
-			
-			for (OntClass superClass : superClasses) {
-				Shape superClassShape = shapeMap.get(superClass.asNode());
-				if (Objects.nonNull(superClassShape)) {
-					for (PropertyShape ps : superClassShape.getPropertyShapes()) {
-						
-						if (!propertyShapes.containsKey(ps.getPath().toString())) {
-							propertyShapes.put(ps.getPath().toString(), ps);
-						}
-					}
-				}
-			}
-			
-			String superClassUri = superClasses.isEmpty() ? null : superClasses.get(0).getURI();
-			try {
-				if (this.classUriToIndividualUris.containsKey(ontClass.getURI())) {
-					// Generate the individuals
-					for (String individualUri:this.classUriToIndividualUris.get(ontClass.getURI())) {
-						try {
-							generateIndividualClass(dir, individualUri, uriToClassName.get(individualUri),
-									new ArrayList<>(propertyShapes.values()), getIndividualComment(individualUri),
-									classUri, classShape, superClasses);
-						} catch (ShaclToJavaException e) {
-							warnings.add("Error generating Individual Java class for "+individualUri+":" + e.getMessage());
-						}
-					}
-				}
-				if (isEnumClass(ontClass)) {
-					enumMustacheMaps.add(generateJavaEnum(dir, classUri, name, allIndividuals, comment));
-				} else if (!stringTypes.contains(classUri)) { // TODO: we may want to handle String subtypes in the future
-					try {
-						boolean isAbstract = isAbstract(ontClass);
-						String createString = fillMustachMapsForClass(classUri, name, new ArrayList<>(propertyShapes.values()),
-								classShape, comment, superClassUri, superClasses, isAbstract, 
-								javaClassMaps, unitTestMaps, allPropertiesInUse);
-						if (!isAbstract) {
-							createBuilderList.add(createString);
-						}
-						generateJavaClass(dir, classUri, javaClassMaps.get(classUri));
-						if (elementTypes.contains(classUri)) {
-							generateExternalJavaClass(dir, classUri, javaClassMaps.get(classUri));
-						}
-						if (!isAbstract) {
-							generateUnitTest(dir, classUri, unitTestMaps.get(classUri));
-						}
-					} catch (ShaclToJavaException e) {
-						warnings.add("Error generating Java class for "+name+":" + e.getMessage());
-					}
-				}
-			} catch (IOException e) {
-				warnings.add("I/O Error generating Java class for "+name+":" + e.getMessage());
-			}
-		});
-		generateTestValueGenerator(dir, allPropertiesInUse, unitTestMaps);
-		generateSpdxConstants(dir, classUris);
-		generateEnumFactory(dir, enumMustacheMaps);
-		generateModelClassFactory(dir, classUris);
-		generateModelObject(dir, createBuilderList, classUris);
-		generateSpdxModelInfo(dir);
-		generatePackageInfo(dir);
-		generatePomFile(dir);
-		generateIndividualFactory(dir);
-		//TODO: Get the version from the SHACL file
-		generateMockFiles(dir);
-		generateInvalidLicenseExpression(dir);
-		return warnings;
+	public int getWrittenFileCount() {
+		return sink.getWrittenCount();
+	}
+
+	/**
+	 * @return the number of files left untouched by the last call to generate since they were unchanged or up to date
+	 */
+	public int getSkippedFileCount() {
+		return sink.getSkippedCount();
+	}
+
+	/**
+	 * @return the number of stale files deleted by the last call to generate
+	 */
+	public int getDeletedFileCount() {
+		return sink.getDeletedCount();
+	}
+
+	/**
+	 * The backtracking checks are heuristic and do not affect the generated files, so these warnings are not
+	 * included in the warnings returned by <code>generate</code>.  Invalid patterns are returned by <code>generate</code>.
+	 * @return warnings from the last call to generate for patterns which may backtrack catastrophically
+	 */
+	public List<String> getPatternWarnings() {
+		return Collections.unmodifiableList(patternWarnings);
+	}
+
+	/**
+	 * @return the number of classes which were not regenerated by the last call to generate since they were up to date
+	 */
+	public int getUpToDateClassCount() {
+		return upToDateClassCount;
+	}
+
+	/**
+	 * @return time and allocations recorded for each phase and class
+	 */
+	public GenerationMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param propertyShape property shape
+	 * @return summary of all constraints on the property shape computed once and cached
+	 */
+	PropertyConstraints getPropertyConstraints(PropertyShape propertyShape) {
+		return propertyConstraintsCache.computeIfAbsent(propertyShape, PropertyConstraints::of);
+	}
+
+	/**
+	 * @return the registry of compiled templates used by this generator
+	 */
+	public TemplateRegistry getTemplateRegistry() {
+		return templateRegistry;
 	}
 
 	/**
@@ -336,23 +1269,22 @@ public class ShaclToJava {
 
 
 	/**
-	 * @param dir directory for the source files
 	 * @param allPropertiesInUse Map of all properties
-	 * @param unitTestMaps all unit test maps
+	 * @param classModels models of all classes keyed by class URI
 	 * @throws IOException on IO error writing file
 	 */
-	private void generateTestValueGenerator(File dir,
-			Map<PropertyType, Map<String, Map<String, Object>>> allPropertiesInUse,
-			Map<String, Map<String, Object>> unitTestMaps) throws IOException, ShaclToJavaException {
+	private void generateTestValueGenerator(Map<PropertyType, Map<String, PropertyModel>> allPropertiesInUse,
+			Map<String, ClassModel> classModels) throws IOException, ShaclToJavaException {
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		mustacheMap.put("versionSemVer", versionSemVer);
 		Set<String> requiredImports = new HashSet<>();
-		for (Entry<PropertyType, Map<String, Map<String, Object>>> entry:allPropertiesInUse.entrySet()) {
-			List<Map<String, Object>> propertiesForType = new ArrayList<>();
-			for (Map<String, Object> propertyMap:entry.getValue().values()) {
-				propertiesForType.add(propertyMap);
-				String typeUri = (String)propertyMap.get("typeUri");
+		for (Entry<PropertyType, Map<String, PropertyModel>> entry:allPropertiesInUse.entrySet()) {
+			List<PropertyModel> propertiesForType = new ArrayList<>();
+			for (PropertyModel propertyModel:entry.getValue().values()) {
+				propertiesForType.add(propertyModel);
+				String typeUri = propertyModel.typeUri;
 				if (PropertyType.ENUM.equals(entry.getKey()) || PropertyType.OBJECT.equals(entry.getKey()) ||
 								PropertyType.OBJECT_COLLECTION.equals(entry.getKey()) || 
 								PropertyType.ENUM_COLLECTION.equals(entry.getKey()) || 
@@ -385,17 +1317,16 @@ public class ShaclToJava {
 			mustacheMap.put(propTypeStr, propertiesForType);
 		}
 		
-		List<Map<String, Object>> classesMaps = new ArrayList<>();
-		for (Entry<String, Map<String, Object>> entry:unitTestMaps.entrySet()) {
-			classesMaps.add(entry.getValue());
-			boolean isAbstract = (Boolean)entry.getValue().get("abstract");
-			if (isAbstract) {
+		List<ClassModel> classesForBuilders = new ArrayList<>();
+		for (Entry<String, ClassModel> entry:classModels.entrySet()) {
+			classesForBuilders.add(entry.getValue());
+			if (entry.getValue().isAbstract()) {
 				requiredImports.add("import "+uriToPkg(entry.getKey()) + "." + uriToClassName.get(entry.getKey()) + ";");
 			}
 			requiredImports.add("import "+uriToPkg(entry.getKey()) + "." + uriToClassName.get(entry.getKey()) +
 					"." + uriToClassName.get(entry.getKey()) + "Builder;");
 		}
-		mustacheMap.put("classesForBuilders", classesMaps);
+		mustacheMap.put("classesForBuilders", classesForBuilders);
 		requiredImports.add("import java.util.Arrays;");
 		requiredImports.add("import org.spdx.core.IModelCopyManager;");
 		requiredImports.add("import org.spdx.core.InvalidSPDXAnalysisException;");
@@ -414,40 +1345,39 @@ public class ShaclToJava {
 		List<String> importList = new ArrayList<>(requiredImports);
 		Collections.sort(importList);
 		mustacheMap.put("imports", importList);
-		Path path = dir.toPath().resolve("src").resolve("test").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File testValuesGeneratorFile = path.resolve("TestValuesGenerator.java").toFile();
-		if (!testValuesGeneratorFile.createNewFile()) {
-			throw new ShaclToJavaException("Could not create test values generator file");
+		String path = testSourceDir();
+		String testValuesGeneratorFile = path + "/TestValuesGenerator.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.TEST_VALUES_GENERATOR_TEMPLATE, modelFingerprint, testValuesGeneratorFile)) {
+			writeMustacheFile(ShaclToJavaConstants.TEST_VALUES_GENERATOR_TEMPLATE, testValuesGeneratorFile, mustacheMap);
 		}
-		writeMustacheFile(ShaclToJavaConstants.TEST_VALUES_GENERATOR_TEMPLATE, testValuesGeneratorFile, mustacheMap);
 	}
 
 	/**
 	 * Generates the test mock files
-	 * @param dir Directory for the mock files
 	 * @throws IOException on I/O Error
 	 */
-	private void generateMockFiles(File dir) throws IOException {
-		Path path = dir.toPath().resolve("src").resolve("test").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
+	private void generateMockFiles() throws IOException {
+		String path = testSourceDir();
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		mustacheMap.put("specVersion", versionSemVer);
-		Files.createDirectories(path);
-		File mockModelStoreFile = path.resolve("MockModelStore.java").toFile();
-		mockModelStoreFile.createNewFile();
-		writeMustacheFile(ShaclToJavaConstants.MOCK_MODEL_STORE_TEMPLATE, mockModelStoreFile, mustacheMap);
-		File mockCopyManager = path.resolve("MockCopyManager.java").toFile();
-		mockCopyManager.createNewFile();
-		writeMustacheFile(ShaclToJavaConstants.MOCK_COPY_MANAGER_TEMPLATE, mockCopyManager, mustacheMap);
-		File unitTestHelper = path.resolve("UnitTestHelper.java").toFile();
-		unitTestHelper.createNewFile();
-		writeMustacheFile(ShaclToJavaConstants.UNIT_TEST_HELPER_TEMPLATE, unitTestHelper, mustacheMap);
-		File testModelInfoFile = path.resolve("TestSpdxModelInfo.java").toFile();
-		testModelInfoFile.createNewFile();
-		writeMustacheFile(ShaclToJavaConstants.TEST_MODEL_INFO_TEMPLATE, testModelInfoFile, mustacheMap);
+		String mockModelStoreFile = path + "/MockModelStore.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.MOCK_MODEL_STORE_TEMPLATE, runFingerprint, mockModelStoreFile)) {
+			writeMustacheFile(ShaclToJavaConstants.MOCK_MODEL_STORE_TEMPLATE, mockModelStoreFile, mustacheMap);
+		}
+		String mockCopyManager = path + "/MockCopyManager.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.MOCK_COPY_MANAGER_TEMPLATE, runFingerprint, mockCopyManager)) {
+			writeMustacheFile(ShaclToJavaConstants.MOCK_COPY_MANAGER_TEMPLATE, mockCopyManager, mustacheMap);
+		}
+		String unitTestHelper = path + "/UnitTestHelper.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.UNIT_TEST_HELPER_TEMPLATE, runFingerprint, unitTestHelper)) {
+			writeMustacheFile(ShaclToJavaConstants.UNIT_TEST_HELPER_TEMPLATE, unitTestHelper, mustacheMap);
+		}
+		String testModelInfoFile = path + "/TestSpdxModelInfo.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.TEST_MODEL_INFO_TEMPLATE, runFingerprint, testModelInfoFile)) {
+			writeMustacheFile(ShaclToJavaConstants.TEST_MODEL_INFO_TEMPLATE, testModelInfoFile, mustacheMap);
+		}
 	}
 
 	/**
@@ -455,90 +1385,85 @@ public class ShaclToJava {
 	 * @return
 	 */
 	private String getIndividualComment(String individualUri) {
-		Resource individualResource = model.getResource(individualUri);
-		Statement stmt = individualResource.getProperty(model.getProperty(ShaclToJavaConstants.COMMENT_URI));
-		if (Objects.isNull(stmt) || !stmt.getObject().isLiteral()) {
-			return "";
-		}
-		return stmt.getObject().asLiteral().getString();
+		String comment = ontology.getComment(individualUri);
+		return Objects.isNull(comment) ? "" : comment;
 	}
 
 	/**
-	 * @param dir
 	 * @throws IOException 
 	 */
-	private void generatePomFile(File dir) throws IOException {
-		Path path = dir.toPath();
-		Files.createDirectories(path);
-		File file = path.resolve("pom.xml").toFile();
-		file.createNewFile();
+	private void generatePomFile() throws IOException {
+		String file = "pom.xml";
+		if (aggregateUpToDate(ShaclToJavaConstants.POM_TEMPLATE, runFingerprint, file)) {
+			return;
+		}
 		writeMustacheFile(ShaclToJavaConstants.POM_TEMPLATE, file, new HashMap<>());
 	}
 
 	/**
-	 * @param dir
 	 * @throws IOException
 	 */
-	private void generateInvalidLicenseExpression(File dir) throws IOException {
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix)
-				.resolve("simplelicensing");
-		Files.createDirectories(path);
-		File file = path.resolve("InvalidLicenseExpression.java").toFile();
-		if (!file.createNewFile()) {
-			throw new IOException(String.format("Unable to create %s", file.toString()));
+	private void generateInvalidLicenseExpression() throws IOException {
+		if (!includeInvalidLicenseExpression()) {
+			return;
+		}
+		String path = mainSourceDir() + "/simplelicensing";
+		String file = path + "/InvalidLicenseExpression.java";
+		if (aggregateUpToDate(ShaclToJavaConstants.INVALID_LICENSE_EXPRESSION_TEMPLATE, runFingerprint, file)) {
+			return;
 		}
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		mustacheMap.put("versionSemVer", versionSemVer);
 		writeMustacheFile(ShaclToJavaConstants.INVALID_LICENSE_EXPRESSION_TEMPLATE, file, mustacheMap);
 	}
 
 	/**
-	 * @param dir
 	 * @throws IOException 
 	 */
-	private void generatePackageInfo(File dir) throws IOException {
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File file = path.resolve("package-info.java").toFile();
-		file.createNewFile();
+	private void generatePackageInfo() throws IOException {
+		String path = mainSourceDir();
+		String file = path + "/package-info.java";
+		if (aggregateUpToDate(ShaclToJavaConstants.PACKAGE_INFO_TEMPLATE, runFingerprint, file)) {
+			return;
+		}
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		mustacheMap.put("versionSemVer", versionSemVer);
 		writeMustacheFile(ShaclToJavaConstants.PACKAGE_INFO_TEMPLATE, file, mustacheMap);
 	}
 
 	/**
-	 * @param dir
 	 * @throws IOException 
 	 */
-	private void generateSpdxModelInfo(File dir) throws IOException {
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File file = path.resolve("SpdxModelInfoV3_0.java").toFile();
-		file.createNewFile();
+	private void generateSpdxModelInfo() throws IOException {
+		String path = mainSourceDir();
+		String file = path + "/SpdxModelInfoV3_0.java";
+		if (aggregateUpToDate(ShaclToJavaConstants.MODEL_INFO_TEMPLATE, runFingerprint, file)) {
+			return;
+		}
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		mustacheMap.put("versionSemVer", versionSemVer);
 		writeMustacheFile(ShaclToJavaConstants.MODEL_INFO_TEMPLATE, file, mustacheMap);
 	}
 
 	/**
-	 * @param dir
 	 * @param createBuilderList
 	 * @param classUris
 	 * @throws IOException 
 	 */
-	private void generateModelObject(File dir, List<String> createBuilderList, List<String> classUris) throws IOException {
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File file = path.resolve("ModelObjectV3.java").toFile();
-		file.createNewFile();
+	private void generateModelObject(List<String> createBuilderList, List<String> classUris) throws IOException {
+		String path = mainSourceDir();
+		String file = path + "/ModelObjectV3.java";
+		if (aggregateUpToDate(ShaclToJavaConstants.BASE_MODEL_OBJECT_TEMPLATE, modelFingerprint, file)) {
+			return;
+		}
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("createBuilder", createBuilderList);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		mustacheMap.put("versionSemVer", versionSemVer);
@@ -552,6 +1477,11 @@ public class ShaclToJava {
 		imports.add("import org.spdx.library.model."+versionSuffix+".core.ProfileIdentifierType;");
 		Collections.sort(imports);
 		mustacheMap.put("imports", imports);
+		// the license conversions are only generated if the license classes are in the profiles generated
+		mustacheMap.put("individualLicensingInfo", classInSlice("ExpandedLicensing", "IndividualLicensingInfo"));
+		mustacheMap.put("anyLicenseInfo", classInSlice("SimpleLicensing", "AnyLicenseInfo"));
+		mustacheMap.put("extendableLicense", classInSlice("ExpandedLicensing", "ExtendableLicense"));
+		mustacheMap.put("licenseAddition", classInSlice("ExpandedLicensing", "LicenseAddition"));
 		writeMustacheFile(ShaclToJavaConstants.BASE_MODEL_OBJECT_TEMPLATE, file, mustacheMap);
 	}
 	
@@ -577,17 +1507,16 @@ public class ShaclToJava {
 
 	/**
 	 * Generates the Enum Factory file
-	 * @param dir source directory for the factory file
-	 * @param enumMustacheMaps list of mustache maps for the enum classes
+	 * @param enumModels models of the enum classes
 	 * @throws IOException thrown if any IO errors occurs
 	 */
-	private void generateEnumFactory(File dir,
-			List<Map<String, Object>> enumMustacheMaps) throws IOException {
+	private void generateEnumFactory(List<EnumModel> enumModels) throws IOException {
 		Map<String, Object> mustacheMap = new HashMap<>();
-		mustacheMap.put("enumClasses", enumMustacheMaps);
+		mustacheMap.put("year", year);
+		mustacheMap.put("enumClasses", enumModels);
 		Set<String> pkgs = new HashSet<>();
-		for (Map<String, Object> map:enumMustacheMaps) {
-			pkgs.add((String)map.get("pkgName") + "." + (String)map.get("name"));
+		for (EnumModel enumModel:enumModels) {
+			pkgs.add(enumModel.pkgName + "." + enumModel.name);
 		}
 		List<String> imports = new ArrayList<>();
 		for (String pkg:pkgs) {
@@ -596,25 +1525,24 @@ public class ShaclToJava {
 		Collections.sort(imports);
 		mustacheMap.put("imports", imports);
 		mustacheMap.put("versionSuffix", versionSuffix);
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File enumFactoryFile = path.resolve("SpdxEnumFactory.java").toFile();
-		enumFactoryFile.createNewFile();	
-		writeMustacheFile(ShaclToJavaConstants.ENUM_FACTORY_TEMPLATE, enumFactoryFile, mustacheMap);
+		String path = mainSourceDir();
+		String enumFactoryFile = path + "/SpdxEnumFactory.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.ENUM_FACTORY_TEMPLATE, modelFingerprint, enumFactoryFile)) {
+			writeMustacheFile(ShaclToJavaConstants.ENUM_FACTORY_TEMPLATE, enumFactoryFile, mustacheMap);
+		}
 	}
 	
 	/**
 	 * Generates the SPDX Individual factory file
-	 * @param dir source directory for the factory file
 	 * @throws IOException thrown if any IO errors occurs
 	 */
-	private void generateIndividualFactory(File dir) throws IOException {
+	private void generateIndividualFactory() throws IOException {
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		List<Map<String, String>> individualMustacheMaps = new ArrayList<>();
 		List<String> imports = new ArrayList<>();
-		for (List<String> individuals:this.classUriToIndividualUris.values()) {
+		for (List<String> individuals:individualUrisInSlice().values()) {
 			for (String individualUri:individuals) {
 				String className = uriToClassName.get(individualUri);
 				String pkg = uriToPkg(individualUri);
@@ -631,21 +1559,19 @@ public class ShaclToJava {
 		Collections.sort(imports);
 		mustacheMap.put("imports", imports);
 		mustacheMap.put("individuals", individualMustacheMaps);
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File individualsFile = path.resolve("SpdxIndividualFactory.java").toFile();
-		individualsFile.createNewFile();	
-		writeMustacheFile(ShaclToJavaConstants.INDIVIDUALS_FACTORY_TEMPLATE, individualsFile, mustacheMap);
+		String path = mainSourceDir();
+		String individualsFile = path + "/SpdxIndividualFactory.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.INDIVIDUALS_FACTORY_TEMPLATE, modelFingerprint, individualsFile)) {
+			writeMustacheFile(ShaclToJavaConstants.INDIVIDUALS_FACTORY_TEMPLATE, individualsFile, mustacheMap);
+		}
 	}
 
 	/**
 	 * Generates the SPDX Constants file
-	 * @param dir source directory for the constants file
 	 * @param classUris list of all class URIs
 	 * @throws IOException thrown if any IO errors occurs
 	 */
-	private void generateSpdxConstants(File dir, List<String> classUris) throws IOException {
+	private void generateSpdxConstants(List<String> classUris) throws IOException {
 		Map<String, Set<String>> namespaceToPropUri = new HashMap<>();
 		for (String propUri:propertyUrisForConstants) {
 			String nameSpaceUri = this.uriToNamespaceUri(propUri);
@@ -657,6 +1583,7 @@ public class ShaclToJava {
 			propUriSet.add(propUri);
 		}
 		Map<String, Object> mustacheMap = new HashMap<>();
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		List<Map<String, Object>> namespaceMustacheList = new ArrayList<>();
 		List<String> namespaceUris = new ArrayList<String>(namespaceToPropUri.keySet());
@@ -705,7 +1632,7 @@ public class ShaclToJava {
 			classConstants.add(constName);
 		}
 		// Add class constants for the individuals
-		for (List<String> individualUris:this.classUriToIndividualUris.values()) {
+		for (List<String> individualUris:individualUrisInSlice().values()) {
 			for (String individualUri:individualUris) {
 				String className = uriToClassName.get(individualUri);
 				String profile = uriToProfile(individualUri);
@@ -718,11 +1645,13 @@ public class ShaclToJava {
 		classConstantDefinitions.add("static final String " + "EXTERNAL_ELEMENT" + " = \"Core.ExternalElement\";");
 		classConstants.add("EXTERNAL_ELEMENT");
 		
-		classConstantDefinitions.add("static final String " + "EXTERNAL_CUSTOM_LICENSE" + " = \"ExpandedLicensing.ExternalCustomLicense\";");
-		classConstants.add("EXTERNAL_CUSTOM_LICENSE");
-		
-		classConstantDefinitions.add("static final String " + "EXTERNAL_CUSTOM_LICENSE_ADDITION" + " = \"ExpandedLicensing.ExternalCustomLicenseAddition\";");
-		classConstants.add("EXTERNAL_CUSTOM_LICENSE_ADDITION");
+		if (profileInSlice("ExpandedLicensing")) {
+			classConstantDefinitions.add("static final String " + "EXTERNAL_CUSTOM_LICENSE" + " = \"ExpandedLicensing.ExternalCustomLicense\";");
+			classConstants.add("EXTERNAL_CUSTOM_LICENSE");
+			
+			classConstantDefinitions.add("static final String " + "EXTERNAL_CUSTOM_LICENSE_ADDITION" + " = \"ExpandedLicensing.ExternalCustomLicenseAddition\";");
+			classConstants.add("EXTERNAL_CUSTOM_LICENSE_ADDITION");
+		}
 		
 		StringBuilder classConstantString = new StringBuilder("static final String[] ALL_SPDX_CLASSES = {");
 		int lineLen = classConstantString.length();
@@ -743,24 +1672,26 @@ public class ShaclToJava {
 		mustacheMap.put("classConstantDefinitions", classConstantDefinitions);
 		mustacheMap.put("allClassConstants", classConstantString.toString());
 		mustacheMap.put("versionSemVer", versionSemVer);
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File constantsFile = path.resolve("SpdxConstantsV3.java").toFile();
-		constantsFile.createNewFile();	
-		writeMustacheFile(ShaclToJavaConstants.SPDX_CONSTANTS_TEMPLATE, constantsFile, mustacheMap);
+		String path = mainSourceDir();
+		String constantsFile = path + "/SpdxConstantsV3.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.SPDX_CONSTANTS_TEMPLATE, modelFingerprint, constantsFile)) {
+			writeMustacheFile(ShaclToJavaConstants.SPDX_CONSTANTS_TEMPLATE, constantsFile, mustacheMap);
+		}
 	}
 	
 	/**
 	 * Generates the SPDX Model Class Factory source file
-	 * @param dir source directory for the constants file
 	 * @param classUris list of all class URIs
 	 * @throws IOException thrown if any IO errors occurs
 	 */
-	private void generateModelClassFactory(File dir, List<String> classUris) throws IOException {		
+	private void generateModelClassFactory(List<String> classUris) throws IOException {		
 		Map<String, Object> mustacheMap = new HashMap<>();	
+		mustacheMap.put("year", year);
 		mustacheMap.put("versionSuffix", versionSuffix);
 		List<Map<String, String>> typeToClasses = new ArrayList<>();
+		// the factory constructs the model objects directly - abstract classes are known here so no reflection is needed
+		List<Map<String, String>> constructible = new ArrayList<>();
+		List<Map<String, String>> abstractTypes = new ArrayList<>();
 		for (String classUri:classUris) {
 			String className = uriToClassName.get(classUri);
 			String profile = uriToProfile(classUri);
@@ -771,10 +1702,15 @@ public class ShaclToJava {
 			typeToClassMap.put("classConstant", classConstant);
 			typeToClassMap.put("classPath", classPath);
 			typeToClasses.add(typeToClassMap);
+			if (isAbstract(classUri)) {
+				abstractTypes.add(typeToClassMap);
+			} else if (!enumClassUris.contains(classUri) && !enumerationTypes.contains(classUri)) {
+				constructible.add(typeToClassMap);
+			}
 		}
 		
 		// Add individual types
-		for (List<String> individualUris:this.classUriToIndividualUris.values()) {
+		for (List<String> individualUris:individualUrisInSlice().values()) {
 			for (String individualUri:individualUris) {
 				String className = uriToClassName.get(individualUri);
 				String profile = uriToProfile(individualUri);
@@ -789,54 +1725,64 @@ public class ShaclToJava {
 		}
 		
 		mustacheMap.put("typeToClass", typeToClasses);
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		Files.createDirectories(path);
-		File modelClassFactoryFile = path.resolve("SpdxModelClassFactoryV3.java").toFile();
-		modelClassFactoryFile.createNewFile();	
-		writeMustacheFile(ShaclToJavaConstants.MODEL_CLASS_FACTORY_TEMPLATE, modelClassFactoryFile, mustacheMap);
+		mustacheMap.put("constructible", constructible);
+		mustacheMap.put("abstractTypes", abstractTypes);
+		mustacheMap.put("anyAbstractTypes", !abstractTypes.isEmpty());
+		mustacheMap.put("invalidLicenseExpression", includeInvalidLicenseExpression());
+		String path = mainSourceDir();
+		String modelClassFactoryFile = path + "/SpdxModelClassFactoryV3.java";
+		if (!aggregateUpToDate(ShaclToJavaConstants.MODEL_CLASS_FACTORY_TEMPLATE, modelFingerprint, modelClassFactoryFile)) {
+			writeMustacheFile(ShaclToJavaConstants.MODEL_CLASS_FACTORY_TEMPLATE, modelClassFactoryFile, mustacheMap);
+		}
 	}
 	
-	private String mustacheToString(String templateName, Map<String, Object> mustacheMap) throws IOException {
-		String templateDirName = ShaclToJavaConstants.TEMPLATE_ROOT_PATH;
-		File templateDirectoryRoot = new File(templateDirName);
-		if (!(templateDirectoryRoot.exists() && templateDirectoryRoot.isDirectory())) {
-			templateDirName = ShaclToJavaConstants.TEMPLATE_CLASS_PATH;
-		}
-		DefaultMustacheFactory builder = new DefaultMustacheFactory(templateDirName);
-		Mustache mustache = builder.compile(templateName);
+	/**
+	 * @param templateName file name of the template
+	 * @param scope map or model the template is rendered from
+	 * @return rendered template
+	 * @throws IOException on errors rendering the template
+	 */
+	private String mustacheToString(String templateName, Object scope) throws IOException {
+		TemplateRenderer renderer = templateRegistry.getRenderer(templateName);
+		if (Objects.nonNull(renderer) && renderer.getScopeClass().isInstance(scope)) {
+			StringBuilder out = RENDER_BUFFER.get();
+			out.setLength(0);
+			Measurement renderTemplateMeasurement = metrics.start("renderTemplate");
+			try {
+				renderer.render(scope, out);
+				return out.toString();
+			} finally {
+				renderTemplateMeasurement.close();
+			}
+		}
+		Mustache mustache = templateRegistry.getTemplate(templateName);
 		StringWriter writer = new StringWriter();
+		Measurement renderTemplateMeasurement = metrics.start("renderTemplate");
 		try {
-			mustache.execute(writer, mustacheMap);
+			mustache.execute(writer, scope);
 			return writer.toString();
 		} finally {
+			renderTemplateMeasurement.close();
 			if (writer != null) {
 				writer.close();
 			}
 		}
 	}
 	
-	private void writeMustacheFile(String templateName, File file, Map<String, Object> mustacheMap) throws IOException {
-		String templateDirName = ShaclToJavaConstants.TEMPLATE_ROOT_PATH;
-		File templateDirectoryRoot = new File(templateDirName);
-		if (!(templateDirectoryRoot.exists() && templateDirectoryRoot.isDirectory())) {
-			templateDirName = ShaclToJavaConstants.TEMPLATE_CLASS_PATH;
-		}
-		DefaultMustacheFactory builder = new DefaultMustacheFactory(templateDirName);
-		Mustache mustache = builder.compile(templateName);
-		FileOutputStream stream = null;
-		OutputStreamWriter writer = null;
+	/**
+	 * @param templateName file name of the template
+	 * @param path logical path of the generated file
+	 * @param scope map or model the template is rendered from
+	 * @throws IOException on errors rendering or writing the file
+	 */
+	private void writeMustacheFile(String templateName, String path, Object scope) throws IOException {
+		byte[] content = mustacheToString(templateName, scope).getBytes(StandardCharsets.UTF_8);
+		// with asynchronous writing the file is only queued here and the writer thread records the write
+		Measurement measurement = metrics.start(sink instanceof AsyncFileSink ? "queueFile" : "writeFile");
 		try {
-			stream = new FileOutputStream(file);
-			writer = new OutputStreamWriter(stream, "UTF-8");
-	        mustache.execute(writer, mustacheMap);
+			sink.write(path, content);
 		} finally {
-			if (writer != null) {
-				writer.close();
-			}
-			if (stream != null) {
-				stream.close();
-			}
+			measurement.close();
 		}
 	}
 
@@ -844,34 +1790,21 @@ public class ShaclToJava {
 	 * Collect type information into the field sets for enum types, anylicenseinfo types, and elements types.  also fills in the enum class URIs
 	 */
 	private void collectTypeInformation() {
-		for (Resource individual:objectIndividuals) {
+		for (String individualUri:ontology.getNamedIndividualUris()) {
 			String individualClassUri = null;
-			StmtIterator propertyIter = individual.listProperties();
-			while (propertyIter.hasNext()) {
-				Statement stmt = propertyIter.next();
-				if (stmt.getPredicate().getURI().equals(TYPE_PRED) && stmt.getObject().isURIResource() &&
-						!stmt.getObject().asResource().getURI().equals(ShaclToJavaConstants.NAMED_INDIVIDUAL)) {
-					individualClassUri = stmt.getObject().asResource().getURI();
-				}
-			}
-			OntClass individualClass = model.getOntClass(individualClassUri);
-			List<OntClass> superClasses = new ArrayList<>();
-			addAllSuperClasses(individualClass, superClasses);
-			boolean elementSubClass = false;
-			for (OntClass superClass : superClasses) {
-				if (superClass.getURI().endsWith("/Element")) {
-					elementSubClass = true;
-					break;
+			for (String typeUri:ontology.getTypes(individualUri)) {
+				if (Objects.nonNull(typeUri) && !typeUri.equals(ShaclToJavaConstants.NAMED_INDIVIDUAL)) {
+					individualClassUri = typeUri;
 				}
 			}
-			if (elementSubClass) {
+			if (isElementSubClass(individualClassUri)) {
 				// TODO: This is a bit of a hack, maybe there is a better way to see if this is not an enum
 				List<String> individualsForRange = classUriToIndividualUris.get(individualClassUri);
 				if (Objects.isNull(individualsForRange)) {
 					individualsForRange = new ArrayList<>();
 					classUriToIndividualUris.put(individualClassUri, individualsForRange);
 				}
-				individualsForRange.add(individual.getURI());
+				individualsForRange.add(individualUri);
 			} else {
 				this.enumClassUris.add(individualClassUri);
 			}
@@ -885,25 +1818,23 @@ public class ShaclToJava {
 //				this.individuals.add(individual);
 //			}
 //		}
-		allClasses.forEach(ontClass -> {
-			List<OntClass> superClasses = new ArrayList<>();
-			addAllSuperClasses(ontClass, superClasses);
-			if (isEnumClass(ontClass)) {
-				enumerationTypes.add(ontClass.getURI());
-			} else if (isStringClass(ontClass, superClasses)) {
-				stringTypes.add(ontClass.getURI());
+		allClassUris.forEach(classUri -> {
+			if (isEnumClass(classUri)) {
+				enumerationTypes.add(classUri);
+			} else if (isStringClass(classUri)) {
+				stringTypes.add(classUri);
 			} else {
-				if (isLicenseAdditionClass(ontClass, superClasses)) {
-					licenseAdditionTypes.add(ontClass.getURI());
+				if (isLicenseAdditionClass(classUri)) {
+					licenseAdditionTypes.add(classUri);
 				}
-				if (isExtendableLicenseClass(ontClass, superClasses)) {
-					extendableLicenseTypes.add(ontClass.getURI());
+				if (isExtendableLicenseClass(classUri)) {
+					extendableLicenseTypes.add(classUri);
 				}
-				if (isAnyLicenseInfoClass(ontClass, superClasses)) {
-					anyLicenseInfoTypes.add(ontClass.getURI());
+				if (isAnyLicenseInfoClass(classUri)) {
+					anyLicenseInfoTypes.add(classUri);
 				}
-				if (isElementClass(ontClass, superClasses)) {
-					elementTypes.add(ontClass.getURI());
+				if (isElementClass(classUri)) {
+					elementTypes.add(classUri);
 				}
 			} 
 		});
@@ -983,49 +1914,78 @@ public class ShaclToJava {
 	}
 	
 	/**
-	 * Add super classes including transitive superclasses to the superClasses list.
-	 * The classes will be in the order of the closest superclass to the ontClass
-	 * @param ontClass class to add superClasses for
-	 * @param superClasses
+	 * Builds the class hierarchy index by reading the direct superclasses of every class and superclass once
 	 */
-	private void addAllSuperClasses(OntClass ontClass,
-			List<OntClass> superClasses) {
-		ontClass.listSuperClasses().forEach(superClass -> {
-			superClasses.add(superClass);
-			addAllSuperClasses(superClass, superClasses);
-		});
+	private void buildClassHierarchy() {
+		Map<String, List<String>> directSuperClasses = ontology.getDirectSuperClasses();
+		for (String classUri:directSuperClasses.keySet()) {
+			if (classUri.endsWith(ShaclToJavaConstants.ELEMENT_TYPE_SUFFIX)) {
+				elementClassUris.add(classUri);
+			}
+		}
+		classHierarchy = new ClassHierarchy(directSuperClasses);
 	}
 
 	/**
-	 * @param ontClass class
-	 * @param superClasses list of all superclasses for the class
-	 * @return true if the class is an Element or a subclass of String
+	 * Builds the index of property shapes defined in the superclasses for every class
 	 */
-	private boolean isStringClass(OntClass ontClass,
-			List<OntClass> superClasses) {
-		if (ShaclToJavaConstants.STRING_TYPE.equals(ontClass.getURI())) {
-			return true;
-		}
-		for (OntClass superClass:superClasses) {
-			if (ShaclToJavaConstants.STRING_TYPE.equals(superClass.getURI())) {
-				return true;
+	private void buildSuperPropertyIndex() {
+		Map<String, Map<String, SuperclassRequired>> shapePropertiesByClass = new HashMap<>();
+		for (String classUri:ontology.getDirectSuperClasses().keySet()) {
+			Map<String, SuperclassRequired> superProperties = new HashMap<>();
+			for (String superClassUri:classHierarchy.getAncestors(classUri)) {
+				Map<String, SuperclassRequired> shapeProperties = shapePropertiesByClass.computeIfAbsent(superClassUri, 
+						this::shapePropertiesRequired);
+				for (Entry<String, SuperclassRequired> entry:shapeProperties.entrySet()) {
+					superProperties.merge(entry.getKey(), entry.getValue(), SuperclassRequired::combine);
+				}
 			}
+			superPropertyIndex.put(classUri, superProperties);
 		}
-		return false;
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return map of the property paths for the properties in the class shape to YES if required, NO if optional
+	 * or BOTH if more than one property shape for the path differ
+	 */
+	private Map<String, SuperclassRequired> shapePropertiesRequired(String classUri) {
+		Map<String, SuperclassRequired> retval = new HashMap<>();
+		Shape classShape = shapeMap.get(NodeFactory.createURI(classUri));
+		if (Objects.isNull(classShape)) {
+			return retval;
+		}
+		for (PropertyShape propertyShape:classShape.getPropertyShapes()) {
+			SuperclassRequired required = getPropertyConstraints(propertyShape).isRequired() ?
+					SuperclassRequired.YES : SuperclassRequired.NO;
+			retval.merge(propertyShape.getPath().toString(), required, SuperclassRequired::combine);
+		}
+		return retval;
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return true if the class is String or a subclass of String
+	 */
+	private boolean isStringClass(String classUri) {
+		return classHierarchy.isSameOrSubclassOf(classUri, ShaclToJavaConstants.STRING_TYPE);
 	}
 	
 	/**
-	 * @param ontClass class
-	 * @param superClasses list of all superclasses for the class
+	 * @param classUri class URI
 	 * @return true if the class is an Element or a subclass of Element
 	 */
-	private boolean isElementClass(OntClass ontClass,
-			List<OntClass> superClasses) {
-		if (ontClass.getURI().endsWith(ShaclToJavaConstants.ELEMENT_TYPE_SUFFIX)) {
-			return true;
-		}
-		for (OntClass superClass:superClasses) {
-			if (superClass.getURI().endsWith(ShaclToJavaConstants.ELEMENT_TYPE_SUFFIX)) {
+	private boolean isElementClass(String classUri) {
+		return elementClassUris.contains(classUri) || isElementSubClass(classUri);
+	}
+
+	/**
+	 * @param classUri class URI
+	 * @return true if the class is a subclass of Element
+	 */
+	private boolean isElementSubClass(String classUri) {
+		for (String elementClassUri:elementClassUris) {
+			if (classHierarchy.isSubclassOf(classUri, elementClassUri)) {
 				return true;
 			}
 		}
@@ -1033,63 +1993,46 @@ public class ShaclToJava {
 	}
 
 	/**
-	 * @param ontClass class
-	 * @param superClasses list of all superclasses for the class
-	 * @return true if the class is an AnyLicenseInfo or a subclass of AnyLicenseInfo
+	 * @param classUri class URI
+	 * @return true if the class is an AnyLicenseInfo
 	 */
-	private boolean isAnyLicenseInfoClass(OntClass ontClass,
-			List<OntClass> superClasses) {
-		if (ontClass.getURI().endsWith(ShaclToJavaConstants.ELEMENT_TYPE_ANY_LICENSE_INFO_SUFFIX)) {
-			return true;
-		}
+	private boolean isAnyLicenseInfoClass(String classUri) {
 		// We don't include superclasses for AnyLicenseInfo types
-		return false;
+		return classUri.endsWith(ShaclToJavaConstants.ELEMENT_TYPE_ANY_LICENSE_INFO_SUFFIX);
 	}
 	
 	/**
-	 * @param ontClass class
-	 * @param superClasses list of all superclasses for the class
-	 * @return true if the class is an AnyLicenseInfo or a subclass of AnyLicenseInfo
+	 * @param classUri class URI
+	 * @return true if the class is an ExtendableLicense
 	 */
-	private boolean isExtendableLicenseClass(OntClass ontClass,
-			List<OntClass> superClasses) {
-		if (ontClass.getURI().endsWith(ShaclToJavaConstants.ELEMENT_TYPE_EXTENDABLE_LICENSE_SUFFIX)) {
-			return true;
-		}
-		// We don't include superclasses for AnyLicenseInfo types
-		return false;
+	private boolean isExtendableLicenseClass(String classUri) {
+		// We don't include superclasses for ExtendableLicense types
+		return classUri.endsWith(ShaclToJavaConstants.ELEMENT_TYPE_EXTENDABLE_LICENSE_SUFFIX);
 	}
 	
 	/**
-	 * @param ontClass class
-	 * @param superClasses list of all superclasses for the class
-	 * @return true if the class is an AnyLicenseInfo or a subclass of AnyLicenseInfo
+	 * @param classUri class URI
+	 * @return true if the class is a LicenseAddition
 	 */
-	private boolean isLicenseAdditionClass(OntClass ontClass,
-			List<OntClass> superClasses) {
-		if (ontClass.getURI().endsWith(ShaclToJavaConstants.ELEMENT_TYPE_LICENSE_ADDITION_SUFFIX)) {
-			return true;
-		}
-		// We don't include superclasses for AnyLicenseInfo types
-		return false;
+	private boolean isLicenseAdditionClass(String classUri) {
+		// We don't include superclasses for LicenseAddition types
+		return classUri.endsWith(ShaclToJavaConstants.ELEMENT_TYPE_LICENSE_ADDITION_SUFFIX);
 	}
 
 	/**
-	 * @param ontClass class
+	 * @param classUri class URI
 	 * @return true if the class is an enumeration
 	 */
-	private boolean isEnumClass(OntClass ontClass) {
-		if (ontClass.isEnumeratedClass()) {
+	private boolean isEnumClass(String classUri) {
+		if (ontology.isEnumeratedClass(classUri)) {
 			return true;
 		}
 		//TODO: Switch to enums to remove this hack
-		@SuppressWarnings("unused")
-		List<OntProperty> properties = ontClass.listDeclaredProperties().toList();
-		return this.enumClassUris.contains(ontClass.getURI());
+		return this.enumClassUris.contains(classUri);
 	}
 	
 	/**
-	 * Fills in the maps needed for generating the test values generator, java class, and unit test files
+	 * Builds the model of the class used for generating the test values generator, java class, and unit test files
 	 * @param classUri URI for the class
 	 * @param name local name for the class
 	 * @param propertyShapes properties for the class
@@ -1098,106 +2041,58 @@ public class ShaclToJava {
 	 * @param superClassUri URI of the superclass (if any)
 	 * @param superClasses all superclasses for the class
 	 * @param abstractClass if true, the class is abstract
-	 * @param javaClassMaps Map of OntClass to the mustache map for generating the java classes
-	 * @param unitTestMaps Map of the OntClass to the mustachMap for generating the unit test classes
+	 * @param result results for the class - updated with the class model and properties in use
 	 * @return Code to create the Java object to be appended to the model object source file
 	 * @throws IOException 
 	 * @throws ShaclToJavaException 
 	 */
-	private String fillMustachMapsForClass(String classUri, String name,
+	String buildClassModel(String classUri, String name,
 			List<PropertyShape> propertyShapes, Shape classShape, String comment, 
-			@Nullable String superClassUri, List<OntClass> superClasses,
-			boolean abstractClass, Map<String, Map<String, Object>> javaClassMaps,
-			Map<String, Map<String, Object>> unitTestMaps,
-			Map<PropertyType, Map<String, Map<String, Object>>> allPropertiesInUse) throws IOException, ShaclToJavaException {
+			@Nullable String superClassUri, List<String> superClasses,
+			boolean abstractClass, ClassGenerationResult result) throws IOException, ShaclToJavaException {
 		String pkgName = uriToPkg(classUri);
 		
 		Set<String> requiredImports = new HashSet<>();
-		Map<String, Object> javaClassMap = new HashMap<>();
-		
-		javaClassMap.put("abstract", abstractClass);
-		javaClassMap.put("className", name);
-		javaClassMap.put("classProfile", uriToProfile(classUri));
-		Map<PropertyType, List<Map<String, Object>>> propertyMap = findProperties(propertyShapes, classShape, 
+		Map<PropertyType, List<PropertyModel>> propertyMap = findProperties(propertyShapes, classShape, 
 				requiredImports, propertyUrisForConstants, classUri, superClasses);
-		for (Entry<PropertyType, List<Map<String, Object>>> entry:propertyMap.entrySet()) {
-			for (Map<String, Object> propMap:entry.getValue()) {
-				Map<String, Map<String, Object>> allPropertiesForType = allPropertiesInUse.get(entry.getKey());
+		for (Entry<PropertyType, List<PropertyModel>> entry:propertyMap.entrySet()) {
+			for (PropertyModel propertyModel:entry.getValue()) {
+				Map<String, PropertyModel> allPropertiesForType = result.propertiesInUse.get(entry.getKey());
 				if (Objects.isNull(allPropertiesForType)) {
 					allPropertiesForType = new HashMap<>();
-					allPropertiesInUse.put(entry.getKey(), allPropertiesForType);
+					result.propertiesInUse.put(entry.getKey(), allPropertiesForType);
 				}
-				String propertyUri = (String)propMap.get("uri");
-				if (!allPropertiesForType.containsKey(propertyUri)) {
-					allPropertiesForType.put(propertyUri, propMap);
+				if (!allPropertiesForType.containsKey(propertyModel.uri)) {
+					allPropertiesForType.put(propertyModel.uri, propertyModel);
 				}
 			}
 		}
 		int numProperties = 0;
-		for (List<Map<String, Object>> props:propertyMap.values()) {
+		for (List<PropertyModel> props:propertyMap.values()) {
 			numProperties += props.size();
 		}
 		if (numProperties > 0) {
 			requiredImports.add("import org.spdx.library.model."+versionSuffix+".SpdxConstantsV3;");
 			requiredImports.add("import java.util.Optional;");
 		}
-		javaClassMap.put("elementProperties", propertyMap.get(PropertyType.ELEMENT));
-		javaClassMap.put("objectProperties", propertyMap.get(PropertyType.OBJECT));
-		javaClassMap.put("anyLicenseInfoProperties", propertyMap.get(PropertyType.ANY_LICENSE_INFO));
-		javaClassMap.put("licenseAdditionProperties", propertyMap.get(PropertyType.LICENSE_ADDITION));
-		javaClassMap.put("extendableLicenseProperties", propertyMap.get(PropertyType.EXTENDABLE_LICENSE));
-		javaClassMap.put("enumerationProperties", propertyMap.get(PropertyType.ENUM));
-		javaClassMap.put("booleanProperties", propertyMap.get(PropertyType.BOOLEAN));
-		javaClassMap.put("integerProperties", propertyMap.get(PropertyType.INTEGER));
-		javaClassMap.put("doubleProperties", propertyMap.get(PropertyType.DOUBLE));
-		javaClassMap.put("stringProperties", propertyMap.get(PropertyType.STRING));
-		javaClassMap.put("objectPropertyValueCollection", propertyMap.get(PropertyType.OBJECT_COLLECTION));
-		javaClassMap.put("stringCollection", propertyMap.get(PropertyType.STRING_COLLECTION));
-		javaClassMap.put("objectPropertyValueSet", propertyMap.get(PropertyType.OBJECT_SET));
-		javaClassMap.put("enumPropertyValueCollection", propertyMap.get(PropertyType.ENUM_COLLECTION));
-		javaClassMap.put("suppressUnchecked", !(propertyMap.get(PropertyType.OBJECT_COLLECTION).isEmpty() &&
-				propertyMap.get(PropertyType.OBJECT_SET).isEmpty() &&
-				propertyMap.get(PropertyType.STRING_COLLECTION).isEmpty()));
-		javaClassMap.put("year", YEAR);
-		javaClassMap.put("pkgName", pkgName);
-		javaClassMap.put("classComments", toClassComment(comment));
 		String superClass = getSuperClass(superClassUri, requiredImports, classUri);
-		javaClassMap.put("superClass", superClass);
-		javaClassMap.put("verifySuperclass", !superClass.equals("ModelObjectV3"));
 		if (!this.uriToNamespaceUri(classUri).endsWith("Core")) {
 			requiredImports.add("import org.spdx.library.model."+versionSuffix+".core.ProfileIdentifierType;");
 		}
 		boolean hasCreationInfo = false;
-		for (Map<String, Object> property:propertyMap.get(PropertyType.OBJECT)) {
-			if (property.get("propertyName").equals("creationInfo")) {
+		for (PropertyModel property:propertyMap.get(PropertyType.OBJECT)) {
+			if (property.propertyName.equals("creationInfo")) {
 				hasCreationInfo = true;
 				break;
 			}
 		}
-		javaClassMap.put("hasCreationInfo", hasCreationInfo);
 		if (hasCreationInfo && !"Element".equals(name)) {
 			requiredImports.add("import org.spdx.library.model."+versionSuffix+".core.Element;");
 			requiredImports.add("import org.spdx.library.model."+versionSuffix+".core.CreationInfo;");
 		}
 		String equalsHashOverride = getEqualsHashOverride(classUri, superClasses, requiredImports);
 		List<String> imports = buildImports(new ArrayList<String>(requiredImports));
-		javaClassMap.put("imports", imports.toArray(new String[imports.size()]));
-		//TODO: Implement
-		javaClassMap.put("compareUsingProperties", false); // use properties to implement compareTo
-		javaClassMap.put("compareProperties", new ArrayList<Map<String, Object>>()); // List of property mustache maps to use in compare
-		String toStringString = generateToString(classUri, superClasses, propertyMap, requiredImports);
-		if (Objects.nonNull(toStringString)) {
-			javaClassMap.put("toString", toStringString); // use properties to implement toString
-		}
-		if (Objects.nonNull(equalsHashOverride)) {
-			javaClassMap.put("equalsHashOverride", equalsHashOverride);
-		}
-		javaClassMaps.put(classUri, javaClassMap);
-		// make a copy of the java class map
-		Map<String, Object> unitTestMap = new HashMap<>();
-		for (Entry<String, Object> entry:javaClassMap.entrySet()) {
-			unitTestMap.put(entry.getKey(), entry.getValue());
-		}
+		String toStringString = generateToString(classUri, superClasses, requiredImports);
 		requiredImports.add(String.format("import %s.%s.%sBuilder;", pkgName, name, name));
 		requiredImports.add("import junit.framework.TestCase;");
 		requiredImports.add("import org.spdx.library.model."+versionSuffix+".MockCopyManager;");
@@ -1208,59 +2103,55 @@ public class ShaclToJava {
 		requiredImports.add("import org.spdx.core.ModelRegistry;");
 		requiredImports.add("import org.spdx.library.model."+versionSuffix+".SpdxModelInfoV3_0;");
 		requiredImports.add("import org.spdx.library.model."+versionSuffix+".TestValuesGenerator;");
-		imports = buildImports(new ArrayList<String>(requiredImports));
-		unitTestMap.put("imports", imports.toArray(new String[imports.size()]));
-		unitTestMaps.put(classUri, unitTestMap);
-		return mustacheToString(ShaclToJavaConstants.CREATE_CLASS_TEMPLATE, javaClassMap);
+		List<String> testImports = buildImports(new ArrayList<String>(requiredImports));
+		result.classModel = new ClassModel(classUri, name, uriToProfile(classUri), pkgName, toClassComment(comment),
+				superClass, year, propertyMap, imports, testImports, abstractClass, hasCreationInfo, 
+				toStringString, equalsHashOverride);
+		return mustacheToString(ShaclToJavaConstants.CREATE_CLASS_TEMPLATE, result.classModel);
 	}
 	
 	/**
-	 * @param dir top level directory for code
 	 * @param classUri URI for the class
-	 * @param mustacheMap mustache map for template
+	 * @param classModel model of the class
 	 * @throws IOException 
 	 */
-	private void generateUnitTest(File dir, String classUri,
-			Map<String, Object> mustacheMap) throws IOException {
-		File unitTestFile = createUnitTestFile(classUri, dir);
-		writeMustacheFile(ShaclToJavaConstants.UNIT_TEST_TEMPLATE, unitTestFile, mustacheMap);
+	private void generateUnitTest(String classUri,
+			ClassModel classModel) throws IOException {
+		String unitTestFile = unitTestPath(classUri);
+		writeMustacheFile(ShaclToJavaConstants.UNIT_TEST_TEMPLATE, unitTestFile, classModel);
 	}
 
 	/**
-	 * @param dir top level directory for code
 	 * @param classUri URI for the class
-	 * @param mustacheMap mustache map for template
+	 * @param classModel model of the class
 	 * @throws IOException 
 	 */
-	private void generateJavaClass(File dir, String classUri,
-			Map<String, Object> mustacheMap) throws IOException {
-		File sourceFile = createJavaSourceFile(classUri, dir);
-		writeMustacheFile(ShaclToJavaConstants.JAVA_CLASS_TEMPLATE, sourceFile, mustacheMap);
+	private void generateJavaClass(String classUri,
+			ClassModel classModel) throws IOException {
+		String sourceFile = javaSourcePath(classUri);
+		writeMustacheFile(ShaclToJavaConstants.JAVA_CLASS_TEMPLATE, sourceFile, classModel);
 	}
 	
 	/**
-	 * @param dir top level directory for code
 	 * @param classUri URI for the class the external class is based on
-	 * @param mustacheMap mustache map for template
+	 * @param classModel model of the class
 	 * @throws IOException 
 	 */
-	private void generateExternalJavaClass(File dir, String classUri,
-			Map<String, Object> mustacheMap) throws IOException {
-		File sourceFile = createExternalJavaSourceFile(classUri, dir);
-		writeMustacheFile(ShaclToJavaConstants.EXTERNAL_JAVA_CLASS_TEMPLATE, sourceFile, mustacheMap);
+	private void generateExternalJavaClass(String classUri,
+			ClassModel classModel) throws IOException {
+		String sourceFile = externalJavaSourcePath(classUri);
+		writeMustacheFile(ShaclToJavaConstants.EXTERNAL_JAVA_CLASS_TEMPLATE, sourceFile, classModel);
 	}
 	
 	/**
 	 * @param classUri
 	 * @param superClasses
-	 * @param propertyMap
 	 * @param requiredImports
 	 * @return toString override method
 	 * @throws IOException 
 	 */
-	private String generateToString(String classUri,
-			List<OntClass> superClasses,
-			Map<PropertyType, List<Map<String, Object>>> propertyMap,
+	private @Nullable String generateToString(String classUri,
+			List<String> superClasses,
 			Set<String> requiredImports) throws IOException {
 		if (classUri.endsWith("ExpandedLicensing/WithAdditionOperator")) {
 			Map<String, Object> mustacheMap = new HashMap<>();
@@ -1306,8 +2197,8 @@ public class ShaclToJava {
 			return mustacheToString(ShaclToJavaConstants.ELEMENT_TO_STRING_TEMPLATE, mustacheMap);
 		}
 		boolean elementSubclass = false;
-		for (OntClass superClass:superClasses) {
-			if (superClass.getURI().endsWith("Core/Element")) {
+		for (String superClassUri:superClasses) {
+			if (superClassUri.endsWith("Core/Element")) {
 				elementSubclass = true;
 				break;
 			}
@@ -1326,7 +2217,7 @@ public class ShaclToJava {
 	 * null if it should not be override
 	 * @throws IOException 
 	 */
-	private @Nullable String getEqualsHashOverride(String classUri, List<OntClass> superClasses, Set<String> requiredImports) throws IOException {
+	private @Nullable String getEqualsHashOverride(String classUri, List<String> superClasses, Set<String> requiredImports) throws IOException {
 		// License classes need to override equals so that the license sets work properly
 		// NOTE: This needs to be checked first since licenses are subclasses of elements
 		if (classUri.endsWith("ExpandedLicensing/ConjunctiveLicenseSet")) {
@@ -1374,7 +2265,6 @@ public class ShaclToJava {
 	}
 
 	/**
-	 * @param dir Directory to store the source files in
 	 * @param individualUri URI for the individual
 	 * @param name local name for the individual
 	 * @param propertyShapes properties for the individual inherited from superclasses
@@ -1385,79 +2275,51 @@ public class ShaclToJava {
 	 * @throws IOException 
 	 * @throws ShaclToJavaException 
 	 */
-	private void generateIndividualClass(File dir, String individualUri, String name,
+	private void generateIndividualClass(String individualUri, String name,
 			List<PropertyShape> propertyShapes, String comment, 
-			String superClassUri, Shape superClassShape, List<OntClass> superClasses) throws IOException, ShaclToJavaException {
+			String superClassUri, Shape superClassShape, List<String> superClasses) throws IOException, ShaclToJavaException {
 		String pkgName = uriToPkg(individualUri);
-		File sourceFile = createJavaSourceFile(individualUri, dir);
+		String sourceFile = javaSourcePath(individualUri);
 		Set<String> requiredImports = new HashSet<>();
-		Map<String, Object> mustacheMap = new HashMap<>();
-		mustacheMap.put("individualUri", individualUri);
-		mustacheMap.put("className", name);
-		mustacheMap.put("classProfile", uriToProfile(individualUri));
-		Map<PropertyType, List<Map<String, Object>>> propertyMap = findProperties(propertyShapes, superClassShape, 
+		Map<PropertyType, List<PropertyModel>> propertyMap = findProperties(propertyShapes, superClassShape, 
 				requiredImports, propertyUrisForConstants, superClassUri, superClasses);
 		int numProperties = 0;
-		for (List<Map<String, Object>> props:propertyMap.values()) {
+		for (List<PropertyModel> props:propertyMap.values()) {
 			numProperties += props.size();
 		}
 		if (numProperties > 0) {
 			requiredImports.add("import org.spdx.library.model."+versionSuffix+".SpdxConstantsV3;");
 			requiredImports.add("import java.util.Optional;");
 		}
-		mustacheMap.put("elementProperties", propertyMap.get(PropertyType.ELEMENT));
-		mustacheMap.put("objectProperties", propertyMap.get(PropertyType.OBJECT));
-		mustacheMap.put("anyLicenseInfoProperties", propertyMap.get(PropertyType.ANY_LICENSE_INFO));
-		mustacheMap.put("licenseAdditionProperties", propertyMap.get(PropertyType.LICENSE_ADDITION));
-		mustacheMap.put("extendableLicenseProperties", propertyMap.get(PropertyType.EXTENDABLE_LICENSE));
-		mustacheMap.put("enumerationProperties", propertyMap.get(PropertyType.ENUM));
-		mustacheMap.put("booleanProperties", propertyMap.get(PropertyType.BOOLEAN));
-		mustacheMap.put("integerProperties", propertyMap.get(PropertyType.INTEGER));
-		mustacheMap.put("doubleProperties", propertyMap.get(PropertyType.DOUBLE));
-		mustacheMap.put("stringProperties", propertyMap.get(PropertyType.STRING));
-		mustacheMap.put("objectPropertyValueCollection", propertyMap.get(PropertyType.OBJECT_COLLECTION));
-		mustacheMap.put("stringCollection", propertyMap.get(PropertyType.STRING_COLLECTION));
-		mustacheMap.put("objectPropertyValueSet", propertyMap.get(PropertyType.OBJECT_SET));
-		mustacheMap.put("enumPropertyValueCollection", propertyMap.get(PropertyType.ENUM_COLLECTION));
-		mustacheMap.put("suppressUnchecked", !(propertyMap.get(PropertyType.OBJECT_COLLECTION).isEmpty() &&
-				propertyMap.get(PropertyType.OBJECT_SET).isEmpty() &&
-				propertyMap.get(PropertyType.STRING_COLLECTION).isEmpty()));
-		mustacheMap.put("year", YEAR);
-		mustacheMap.put("pkgName", pkgName);
-		
-		mustacheMap.put("classComments", toClassComment(comment));
 		String superClass = getSuperClass(superClassUri, requiredImports, individualUri);
-		mustacheMap.put("superClass", superClass);
 		requiredImports.add("import org.spdx.storage.NullModelStore;");
 		List<String> imports = buildImports(new ArrayList<String>(requiredImports));
-		mustacheMap.put("imports", imports.toArray(new String[imports.size()]));
-		mustacheMap.put("toStringName", name.startsWith("NoAssertion") ? "NOASSERTION" :
-			name.startsWith("None") ? "NONE" : name);
-		writeMustacheFile(ShaclToJavaConstants.INDIVIDUAL_CLASS_TEMPLATE, sourceFile, mustacheMap);
+		String toStringName = name.startsWith("NoAssertion") ? "NOASSERTION" :
+			name.startsWith("None") ? "NONE" : name;
+		IndividualModel individualModel = new IndividualModel(individualUri, name, uriToProfile(individualUri),
+				pkgName, toClassComment(comment), superClass, year, propertyMap, imports, toStringName);
+		writeMustacheFile(ShaclToJavaConstants.INDIVIDUAL_CLASS_TEMPLATE, sourceFile, individualModel);
 	}
 	
 
 	/**
-	 * @param ontClass shape of class
+	 * @param classUri class URI
 	 * @return true if the classShape represents an abstract class
 	 */
-	private boolean isAbstract(OntClass ontClass) {
-		if (Objects.isNull(ontClass)) {
+	private boolean isAbstract(String classUri) {
+		if (Objects.isNull(classUri)) {
 			return false;
 		}
-		Shape classShape = shapeMap.get(ontClass.asNode());
+		Shape classShape = shapeMap.get(NodeFactory.createURI(classUri));
 		if (Objects.nonNull(classShape)) {
 			for (PropertyShape propertyShape : classShape.getPropertyShapes()) {
 				String propertyUri = propertyShape.getPath().toString().replaceAll("<", "").replaceAll(">", "");
 				if (TYPE_PRED.equals(propertyUri)) {
-					for (Constraint constraint : propertyShape.getConstraints()) {
-						ConstraintCollector collector = new ConstraintCollector();
-						constraint.visit(collector);
-						ShNot notConstraint = collector.getNotConstraint();
-						if (Objects.nonNull(notConstraint) && Objects.nonNull(notConstraint.getOther())) {
+					for (ShNot notConstraint : getPropertyConstraints(propertyShape).getNotConstraints()) {
+						if (Objects.nonNull(notConstraint.getOther())) {
 							for (Constraint otherConstraint : notConstraint.getOther().getConstraints()) {
 								if (Objects.nonNull(otherConstraint) && otherConstraint instanceof HasValueConstraint &&
-										ontClass.getURI().equals(((HasValueConstraint) otherConstraint).getValue().getURI())) {
+										classUri.equals(((HasValueConstraint) otherConstraint).getValue().getURI())) {
 									return true;
 								}
 							}
@@ -1476,96 +2338,63 @@ public class ShaclToJava {
 	 * @param propertyUrisForConstants set of URI's for any properties - updated with any additional values
 	 * @param classUri URI for the class containing the properties
 	 * @param superClasses all superclasses for the class
-	 * @return map of mustache strings to properties for any properties returning a type of Element
+	 * @return models of the properties for each property type in shape order
 	 * @throws ShaclToJavaException
 	 */
-	private Map<PropertyType, List<Map<String, Object>>> findProperties(List<PropertyShape> propertyShapes, Shape classShape,
-			Set<String> requiredImports, Set<String> propertyUrisForConstants, String classUri, List<OntClass> superClasses) throws ShaclToJavaException {
-		Map<PropertyType, List<Map<String, Object>>> retval = new HashMap<>();
+	private Map<PropertyType, List<PropertyModel>> findProperties(List<PropertyShape> propertyShapes, Shape classShape,
+			Set<String> requiredImports, Set<String> propertyUrisForConstants, String classUri, List<String> superClasses) throws ShaclToJavaException {
+		Map<PropertyType, List<PropertyModel>> retval = new EnumMap<>(PropertyType.class);
 		for (PropertyType value:PropertyType.values()) {
-			retval.put(value, new ArrayList<Map<String, Object>>());
+			retval.put(value, new ArrayList<PropertyModel>());
 		}
 		for (PropertyShape propertyShape:propertyShapes) {
 			if (!Objects.isNull(propertyShape) && propertyShape.getPath().toString().contains("/terms")) {
-				Map<String, Object> mustacheMap = propertyToMustachMap(propertyShape, requiredImports, 
+				PropertyModel propertyModel = propertyToModel(propertyShape, requiredImports, 
 						propertyUrisForConstants, classUri, superClasses);
-				retval.get(mustacheMap.get("propertyType")).add(mustacheMap);
+				retval.get(propertyModel.propertyType).add(propertyModel);
 			}
 		}
 		return retval;
 	}
 
 	/**
-	 * Maps a property to mustache map adding any required import strings and adding any required constant strings
+	 * Builds the model of a property adding any required import strings and adding any required constant strings
 	 * @param requiredImports set of required imports for this class - updated with any additional imports
 	 * @param propertyUrisForConstants set of URI's for any properties - updated with any additional values
 	 * @param classUri URI of the class using the property
 	 * @param superClasses all superclasses for the class
-	 * @return map of Mustache strings to values for a give ontology property
+	 * @return model of the ontology property
 	 * @throws ShaclToJavaException 
 	 */
-	private Map<String, Object> propertyToMustachMap(PropertyShape propertyShape,
-			Set<String> requiredImports, Set<String> propertyUrisForConstants, String classUri, List<OntClass> superClasses) throws ShaclToJavaException {
-		Map<String, Object> retval = new HashMap<>();
+	PropertyModel propertyToModel(PropertyShape propertyShape,
+			Set<String> requiredImports, Set<String> propertyUrisForConstants, String classUri, List<String> superClasses) throws ShaclToJavaException {
+		PropertyModel.Builder retval = new PropertyModel.Builder();
 		String nameSpace = uriToNamespaceUri(classUri);
 		String propertyUri = propertyShape.getPath().toString().replaceAll("<", "").replaceAll(">", "");
 		
 		String name = uriToPropertyName.get(propertyUri);
 		if (Objects.isNull(name)) {
-			// This is a special case if a property is not defined in SHACL as either
-			// an ObjectProperty or an DataProperty - e.g. core:extension
+			// Properties not defined in SHACL as either an ObjectProperty or an DataProperty are
+			// added to uriToPropertyName before generating the classes - e.g. core:extension
 			name = uriToName(propertyUri);
-			uriToPropertyName.put(propertyUri, name);
 		}
-		retval.put("propertyName", name);
-		retval.put("propertyNameUpper", camelCaseToConstCase(name));
+		retval.propertyName = name;
+		retval.propertyNameUpper = camelCaseToConstCase(name);
 		String getSetName = name.substring(0, 1).toUpperCase() + name.substring(1);
-		retval.put("getter", "get" + getSetName);
-		retval.put("setter", "set" + getSetName);
-		retval.put("adder", "add" + getSetName);
-		retval.put("addAller", "addAll" + getSetName);
-		retval.put("isCreationInfo", "creationInfo".equals(name));
-		
-		Integer minCardinality = null;
-		Integer maxCardinality = null;
-		Integer minStringLength = null;
-		Integer maxStringLength = null;
-		String pattern = null;
-		Node classRestriction = null;
-		Node dataTypeRestriction = null;
+		retval.getter = "get" + getSetName;
+		retval.setter = "set" + getSetName;
+		retval.adder = "add" + getSetName;
+		retval.addAller = "addAll" + getSetName;
+		retval.isCreationInfo = "creationInfo".equals(name);
 		
-		for (Constraint constraint:propertyShape.getConstraints()) {
-			ConstraintCollector collector = new ConstraintCollector();
-			constraint.visit(collector);
-			if (collector.getMinCardinality() != null) {
-				if (minCardinality == null || minCardinality > collector.getMinCardinality()) {
-					minCardinality = collector.getMinCardinality();
-				}
-			}
-			if (collector.getMaxCardinality() != null) {
-				if (maxCardinality == null || maxCardinality > collector.getMaxCardinality()) {
-					maxCardinality = collector.getMaxCardinality();
-				}
-			}
-			if (collector.getPattern() != null) {
-				pattern = collector.getPattern();
-			}
-			if (collector.getStrMinLengh() != null) {
-				if (minStringLength == null || minStringLength > collector.getStrMaxLenght()) {
-					minStringLength = collector.getStrMinLengh();
-				}
-			}
-			if (collector.getStrMaxLenght() != null) {
-				if (maxStringLength == null || maxStringLength < collector.getStrMaxLenght()) {
-					maxStringLength = collector.getStrMaxLenght();
-				}
-			}
-			if (collector.getDataType() != null) {
-				dataTypeRestriction = collector.getDataType();
-			} else if (collector.getExpectedClass() != null) {
-				classRestriction = collector.getExpectedClass();
-			}
-		}
+		PropertyConstraints constraints = getPropertyConstraints(propertyShape);
+		Integer minCardinality = constraints.getMinCardinality();
+		Integer maxCardinality = constraints.getMaxCardinality();
+		Integer minStringLength = constraints.getStrMinLength();
+		Integer maxStringLength = constraints.getStrMaxLength();
+		String pattern = constraints.getPattern();
+		Node classRestriction = constraints.getExpectedClass();
+		Node dataTypeRestriction = constraints.getDataType();
 		String propertySuffix = propertyUri.substring(propertyUri.lastIndexOf("/terms/"));
 		PropertyType propertyType = ShaclToJavaConstants.SET_PROPERTY_SUFFIXES.contains(propertySuffix) ? PropertyType.OBJECT_SET : determinePropertyType(classRestriction, dataTypeRestriction, 
 				minCardinality, maxCardinality);
@@ -1575,7 +2404,7 @@ public class ShaclToJava {
 			requiredImports.add("import java.util.Collections;");
 			requiredImports.add("import java.util.Objects;");
 		}
- 		retval.put("propertyType", propertyType);
+ 		retval.propertyType = propertyType;
 		String typeUri = getTypeUri(classRestriction, dataTypeRestriction);
 		String type;
 		if (ShaclToJavaConstants.BOOLEAN_TYPE.equals(typeUri)) {
@@ -1600,127 +2429,82 @@ public class ShaclToJava {
 				requiredImports.add("import "+uriToPkg(typeUri) + "." + uriToClassName.get(typeUri) +";");
 			}
 		}
-		retval.put("typeUri", typeUri);
-		retval.put("type", type);
+		retval.typeUri = typeUri;
+		retval.type = type;
 		boolean required = minCardinality != null && minCardinality > 0;
 		if (required) {
 			requiredImports.add("import java.util.Collections;");
 			requiredImports.add("import java.util.Arrays;");
 			requiredImports.add("import java.util.Objects;");
 		}
-		retval.put("required", required);
+		retval.required = required;
 		
 		String profileIdentifierType = namespaceToProfileIdentifierType(nameSpace);
-		retval.put("requiredProfiles",  profileIdentifierType);
+		retval.requiredProfiles = profileIdentifierType;
 		String classNamespace = uriToNamespaceUri(classUri);
-		boolean inSuperClass = inSuperClass(superClasses, propertyShape);
-		retval.put("superSetter", inSuperClass);
-		SuperclassRequired superRequired = inSuperClass ? determineSuperRequired(superClasses, propertyShape) :
+		boolean inSuperClass = inSuperClass(classUri, propertyShape);
+		retval.superSetter = inSuperClass;
+		SuperclassRequired superRequired = inSuperClass ? determineSuperRequired(classUri, propertyShape) :
 			SuperclassRequired.NONE;
 		boolean nonOptional = required && nameSpace.equals(classNamespace) && 
 				(SuperclassRequired.YES.equals(superRequired) || SuperclassRequired.NONE.equals(superRequired)); // we can't override an optional
-		retval.put("nonOptional", nonOptional);
+		retval.nonOptional = nonOptional;
 		boolean hasConstraint = required;
 		if (Objects.nonNull(pattern)) {
-			retval.put("pattern", pattern);
+			retval.pattern = pattern;
 			hasConstraint = true;
 		}
 		if (Objects.nonNull(minStringLength)) {
-			retval.put("min", minStringLength.toString());
+			retval.min = minStringLength.toString();
 			hasConstraint = true;
 		} else if (ShaclToJavaConstants.XSD_NON_NEGATIVE_INTEGER.equals(typeUri)) {
-			retval.put("min", "0");
+			retval.min = "0";
 			hasConstraint = true;
 		} else if (ShaclToJavaConstants.XSD_POSITIVE_INTEGER.equals(typeUri)) {
-			retval.put("min", "1");
+			retval.min = "1";
 			hasConstraint = true;
 		}
 		if (Objects.nonNull(maxStringLength)) {
-			retval.put("max", maxStringLength.toString());
+			retval.max = maxStringLength.toString();
 			hasConstraint = true;
 		}
 		if (Objects.nonNull(pattern)) {
 			requiredImports.add("import java.util.regex.Pattern;");
-			retval.put("pattern", StringEscapeUtils.escapeJava(pattern));
+			retval.pattern = StringEscapeUtils.escapeJava(pattern);
 		}
-		retval.put("hasConstraint", hasConstraint);
-		retval.put("uri", propertyUri);
+		retval.hasConstraint = hasConstraint;
+		retval.uri = propertyUri;
 		String propNameSpace = uriToNamespaceUri(propertyUri);
 		propNameSpace = propNameSpace.substring(propNameSpace.lastIndexOf('/')+1);
 		String propConstant = propertyNameToPropertyConstant(name, propNameSpace);
-		retval.put("propertyConstant", propConstant);
+		retval.propertyConstant = propConstant;
 		propertyUrisForConstants.add(propertyUri);
 		if ("specVersion".equals(name)) {
-			retval.put("isSpecVersion", true); // special case that the spec version is set in the CoreModelObject in addition to the store
+			retval.isSpecVersion = true; // special case that the spec version is set in the CoreModelObject in addition to the store
 		}
-		return retval;
+		return retval.build();
 	}
 	
 	/**
-	 * @param superClasses superclasses to search for required fields
+	 * @param classUri URI of the class whose superclasses are searched
 	 * @param propertyShape property shape for the property
 	 * @return true if the property is present in one of the superclasses
 	 */
-	private boolean inSuperClass(List<OntClass> superClasses,
-			PropertyShape propertyShape) {
-		for (OntClass ontClass:superClasses) {
-			Shape classShape = shapeMap.get(ontClass.asNode());
-			if (Objects.nonNull(classShape)) {
-				for (Iterator<PropertyShape> propIter = classShape.getPropertyShapes().iterator(); propIter.hasNext();) {
-					PropertyShape superPropertyShape = propIter.next();
-					if (propertyShape.getPath().equalTo(superPropertyShape.getPath(), null)) {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
+	private boolean inSuperClass(String classUri, PropertyShape propertyShape) {
+		return !SuperclassRequired.NONE.equals(determineSuperRequired(classUri, propertyShape));
 	}
 
 	/**
-	 * @param superClasses superclasses to search for required fields
+	 * @param classUri URI of the class whose superclasses are searched for required fields
 	 * @param propertyShape property shape for the property
 	 * @return the SuperClassRequired balue based on the constraints
 	 */
-	private SuperclassRequired determineSuperRequired(List<OntClass> superClasses,
-			PropertyShape propertyShape) {
-		SuperclassRequired retval = SuperclassRequired.NONE;
-		for (OntClass ontClass:superClasses) {
-			Shape classShape = shapeMap.get(ontClass.asNode());
-			if (Objects.nonNull(classShape)) {
-				for (Iterator<PropertyShape> propIter = classShape.getPropertyShapes().iterator(); propIter.hasNext();) {
-					PropertyShape superPropertyShape = propIter.next();
-					if (propertyShape.getPath().equalTo(superPropertyShape.getPath(), null)) {
-						Integer minCardinality = null;
-						for (Constraint constraint:superPropertyShape.getConstraints()) {
-							ConstraintCollector collector = new ConstraintCollector();
-							constraint.visit(collector);
-							if (collector.getMinCardinality() != null) {
-								if (minCardinality == null || minCardinality > collector.getMinCardinality()) {
-									minCardinality = collector.getMinCardinality();
-								}
-							}
-						}
-						if (Objects.nonNull(minCardinality) && minCardinality > 0) {
-							// required
-							if (SuperclassRequired.NONE.equals(retval)) {
-								retval = SuperclassRequired.YES;
-							} else if (SuperclassRequired.NO.equals(retval)) {
-								retval = SuperclassRequired.BOTH;
-							}
-						} else {
-							// not required
-							if (SuperclassRequired.NONE.equals(retval)) {
-								retval = SuperclassRequired.NO;
-							} else if (SuperclassRequired.YES.equals(retval)) {
-								retval = SuperclassRequired.BOTH;
-							}
-						}
-					}
-				}
-			}
+	private SuperclassRequired determineSuperRequired(String classUri, PropertyShape propertyShape) {
+		Map<String, SuperclassRequired> superProperties = superPropertyIndex.get(classUri);
+		if (Objects.isNull(superProperties)) {
+			return SuperclassRequired.NONE;
 		}
-		return retval;
+		return superProperties.getOrDefault(propertyShape.getPath().toString(), SuperclassRequired.NONE);
 	}
 
 	/**
@@ -1748,6 +2532,14 @@ public class ShaclToJava {
 		return uriToName(namespace);
 	}
 	
+	/**
+	 * @param uri resource URI
+	 * @return the local name of the URI using the same rules as Jena resources
+	 */
+	private static String localName(String uri) {
+		return NodeFactory.createURI(uri).getLocalName();
+	}
+
 	/**
 	 * @param uri URI used for classes and properties
 	 * @return the name of the class or property
@@ -1811,40 +2603,28 @@ public class ShaclToJava {
 	
 
 	/**
-	 * @param dir Directory to store the source files in
 	 * @param classUri URI for the enum
 	 * @param name local name for the enum
-	 * @param allIndividuals individual values from the model
 	 * @param comment Description of the enum
-	 * @return mustacheMap for the java enum properties
-	 * @throws IOException I/O error writing the file
+	 * @return model for the java enum
 	 */
-	private Map<String, Object> generateJavaEnum(File dir, String classUri, String name,
-			List<Individual> allIndividuals, String comment) throws IOException {
-		Map<String, Object> mustacheMap = new HashMap<>();
-		mustacheMap.put("year", YEAR);
-		mustacheMap.put("pkgName", uriToPkg(classUri));
-		mustacheMap.put("classComment", toClassComment(comment));
-		mustacheMap.put("name", name);
-		mustacheMap.put("classUri", classUri);
+	private EnumModel buildEnumModel(String classUri, String name, String comment) {
 		List<String> enumValues = new ArrayList<>();
 		String lastEnumValue = null;
-		for (Individual individual:allIndividuals) {
-			if (individual.hasRDFType(classUri)) {
-				String enumName = camelCaseToConstCase(individual.getLocalName());
+		for (String individualUri:ontology.getIndividualUris()) {
+			if (ontology.hasType(individualUri, classUri)) {
+				String localName = localName(individualUri);
+				String enumName = camelCaseToConstCase(localName);
 				if (Objects.nonNull(lastEnumValue)) {
 					enumValues.add(lastEnumValue + ",");
 				}
-				lastEnumValue = enumName + "(\"" + individual.getLocalName() + "\")";
+				lastEnumValue = enumName + "(\"" + localName + "\")";
 			}
 		}
 		if (Objects.nonNull(lastEnumValue)) {
 			enumValues.add(lastEnumValue + ";");
 		}
-		mustacheMap.put("enumValues", enumValues);
-		File sourceFile = createJavaSourceFile(classUri, dir);
-		writeMustacheFile(ShaclToJavaConstants.ENUM_CLASS_TEMPLATE, sourceFile, mustacheMap);
-		return mustacheMap;
+		return new EnumModel(classUri, name, uriToPkg(classUri), toClassComment(comment), year, enumValues);
 	}
 	
 	/**
@@ -1904,66 +2684,57 @@ public class ShaclToJava {
 		return sb.toString();
 	}
 
+	/**
+	 * @return logical path of the versioned main source package directory
+	 */
+	private String mainSourceDir() {
+		return "src/main/java/org/spdx/library/model/" + versionSuffix;
+	}
+
+	/**
+	 * @return logical path of the versioned test source package directory
+	 */
+	private String testSourceDir() {
+		return "src/test/java/org/spdx/library/model/" + versionSuffix;
+	}
+
 	/**
 	 * @param classUri URI for the class under test
-	 * @param dir directory to hold the file
-	 * @return the created file
-	 * @throws IOException 
+	 * @return logical path of the unit test file for the class
 	 */
-	private File createUnitTestFile(String classUri, File dir) throws IOException {		
-		Path path = dir.toPath().resolve("src").resolve("test").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		String[] parts = classUri.substring(ShaclToJavaConstants.SPDX_URI_PREFIX.length()).split("/");
-		for (int i = 2; i < parts.length-1; i++) {
-			path = path.resolve(parts[i].toLowerCase());
-		}
-		Files.createDirectories(path);
-		String fileName = uriToClassName.get(classUri)+"Test";
-		File retval = path.resolve(fileName + ".java").toFile();
-		retval.createNewFile();
-		return retval;
+	private String unitTestPath(String classUri) {
+		return testSourceDir() + uriToPackagePath(classUri) + "/" + uriToClassName.get(classUri) + "Test.java";
 	}
 
 	/**
 	 * @param classUri URI for the class
-	 * @param dir directory to hold the file
-	 * @return the created file
-	 * @throws IOException 
+	 * @return logical path of the java source file for the class
 	 */
-	private File createJavaSourceFile(String classUri, File dir) throws IOException {		
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
-		String[] parts = classUri.substring(ShaclToJavaConstants.SPDX_URI_PREFIX.length()).split("/");
-		// [0] is version, [1] is "terms"
-		for (int i = 2; i < parts.length-1; i++) {
-			path = path.resolve(parts[i].toLowerCase());
-		}
-		Files.createDirectories(path);
-		String fileName = uriToClassName.get(classUri);
-		File retval = path.resolve(fileName + ".java").toFile();
-		retval.createNewFile();
-		return retval;
+	private String javaSourcePath(String classUri) {
+		return mainSourceDir() + uriToPackagePath(classUri) + "/" + uriToClassName.get(classUri) + ".java";
 	}
-	
+
 	/**
 	 * @param classUri URI for the non-external class
-	 * @param dir directory to hold the file
-	 * @return the created file
-	 * @throws IOException 
+	 * @return logical path of the java source file for the external form of the class
 	 */
-	private File createExternalJavaSourceFile(String classUri, File dir) throws IOException {		
-		Path path = dir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
-				.resolve("spdx").resolve("library").resolve("model").resolve(versionSuffix);
+	private String externalJavaSourcePath(String classUri) {
+		return mainSourceDir() + uriToPackagePath(classUri) + "/External" + uriToClassName.get(classUri) + ".java";
+	}
+
+	/**
+	 * @param classUri URI for the class
+	 * @return logical path of the package directory for the class relative to the versioned package directory
+	 */
+	private String uriToPackagePath(String classUri) {
+		StringBuilder sb = new StringBuilder();
 		String[] parts = classUri.substring(ShaclToJavaConstants.SPDX_URI_PREFIX.length()).split("/");
 		// [0] is version, [1] is "terms"
 		for (int i = 2; i < parts.length-1; i++) {
-			path = path.resolve(parts[i].toLowerCase());
+			sb.append('/');
+			sb.append(parts[i].toLowerCase());
 		}
-		Files.createDirectories(path);
-		String fileName = "External" + uriToClassName.get(classUri);
-		File retval = path.resolve(fileName + ".java").toFile();
-		retval.createNewFile();
-		return retval;
+		return sb.toString();
 	}
 
 	/**
@@ -9,48 +9,221 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.jena.ontology.OntModel;
-import org.apache.jena.ontology.OntModelSpec;
-import org.apache.jena.rdf.model.ModelFactory;
+import javax.annotation.Nullable;
+
+import org.spdx.tools.model2java.GenerationMetrics.Measurement;
 
 /**
  * Command Line Interface for the ShaclToJava utility
  *
  * Generates Java code from a SHACL file specifically for SPDX version 3+
  *
- * Usage: ShaclToJavaCli spdx-model.ttl outputdirectory
+ * Usage: ShaclToJavaCli spdx-model.ttl outputdirectory [options]
+ *
+ * With the <code>--watch</code> option, the model files are watched for changes and regenerated
+ * incrementally in the same JVM until the process is stopped.  Several pairs of model file and
+ * output directory may be given in watch mode.  Without <code>--watch</code>, several pairs are
+ * generated concurrently in a single JVM sharing the compiled templates.
  *
  * @author Gary O'Neall
  */
 public class ShaclToJavaCli {
 
+	static final String THREADS_OPTION = "--threads";
+	static final String INCREMENTAL_OPTION = "--incremental";
+	static final String WRITE_IF_CHANGED_OPTION = "--write-if-changed";
+	static final String ASYNC_WRITE_OPTION = "--async-write";
+	static final String COMPILE_OPTION = "--compile";
+	static final String JAR_OPTION = "--jar";
+	static final String CACHE_OPTION = "--cache";
+	static final String REPORT_OPTION = "--report";
+	static final String WATCH_OPTION = "--watch";
+	static final String MODEL_THREADS_OPTION = "--model-threads";
+	static final String YEAR_OPTION = "--year";
+	static final String PROFILES_OPTION = "--profiles";
+
 	/**
 	 * @param args
 	 */
 	public static void main(String[] args) {
-		if (args.length != 2) {
-			System.out.println(String.format("Invalid arguments.  Expected 2 arguments, found %d arguments.", args.length));
+		List<String> arguments = new ArrayList<>();
+		int parallelism = 1;
+		int modelThreads = Runtime.getRuntime().availableProcessors();
+		boolean incremental = false;
+		boolean writeIfChanged = false;
+		boolean asyncWrite = false;
+		String compileClassPath = null;
+		String jarFileName = null;
+		String cacheDirName = null;
+		String reportFileName = null;
+		String year = null;
+		List<String> profiles = null;
+		boolean watch = false;
+		for (int i = 0; i < args.length; i++) {
+			if (THREADS_OPTION.equals(args[i]) || MODEL_THREADS_OPTION.equals(args[i])) {
+				if (i + 1 >= args.length) {
+					System.out.println(String.format("Missing value for option %s.", args[i]));
+					usage();
+					System.exit(-1);
+				}
+				try {
+					if (THREADS_OPTION.equals(args[i])) {
+						parallelism = Integer.parseInt(args[++i]);
+					} else {
+						modelThreads = Integer.parseInt(args[++i]);
+					}
+				} catch (NumberFormatException e) {
+					System.out.println(String.format("Invalid number of threads %s.", args[i]));
+					usage();
+					System.exit(-1);
+				}
+			} else if (INCREMENTAL_OPTION.equals(args[i])) {
+				incremental = true;
+			} else if (WRITE_IF_CHANGED_OPTION.equals(args[i])) {
+				writeIfChanged = true;
+			} else if (ASYNC_WRITE_OPTION.equals(args[i])) {
+				asyncWrite = true;
+			} else if (WATCH_OPTION.equals(args[i])) {
+				watch = true;
+			} else if (COMPILE_OPTION.equals(args[i]) || JAR_OPTION.equals(args[i]) || CACHE_OPTION.equals(args[i]) ||
+					REPORT_OPTION.equals(args[i]) || YEAR_OPTION.equals(args[i]) || PROFILES_OPTION.equals(args[i])) {
+				if (i + 1 >= args.length) {
+					System.out.println(String.format("Missing value for option %s.", args[i]));
+					usage();
+					System.exit(-1);
+				}
+				if (COMPILE_OPTION.equals(args[i])) {
+					compileClassPath = args[++i];
+				} else if (CACHE_OPTION.equals(args[i])) {
+					cacheDirName = args[++i];
+				} else if (REPORT_OPTION.equals(args[i])) {
+					reportFileName = args[++i];
+				} else if (YEAR_OPTION.equals(args[i])) {
+					year = args[++i];
+				} else if (PROFILES_OPTION.equals(args[i])) {
+					profiles = Arrays.asList(args[++i].split(","));
+				} else {
+					jarFileName = args[++i];
+				}
+			} else if (args[i].startsWith("--")) {
+				System.out.println(String.format("Unknown option %s.", args[i]));
+				usage();
+				System.exit(-1);
+			} else {
+				arguments.add(args[i]);
+			}
+		}
+		if (arguments.isEmpty() || arguments.size() % 2 != 0) {
+			System.out.println(String.format("Invalid arguments.  Expected pairs of model file and output directory, found %d arguments.", 
+					arguments.size()));
 			usage();
 			System.exit(-1);
 		}
-		File outputdir = new File(args[1]);
-		if (!outputdir.exists()) {
-			System.out.println(String.format("Output directory %s does not exist.", args[1]));
+		for (int i = 1; i < arguments.size(); i += 2) {
+			File dir = new File(arguments.get(i));
+			if (!dir.exists()) {
+				System.out.println(String.format("Output directory %s does not exist.", arguments.get(i)));
+				usage();
+				System.exit(-1);
+			}
+			if (!dir.isDirectory()) {
+				System.out.println(String.format("Output directory %s is not a directory.", arguments.get(i)));
+				usage();
+				System.exit(-1);
+			}
+		}
+		if (jarFileName != null && compileClassPath == null) {
+			System.out.println(String.format("Option %s requires option %s.", JAR_OPTION, COMPILE_OPTION));
 			usage();
 			System.exit(-1);
 		}
-		if (!outputdir.isDirectory()) {
-			System.out.println(String.format("Output directory %s is not a directory.", args[1]));
+		if (watch && compileClassPath != null) {
+			System.out.println(String.format("Option %s can not be used with option %s.", COMPILE_OPTION, WATCH_OPTION));
 			usage();
 			System.exit(-1);
 		}
-		try (InputStream is = new FileInputStream(new File(args[0]))) {
-			OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
-			model.read(is, "", "Turtle");
-			ShaclToJava s2j = new ShaclToJava(model);
-			List<String> warnings = s2j.generate(outputdir);
+		if (arguments.size() > 2 && compileClassPath != null) {
+			System.out.println(String.format("Option %s can only be used with a single model.", COMPILE_OPTION));
+			usage();
+			System.exit(-1);
+		}
+		List<File> modelFiles = new ArrayList<>();
+		List<File> outputDirs = new ArrayList<>();
+		for (int i = 0; i < arguments.size(); i += 2) {
+			modelFiles.add(new File(arguments.get(i)));
+			outputDirs.add(new File(arguments.get(i + 1)));
+		}
+		if (watch) {
+			watch(modelFiles, outputDirs, parallelism, cacheDirName, reportFileName, year, profiles, asyncWrite);
+			return;
+		}
+		if (modelFiles.size() > 1) {
+			BatchGenerator batch = new BatchGenerator();
+			for (int i = 0; i < modelFiles.size(); i++) {
+				batch.addModel(modelFiles.get(i), outputDirs.get(i));
+			}
+			batch.setConcurrency(modelThreads);
+			batch.setParallelism(parallelism);
+			batch.setIncremental(incremental);
+			batch.setWriteIfChanged(writeIfChanged);
+			batch.setAsyncWrite(asyncWrite);
+			if (year != null) {
+				batch.setYear(year);
+			}
+			batch.setProfiles(profiles);
+			if (cacheDirName != null) {
+				batch.setCache(new ModelSnapshotCache(new File(cacheDirName)));
+			}
+			System.exit(generateBatch(batch, reportFileName) ? 0 : 1);
+		}
+		File outputdir = new File(arguments.get(1));
+		try {
+			GenerationMetrics metrics = new GenerationMetrics();
+			OntologyIndex ontology;
+			Measurement loadModelMeasurement = metrics.start("loadModel");
+			try {
+				if (cacheDirName != null) {
+					ontology = new ModelSnapshotCache(new File(cacheDirName)).load(new File(arguments.get(0)));
+				} else {
+					try (InputStream is = new FileInputStream(new File(arguments.get(0)))) {
+						ontology = OntologyIndex.load(is);
+					}
+				}
+			} finally {
+				loadModelMeasurement.close();
+			}
+			ShaclToJava s2j = new ShaclToJava(ontology, new TemplateRegistry(), metrics);
+			s2j.setParallelism(parallelism);
+			s2j.setIncremental(incremental);
+			s2j.setWriteIfChanged(writeIfChanged);
+			s2j.setAsyncWrite(asyncWrite);
+			if (year != null) {
+				s2j.setYear(year);
+			}
+			s2j.setProfiles(profiles);
+			List<String> warnings;
+			Measurement generateMeasurement = metrics.start("generate");
+			try {
+				warnings = s2j.generate(outputdir);
+			} finally {
+				generateMeasurement.close();
+			}
+			if (reportFileName != null) {
+				try (Writer writer = Files.newBufferedWriter(new File(reportFileName).toPath(), StandardCharsets.UTF_8)) {
+					metrics.writeJson(writer);
+				}
+			}
+			System.out.println(String.format("Files written: %d, skipped: %d, deleted: %d", 
+					s2j.getWrittenFileCount(), s2j.getSkippedFileCount(), s2j.getDeletedFileCount()));
+			printPatternWarnings(s2j.getPatternWarnings());
 			if (warnings.size() > 0) {
 				System.out.println("Shacl2Java completed with the following warnings:");
 				for (String warning:warnings) {
@@ -58,10 +231,24 @@ public class ShaclToJavaCli {
 					System.out.println(warning);
 				}
 				System.exit(1);
-			} else {
-				System.out.println("Java code generated successfully");
-				System.exit(0);
 			}
+			System.out.println("Java code generated successfully");
+			if (compileClassPath != null) {
+				CompilationResult result = new GeneratedSourceCompiler(compileClassPath).compile(outputdir);
+				if (!result.isSuccess()) {
+					System.out.println("Generated Java code failed to compile:");
+					for (String error:result.getErrors()) {
+						System.out.print('\t');
+						System.out.println(error);
+					}
+					System.exit(1);
+				}
+				System.out.println(String.format("Compiled %d classes successfully", result.getMainClasses().size()));
+				if (jarFileName != null) {
+					result.writeJar(new File(jarFileName).toPath());
+				}
+			}
+			System.exit(0);
 		} catch (IOException e) {
 			System.out.println("I/O Error reading ontology file");
 			usage();
@@ -73,8 +260,183 @@ public class ShaclToJavaCli {
 		}
 	}
 	
+	/**
+	 * Generates all models of the batch, printing the results of each model
+	 * @param batch batch of models to generate
+	 * @param reportFileName file to write the combined JSON report or null if no report is written
+	 * @return true if all models were generated without errors or warnings
+	 */
+	private static boolean generateBatch(BatchGenerator batch, @Nullable String reportFileName) {
+		try {
+			boolean success = true;
+			for (BatchGenerator.ModelResult result:batch.generate()) {
+				if (result.getError() != null) {
+					System.out.println(String.format("%s failed: %s", result.getModelFile().getName(), result.getError()));
+				} else {
+					System.out.println(String.format("Generated %s in %d ms - files written: %d, skipped: %d, deleted: %d", 
+							result.getModelFile().getName(), TimeUnit.NANOSECONDS.toMillis(result.getWallNanos()),
+							result.getWrittenFileCount(), result.getSkippedFileCount(), result.getDeletedFileCount()));
+				}
+				for (String warning:result.getWarnings()) {
+					System.out.print('\t');
+					System.out.println(warning);
+				}
+				printPatternWarnings(result.getPatternWarnings());
+				success = success && result.isSuccess();
+			}
+			if (reportFileName != null) {
+				try (Writer writer = Files.newBufferedWriter(new File(reportFileName).toPath(), StandardCharsets.UTF_8)) {
+					batch.writeJson(writer);
+				}
+			}
+			return success;
+		} catch (IOException e) {
+			System.out.println(String.format("I/O Error generating the models: %s", e.getMessage()));
+			return false;
+		}
+	}
+
+	/**
+	 * Generates each model and then regenerates a model incrementally, keeping the compiled
+	 * templates, whenever its file changes.  Only returns if interrupted.
+	 * @param modelFiles model files to watch
+	 * @param outputDirs output directory for each of the model files
+	 * @param parallelism number of classes to generate concurrently
+	 * @param cacheDirName directory for model snapshots or null if snapshots are not used
+	 * @param reportFileName file to write the JSON report of the latest generation or null if no report is written
+	 * @param year copyright year for the generated files or null for the default year
+	 * @param profiles names of the profiles to generate or null for all profiles
+	 * @param asyncWrite if true, write the files on a dedicated writer thread
+	 */
+	private static void watch(List<File> modelFiles, List<File> outputDirs, int parallelism,
+			@Nullable String cacheDirName, @Nullable String reportFileName, @Nullable String year,
+			@Nullable List<String> profiles, boolean asyncWrite) {
+		TemplateRegistry templateRegistry = new TemplateRegistry();
+		ModelSnapshotCache cache = cacheDirName == null ? null : new ModelSnapshotCache(new File(cacheDirName));
+		// the watcher records the current content first so that no change made during the first generation is missed
+		try (ModelWatcher watcher = new ModelWatcher(modelFiles)) {
+			for (int i = 0; i < modelFiles.size(); i++) {
+				regenerate(modelFiles.get(i), outputDirs.get(i), templateRegistry, cache, parallelism, reportFileName, year, profiles, asyncWrite);
+			}
+			System.out.println("Watching for model changes - press Ctrl-C to stop");
+			while (true) {
+				for (File changed:watcher.awaitChanges()) {
+					for (int i = 0; i < modelFiles.size(); i++) {
+						if (modelFiles.get(i).getAbsoluteFile().equals(changed.getAbsoluteFile())) {
+							regenerate(modelFiles.get(i), outputDirs.get(i), templateRegistry, cache, parallelism, reportFileName, year, profiles, asyncWrite);
+						}
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			System.out.println(String.format("I/O Error watching the model files: %s", e.getMessage()));
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Loads the model and generates it incrementally, printing the latency and any errors
+	 * @param modelFile model file
+	 * @param outputDir output directory
+	 * @param templateRegistry compiled templates shared by all generations
+	 * @param cache snapshot cache or null if snapshots are not used
+	 * @param parallelism number of classes to generate concurrently
+	 * @param reportFileName file to write the JSON report or null if no report is written
+	 * @param year copyright year for the generated files or null for the default year
+	 * @param profiles names of the profiles to generate or null for all profiles
+	 * @param asyncWrite if true, write the files on a dedicated writer thread
+	 * @return true if the generation completed without warnings
+	 */
+	private static boolean regenerate(File modelFile, File outputDir, TemplateRegistry templateRegistry,
+			@Nullable ModelSnapshotCache cache, int parallelism, @Nullable String reportFileName, @Nullable String year,
+			@Nullable List<String> profiles, boolean asyncWrite) {
+		long start = System.nanoTime();
+		try {
+			GenerationMetrics metrics = new GenerationMetrics();
+			OntologyIndex ontology;
+			Measurement loadModelMeasurement = metrics.start("loadModel");
+			try {
+				if (cache != null) {
+					ontology = cache.load(modelFile);
+				} else {
+					try (InputStream is = new FileInputStream(modelFile)) {
+						ontology = OntologyIndex.load(is);
+					}
+				}
+			} finally {
+				loadModelMeasurement.close();
+			}
+			long loaded = System.nanoTime();
+			ShaclToJava s2j = new ShaclToJava(ontology, templateRegistry, metrics);
+			s2j.setParallelism(parallelism);
+			s2j.setIncremental(true);
+			s2j.setWriteIfChanged(true);
+			s2j.setAsyncWrite(asyncWrite);
+			if (year != null) {
+				s2j.setYear(year);
+			}
+			s2j.setProfiles(profiles);
+			List<String> warnings;
+			Measurement generateMeasurement = metrics.start("generate");
+			try {
+				warnings = s2j.generate(outputDir);
+			} finally {
+				generateMeasurement.close();
+			}
+			if (reportFileName != null) {
+				try (Writer writer = Files.newBufferedWriter(new File(reportFileName).toPath(), StandardCharsets.UTF_8)) {
+					metrics.writeJson(writer);
+				}
+			}
+			long end = System.nanoTime();
+			System.out.println(String.format("Generated %s in %d ms (load %d ms) - files written: %d, skipped: %d, deleted: %d", 
+					modelFile.getName(), TimeUnit.NANOSECONDS.toMillis(end - start), TimeUnit.NANOSECONDS.toMillis(loaded - start),
+					s2j.getWrittenFileCount(), s2j.getSkippedFileCount(), s2j.getDeletedFileCount()));
+			for (String warning:warnings) {
+				System.out.print('\t');
+				System.out.println(warning);
+			}
+			printPatternWarnings(s2j.getPatternWarnings());
+			return warnings.isEmpty();
+		} catch (IOException e) {
+			System.out.println(String.format("I/O Error generating %s: %s", modelFile.getName(), e.getMessage()));
+		} catch (ShaclToJavaException e) {
+			System.out.println(String.format("Error generating Java code for %s: %s", modelFile.getName(), e.getMessage()));
+		} catch (RuntimeException e) {
+			// the model may be invalid while it is being edited - keep watching for the next change
+			System.out.println(String.format("Error reading %s: %s", modelFile.getName(), e.getMessage()));
+		}
+		return false;
+	}
+
+	/**
+	 * Prints the warnings for risky patterns - these do not change the exit status
+	 * @param patternWarnings warnings for patterns which may backtrack catastrophically
+	 */
+	private static void printPatternWarnings(List<String> patternWarnings) {
+		for (String warning:patternWarnings) {
+			System.out.print("\tpattern warning: ");
+			System.out.println(warning);
+		}
+	}
+
 	private static void usage() {
-		System.out.println("Usage: ShaclToJavaCli spdx-model.ttl outputdirectory");
+		System.out.println("Usage: ShaclToJavaCli spdx-model.ttl outputdirectory [model.ttl outputdirectory ...] [options]");
+		System.out.println("Options:");
+		System.out.println("\t" + THREADS_OPTION + " n\tnumber of classes to generate concurrently (default 1)");
+		System.out.println("\t" + MODEL_THREADS_OPTION + " n\tnumber of models to generate concurrently when several models are given (default number of processors)");
+		System.out.println("\t" + INCREMENTAL_OPTION + "\tonly regenerate files whose inputs changed since the last incremental generation");
+		System.out.println("\t" + WRITE_IF_CHANGED_OPTION + "\tonly write files whose content changed and delete stale generated files");
+		System.out.println("\t" + ASYNC_WRITE_OPTION + "\twrite the generated files on a dedicated writer thread while rendering continues");
+		System.out.println("\t" + COMPILE_OPTION + " classpath\tcompile the generated sources of a single model in memory against the class path (must include spdx-java-core)");
+		System.out.println("\t" + JAR_OPTION + " file\twrite the compiled classes to a JAR file (requires " + COMPILE_OPTION + ")");
+		System.out.println("\t" + REPORT_OPTION + " file\twrite a JSON report of the time and allocations for each generation phase and class");
+		System.out.println("\t" + WATCH_OPTION + "\tkeep running and regenerate incrementally whenever a model file changes");
+		System.out.println("\t" + CACHE_OPTION + " dir\tload the parsed model from a snapshot in dir if the model file is unchanged, otherwise store a snapshot there");
+		System.out.println("\t" + PROFILES_OPTION + " profile,...\tonly generate the classes of the profiles (e.g. Software) and the classes they require (default all profiles)");
+		System.out.println("\t" + YEAR_OPTION + " yyyy\tcopyright year for the generated files (default the year of SOURCE_DATE_EPOCH if set, otherwise the current year)");
 	}
 
 }
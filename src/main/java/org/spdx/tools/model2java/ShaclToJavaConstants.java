@@ -69,7 +69,16 @@ public class ShaclToJavaConstants {
 	public static final String TEST_VALUES_GENERATOR_TEMPLATE = "TestValuesGeneratorTemplate.txt";
 	public static final String TEST_MODEL_INFO_TEMPLATE = "TestModelInfoTemplate.txt";
 	public static final String INVALID_LICENSE_EXPRESSION_TEMPLATE = "InvalidLicenseExpressionTemplate.txt";
-	
+
+	static final String[] ALL_TEMPLATES = new String[] {JAVA_CLASS_TEMPLATE, ENUM_CLASS_TEMPLATE, SPDX_CONSTANTS_TEMPLATE,
+			UNIT_TEST_TEMPLATE, ENUM_FACTORY_TEMPLATE, INDIVIDUALS_FACTORY_TEMPLATE, MODEL_CLASS_FACTORY_TEMPLATE,
+			CREATE_CLASS_TEMPLATE, EXTERNAL_JAVA_CLASS_TEMPLATE, BASE_MODEL_OBJECT_TEMPLATE, MODEL_INFO_TEMPLATE,
+			PACKAGE_INFO_TEMPLATE, POM_TEMPLATE, INDIVIDUAL_CLASS_TEMPLATE, LICENSE_SET_EQUALS_OVERRIDE_TEMPLATE,
+			OR_LATER_EQUALS_OVERRIDE_TEMPLATE, WITH_EQUALS_OVERRIDE_TEMPLATE, WITH_OPERATOR_TO_STRING_TEMPLATE,
+			OR_LATER_TO_STRING_TEMPLATE, LICENSE_SET_TO_STRING_TEMPLATE, ELEMENT_TO_STRING_TEMPLATE,
+			MOCK_MODEL_STORE_TEMPLATE, MOCK_COPY_MANAGER_TEMPLATE, UNIT_TEST_HELPER_TEMPLATE,
+			TEST_VALUES_GENERATOR_TEMPLATE, TEST_MODEL_INFO_TEMPLATE, INVALID_LICENSE_EXPRESSION_TEMPLATE};
+
 	public static Set<String> INTEGER_TYPES = new HashSet<>();
 	static {
 		INTEGER_TYPES.add(XSD_POSITIVE_INTEGER);
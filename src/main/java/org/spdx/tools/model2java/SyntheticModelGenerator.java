@@ -0,0 +1,317 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+
+/**
+ * Generates synthetic SPDX models for measuring how the generator scales with the model size
+ *
+ * The synthetic model contains all of a base SPDX model (normally <code>spdx-model.ttl</code>)
+ * followed by one or more extension profiles with the same shape as the SPDX profiles: chains
+ * of classes with SHACL property shapes, abstract root classes, enumerations with named
+ * individuals and the OWL property declarations.  Chain roots alternate between subclasses of
+ * <code>Core/Element</code> and classes with no superclass.  A <code>ProfileIdentifierType</code>
+ * individual is added for each synthetic profile.  The properties of each class cycle
+ * through strings with and without patterns, integers, booleans, enumerations, object references
+ * and collections of strings and objects.  The output is deterministic for the same settings.
+ *
+ * @author Gary O'Neall
+ */
+public class SyntheticModelGenerator {
+
+	static final String PROFILE_PREFIX = "Synthetic";
+	static final String CLASS_PREFIX = "SynthClass";
+	static final String ENUM_PREFIX = "SynthEnum";
+	private static final int NUM_PROPERTY_KINDS = 8;
+
+	private int classCount = 100;
+	private int hierarchyDepth = 3;
+	private int propertiesPerClass = 5;
+	private int enumCount = 10;
+	private int valuesPerEnum = 5;
+	private int profileCount = 1;
+
+	/**
+	 * Command line: <code>SyntheticModelGenerator baseModel.ttl output.ttl classCount [hierarchyDepth [propertiesPerClass [enumCount [valuesPerEnum [profileCount]]]]]</code>
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.err.println("Usage: SyntheticModelGenerator baseModel.ttl output.ttl classCount " +
+					"[hierarchyDepth [propertiesPerClass [enumCount [valuesPerEnum [profileCount]]]]]");
+			System.exit(1);
+		}
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		try {
+			generator.setClassCount(Integer.parseInt(args[2]));
+			if (args.length > 3) {
+				generator.setHierarchyDepth(Integer.parseInt(args[3]));
+			}
+			if (args.length > 4) {
+				generator.setPropertiesPerClass(Integer.parseInt(args[4]));
+			}
+			if (args.length > 5) {
+				generator.setEnumCount(Integer.parseInt(args[5]));
+			}
+			if (args.length > 6) {
+				generator.setValuesPerEnum(Integer.parseInt(args[6]));
+			}
+			if (args.length > 7) {
+				generator.setProfileCount(Integer.parseInt(args[7]));
+			}
+			generator.generate(new File(args[0]), new File(args[1]));
+		} catch (NumberFormatException e) {
+			System.err.println("Invalid number: " + e.getMessage());
+			System.exit(1);
+		} catch (IOException e) {
+			System.err.println("I/O error generating the synthetic model: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @param baseModelFile Turtle file containing the base SPDX model
+	 * @param outputFile file to write the synthetic model to
+	 * @throws IOException on errors reading the base model or writing the output
+	 */
+	public void generate(File baseModelFile, File outputFile) throws IOException {
+		byte[] baseModel = Files.readAllBytes(baseModelFile.toPath());
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(outputFile.toPath()), StandardCharsets.UTF_8))) {
+			generate(baseModel, writer);
+		}
+	}
+
+	/**
+	 * Writes the base model followed by the synthetic profiles
+	 * @param baseModel Turtle content of the base SPDX model
+	 * @param writer writer for the synthetic model in Turtle - not closed
+	 * @throws IOException on errors writing or if the base model has no <code>spdx</code> namespace prefix
+	 */
+	public void generate(byte[] baseModel, Writer writer) throws IOException {
+		String spdxNamespace = OntologyIndex.load(new ByteArrayInputStream(baseModel)).getSpdxNamespace();
+		if (Objects.isNull(spdxNamespace)) {
+			throw new IOException("Base model does not define the spdx namespace prefix");
+		}
+		writer.write(new String(baseModel, StandardCharsets.UTF_8));
+		writer.write("\n@prefix owl: <http://www.w3.org/2002/07/owl#> .\n");
+		writer.write("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n");
+		writer.write("@prefix rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> .\n");
+		writer.write("@prefix sh: <http://www.w3.org/ns/shacl#> .\n");
+		writer.write("@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n\n");
+		for (int i = 0; i < profileCount; i++) {
+			String profileName = PROFILE_PREFIX.toLowerCase() + i;
+			writer.write("<" + spdxNamespace + "Core/ProfileIdentifierType/" + profileName + "> a owl:NamedIndividual,\n");
+			writer.write("        <" + spdxNamespace + "Core/ProfileIdentifierType> ;\n");
+			writer.write("    rdfs:label \"" + profileName + "\" ;\n");
+			writer.write("    rdfs:comment \"the element follows the synthetic profile " + i + "\"@en .\n\n");
+		}
+		for (int i = 0; i < enumCount; i++) {
+			writeEnum(writer, spdxNamespace, i);
+		}
+		for (int i = 0; i < classCount; i++) {
+			writeClass(writer, spdxNamespace, i);
+		}
+	}
+
+	/**
+	 * @param spdxNamespace namespace of the SPDX terms
+	 * @param profile profile number
+	 * @return namespace for the synthetic profile
+	 */
+	private String profileNamespace(String spdxNamespace, int profile) {
+		return spdxNamespace + PROFILE_PREFIX + profile + "/";
+	}
+
+	/**
+	 * @param spdxNamespace namespace of the SPDX terms
+	 * @param classIndex index of the class
+	 * @return URI of the synthetic class
+	 */
+	private String classUri(String spdxNamespace, int classIndex) {
+		int chain = classIndex / hierarchyDepth;
+		return profileNamespace(spdxNamespace, chain % profileCount) + CLASS_PREFIX + classIndex;
+	}
+
+	/**
+	 * @param spdxNamespace namespace of the SPDX terms
+	 * @param enumIndex index of the enumeration
+	 * @return URI of the synthetic enumeration class
+	 */
+	private String enumUri(String spdxNamespace, int enumIndex) {
+		return profileNamespace(spdxNamespace, enumIndex % profileCount) + ENUM_PREFIX + enumIndex;
+	}
+
+	/**
+	 * Writes an enumeration class and its named individuals
+	 * @param writer writer for the model
+	 * @param spdxNamespace namespace of the SPDX terms
+	 * @param enumIndex index of the enumeration
+	 * @throws IOException on errors writing
+	 */
+	private void writeEnum(Writer writer, String spdxNamespace, int enumIndex) throws IOException {
+		String enumUri = enumUri(spdxNamespace, enumIndex);
+		writer.write("<" + enumUri + "> a owl:Class ;\n");
+		writer.write("    rdfs:comment \"Synthetic enumeration " + enumIndex + ".\"@en .\n\n");
+		for (int v = 0; v < valuesPerEnum; v++) {
+			writer.write("<" + enumUri + "/value" + v + "> a owl:NamedIndividual,\n");
+			writer.write("        <" + enumUri + "> ;\n");
+			writer.write("    rdfs:label \"value" + v + "\" ;\n");
+			writer.write("    rdfs:comment \"Synthetic value " + v + " of enumeration " + enumIndex + ".\"@en .\n\n");
+		}
+	}
+
+	/**
+	 * Writes a class, its property shapes and the declarations of its properties
+	 * @param writer writer for the model
+	 * @param spdxNamespace namespace of the SPDX terms
+	 * @param classIndex index of the class
+	 * @throws IOException on errors writing
+	 */
+	private void writeClass(Writer writer, String spdxNamespace, int classIndex) throws IOException {
+		String classUri = classUri(spdxNamespace, classIndex);
+		int level = classIndex % hierarchyDepth;
+		String superClassUri = null;
+		if (level > 0) {
+			superClassUri = classUri(spdxNamespace, classIndex - 1);
+		} else if ((classIndex / hierarchyDepth) % 2 == 0) {
+			superClassUri = spdxNamespace + "Core/Element";
+		}
+		// roots of chains with subclasses are abstract
+		boolean abstractClass = level == 0 && hierarchyDepth > 1 && classIndex + 1 < classCount;
+		StringBuilder declarations = new StringBuilder();
+		writer.write("<" + classUri + "> a owl:Class,\n        sh:NodeShape ;\n");
+		writer.write("    rdfs:comment \"Synthetic class " + classIndex + " at level " + level + " of its hierarchy.\"@en ;\n");
+		if (Objects.nonNull(superClassUri)) {
+			writer.write("    rdfs:subClassOf <" + superClassUri + "> ;\n");
+		}
+		writer.write("    sh:nodeKind sh:IRI");
+		String separator = " ;\n    sh:property ";
+		if (abstractClass) {
+			writer.write(separator);
+			writer.write("[ sh:message \"" + classUri + " is an abstract class and should not be instantiated directly. Instantiate a subclass instead.\"@en ;\n");
+			writer.write("            sh:not [ sh:hasValue <" + classUri + "> ] ;\n");
+			writer.write("            sh:path rdf:type ]");
+			separator = ",\n        ";
+		}
+		String namespace = classUri.substring(0, classUri.lastIndexOf('/') + 1);
+		for (int p = 0; p < propertiesPerClass; p++) {
+			String propertyUri = namespace + "synthClass" + classIndex + "Prop" + p;
+			int kind = (classIndex + p) % NUM_PROPERTY_KINDS;
+			if (kind == 4 && enumCount == 0) {
+				kind = 0;
+			}
+			String range;
+			boolean objectProperty = false;
+			writer.write(separator);
+			separator = ",\n        ";
+			writer.write("[ ");
+			switch (kind) {
+				case 0:
+					range = "xsd:string";
+					writer.write("sh:datatype xsd:string ;\n            sh:maxCount 1 ;\n            sh:nodeKind sh:Literal ;\n");
+					break;
+				case 1:
+					range = "xsd:string";
+					writer.write("sh:datatype xsd:string ;\n            sh:maxCount 1 ;\n            sh:nodeKind sh:Literal ;\n");
+					writer.write("            sh:pattern \"^[a-z][a-z0-9]*(-[a-z0-9]+)*$\" ;\n");
+					break;
+				case 2:
+					range = "xsd:nonNegativeInteger";
+					writer.write("sh:datatype xsd:nonNegativeInteger ;\n            sh:maxCount 1 ;\n            sh:nodeKind sh:Literal ;\n");
+					break;
+				case 3:
+					range = "xsd:boolean";
+					writer.write("sh:datatype xsd:boolean ;\n            sh:maxCount 1 ;\n            sh:nodeKind sh:Literal ;\n");
+					break;
+				case 4: {
+					String enumUri = enumUri(spdxNamespace, (classIndex + p) % enumCount);
+					range = "<" + enumUri + ">";
+					objectProperty = true;
+					writer.write("sh:class " + range + " ;\n            sh:in (");
+					for (int v = 0; v < valuesPerEnum; v++) {
+						writer.write(" <" + enumUri + "/value" + v + ">");
+					}
+					writer.write(" ) ;\n            sh:maxCount 1 ;\n            sh:nodeKind sh:IRI ;\n");
+					break;
+				}
+				case 5:
+					range = "<" + classUri(spdxNamespace, (classIndex + p + 1) % classCount) + ">";
+					objectProperty = true;
+					writer.write("sh:class " + range + " ;\n            sh:maxCount 1 ;\n            sh:nodeKind sh:BlankNodeOrIRI ;\n");
+					break;
+				case 6:
+					range = "xsd:string";
+					writer.write("sh:datatype xsd:string ;\n            sh:nodeKind sh:Literal ;\n");
+					break;
+				default:
+					range = "<" + classUri(spdxNamespace, (classIndex + 2 * p + 1) % classCount) + ">";
+					objectProperty = true;
+					writer.write("sh:class " + range + " ;\n            sh:nodeKind sh:BlankNodeOrIRI ;\n");
+			}
+			if (p == 0) {
+				writer.write("            sh:minCount 1 ;\n");
+			}
+			writer.write("            sh:path <" + propertyUri + "> ]");
+			declarations.append("<").append(propertyUri).append("> a ")
+					.append(objectProperty ? "owl:ObjectProperty" : "owl:DatatypeProperty").append(" ;\n")
+					.append("    rdfs:comment \"Synthetic property ").append(p).append(" of class ").append(classIndex).append(".\"@en ;\n")
+					.append("    rdfs:range ").append(range).append(" .\n\n");
+		}
+		writer.write(" .\n\n");
+		writer.write(declarations.toString());
+	}
+
+	/**
+	 * @param classCount number of synthetic classes
+	 */
+	public void setClassCount(int classCount) {
+		this.classCount = Math.max(0, classCount);
+	}
+
+	/**
+	 * @param hierarchyDepth number of classes in each chain of subclasses
+	 */
+	public void setHierarchyDepth(int hierarchyDepth) {
+		this.hierarchyDepth = Math.max(1, hierarchyDepth);
+	}
+
+	/**
+	 * @param propertiesPerClass number of properties defined directly on each class
+	 */
+	public void setPropertiesPerClass(int propertiesPerClass) {
+		this.propertiesPerClass = Math.max(0, propertiesPerClass);
+	}
+
+	/**
+	 * @param enumCount number of enumeration classes - enumeration properties are replaced by strings if 0
+	 */
+	public void setEnumCount(int enumCount) {
+		this.enumCount = Math.max(0, enumCount);
+	}
+
+	/**
+	 * @param valuesPerEnum number of named individuals for each enumeration
+	 */
+	public void setValuesPerEnum(int valuesPerEnum) {
+		this.valuesPerEnum = Math.max(1, valuesPerEnum);
+	}
+
+	/**
+	 * @param profileCount number of synthetic profiles the classes and enumerations are spread across
+	 */
+	public void setProfileCount(int profileCount) {
+		this.profileCount = Math.max(1, profileCount);
+	}
+}
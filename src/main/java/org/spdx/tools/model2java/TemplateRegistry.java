@@ -0,0 +1,241 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+
+/**
+ * Registry of compiled Mustache templates
+ *
+ * Each template is compiled at most once for the life of the registry.  The registry
+ * can be shared between threads and between <code>ShaclToJava</code> instances.
+ *
+ * The registry also provides the Java renderers generated from the hot templates by
+ * <code>RendererGenerator</code> if they are on the class path and were generated from
+ * the same template source as the template in use.
+ *
+ * @author Gary O'Neall
+ */
+public class TemplateRegistry {
+
+	private final String templateDirName;
+	private final DefaultMustacheFactory mustacheFactory;
+	private final Map<String, Mustache> compiledTemplates = new ConcurrentHashMap<>();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final Map<String, String> templateHashes = new ConcurrentHashMap<>();
+	private final Map<String, Optional<TemplateRenderer>> renderers = new ConcurrentHashMap<>();
+	private volatile boolean useRenderers = true;
+
+	/**
+	 * Create a template registry using the templates from the default template location
+	 */
+	public TemplateRegistry() {
+		this(defaultTemplateDirName());
+	}
+
+	/**
+	 * @param templateDirName directory or class path root containing the templates
+	 */
+	public TemplateRegistry(String templateDirName) {
+		this.templateDirName = templateDirName;
+		this.mustacheFactory = new DefaultMustacheFactory(templateDirName);
+	}
+
+	/**
+	 * @return the template directory in the file system if it exists, otherwise the class path location of the templates
+	 */
+	static String defaultTemplateDirName() {
+		File templateDirectoryRoot = new File(ShaclToJavaConstants.TEMPLATE_ROOT_PATH);
+		if (templateDirectoryRoot.exists() && templateDirectoryRoot.isDirectory()) {
+			return ShaclToJavaConstants.TEMPLATE_ROOT_PATH;
+		} else {
+			return ShaclToJavaConstants.TEMPLATE_CLASS_PATH;
+		}
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @return the compiled template - compiling the template only if it has not already been compiled
+	 */
+	public Mustache getTemplate(String templateName) {
+		Mustache retval = compiledTemplates.get(templateName);
+		if (retval != null) {
+			hitCount.incrementAndGet();
+			return retval;
+		}
+		boolean[] compiled = new boolean[] {false};
+		retval = compiledTemplates.computeIfAbsent(templateName, name -> {
+			compiled[0] = true;
+			missCount.incrementAndGet();
+			synchronized (mustacheFactory) {
+				return mustacheFactory.compile(name);
+			}
+		});
+		if (!compiled[0]) {
+			// another thread compiled the template while we were waiting
+			hitCount.incrementAndGet();
+		}
+		return retval;
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @return the generated renderer for the template or null if there is no renderer or the template changed since the renderer was generated
+	 * @throws IOException if the template can not be read
+	 */
+	@Nullable TemplateRenderer getRenderer(String templateName) throws IOException {
+		if (!useRenderers) {
+			return null;
+		}
+		Optional<TemplateRenderer> retval = renderers.get(templateName);
+		if (retval == null) {
+			retval = Optional.ofNullable(loadRenderer(templateName));
+			renderers.putIfAbsent(templateName, retval);
+		}
+		return retval.orElse(null);
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @return the generated renderer from the class path or null if not found or generated from a different template source
+	 * @throws IOException if the template can not be read
+	 */
+	private @Nullable TemplateRenderer loadRenderer(String templateName) throws IOException {
+		Class<?> rendererClass;
+		try {
+			rendererClass = Class.forName(RendererGenerator.RENDERER_PACKAGE + "." + RendererGenerator.rendererClassName(templateName),
+					true, TemplateRegistry.class.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+		if (!TemplateRenderer.class.isAssignableFrom(rendererClass)) {
+			return null;
+		}
+		TemplateRenderer retval;
+		try {
+			retval = (TemplateRenderer)rendererClass.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IOException("Unable to create the renderer for template " + templateName, e);
+		}
+		return retval.getTemplateHash().equals(getTemplateHash(templateName)) ? retval : null;
+	}
+
+	/**
+	 * Use a renderer in place of the template it was generated from, provided the template source is unchanged
+	 * @param renderer renderer to use
+	 * @throws IOException if the template can not be read
+	 */
+	void registerRenderer(TemplateRenderer renderer) throws IOException {
+		renderers.put(renderer.getTemplateName(), renderer.getTemplateHash().equals(getTemplateHash(renderer.getTemplateName())) ?
+				Optional.of(renderer) : Optional.empty());
+	}
+
+	/**
+	 * @param useRenderers if true, use the generated renderers when available, otherwise always render the Mustache templates
+	 */
+	public void setUseRenderers(boolean useRenderers) {
+		this.useRenderers = useRenderers;
+	}
+
+	/**
+	 * @return true if the generated renderers are used when available
+	 */
+	public boolean isUseRenderers() {
+		return useRenderers;
+	}
+
+	/**
+	 * Compiles all of the templates used by ShaclToJava which have not already been compiled
+	 */
+	public void precompile() {
+		for (String templateName:ShaclToJavaConstants.ALL_TEMPLATES) {
+			compiledTemplates.computeIfAbsent(templateName, name -> {
+				missCount.incrementAndGet();
+				synchronized (mustacheFactory) {
+					return mustacheFactory.compile(name);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @return hex encoded SHA-256 of the template source
+	 * @throws IOException if the template can not be read
+	 */
+	public String getTemplateHash(String templateName) throws IOException {
+		String retval = templateHashes.get(templateName);
+		if (retval == null) {
+			retval = Fingerprint.of(readTemplate(templateName));
+			templateHashes.put(templateName, retval);
+		}
+		return retval;
+	}
+
+	/**
+	 * @param templateName file name of the template
+	 * @return the template source from the template directory or, if not a directory, the class path
+	 * @throws IOException if the template can not be read
+	 */
+	private byte[] readTemplate(String templateName) throws IOException {
+		File templateFile = new File(templateDirName, templateName);
+		if (templateFile.isFile()) {
+			return Files.readAllBytes(templateFile.toPath());
+		}
+		try (InputStream is = TemplateRegistry.class.getClassLoader().getResourceAsStream(templateDirName + "/" + templateName)) {
+			if (is == null) {
+				throw new IOException(String.format("Template %s not found", templateName));
+			}
+			return is.readAllBytes();
+		}
+	}
+
+	/**
+	 * @return number of template requests satisfied by an already compiled template
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return number of template requests which required compiling the template
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return number of compiled templates held by the registry
+	 */
+	public int size() {
+		return compiledTemplates.size();
+	}
+
+	/**
+	 * @return the directory or class path root containing the templates
+	 */
+	public String getTemplateDirName() {
+		return templateDirName;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TemplateRegistry[templates=%d, hits=%d, misses=%d]", size(), getHitCount(), getMissCount());
+	}
+}
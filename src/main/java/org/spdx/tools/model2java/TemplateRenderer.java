@@ -0,0 +1,105 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.Writer;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+
+/**
+ * Renders a template directly into a <code>StringBuilder</code> without interpreting the Mustache template
+ *
+ * Subclasses are generated from the templates by <code>RendererGenerator</code> and produce the same
+ * output as Mustache for models of the scope class.  A renderer is only used if the hash of the
+ * template it was generated from matches the template in use - see <code>TemplateRegistry.getRenderer</code>.
+ *
+ * @author Gary O'Neall
+ */
+abstract class TemplateRenderer {
+
+	/**
+	 * Used for the HTML encoding of <code>{{name}}</code> values so that the encoding is identical to Mustache
+	 */
+	private static final DefaultMustacheFactory ENCODER = new DefaultMustacheFactory();
+
+	/**
+	 * Writer appending to a string builder
+	 */
+	private static class StringBuilderWriter extends Writer {
+		private final StringBuilder out;
+
+		StringBuilderWriter(StringBuilder out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			out.append(cbuf, off, len);
+		}
+
+		@Override
+		public void write(String str) {
+			out.append(str);
+		}
+
+		@Override
+		public void flush() {
+			// nothing buffered
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	}
+
+	/**
+	 * @return file name of the template the renderer was generated from
+	 */
+	abstract String getTemplateName();
+
+	/**
+	 * @return hex encoded SHA-256 of the template source the renderer was generated from
+	 */
+	abstract String getTemplateHash();
+
+	/**
+	 * @return class of the models the renderer can render
+	 */
+	abstract Class<?> getScopeClass();
+
+	/**
+	 * Renders the template
+	 * @param scope model to render - must be an instance of the scope class
+	 * @param out builder the rendered template is appended to
+	 */
+	abstract void render(Object scope, StringBuilder out);
+
+	/**
+	 * Appends a value without encoding as in <code>{{{name}}}</code>
+	 * @param out builder to append to
+	 * @param value value to append - nothing is appended for null values
+	 */
+	protected static void append(StringBuilder out, @Nullable Object value) {
+		if (Objects.nonNull(value)) {
+			out.append(value.toString());
+		}
+	}
+
+	/**
+	 * Appends an HTML encoded value as in <code>{{name}}</code>
+	 * @param out builder to append to
+	 * @param value value to append - nothing is appended for null values
+	 */
+	protected static void appendEncoded(StringBuilder out, @Nullable Object value) {
+		if (Objects.nonNull(value)) {
+			ENCODER.encode(value.toString(), new StringBuilderWriter(out));
+		}
+	}
+}
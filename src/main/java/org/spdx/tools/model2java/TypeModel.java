@@ -0,0 +1,99 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.spdx.tools.model2java.ShaclToJava.PropertyType;
+
+/**
+ * Immutable model of a generated Java class and its properties grouped by property type
+ *
+ * The field names are the names used in the templates.
+ *
+ * @author Gary O'Neall
+ */
+abstract class TypeModel {
+
+	final String className;
+	final String classProfile;
+	final String pkgName;
+	final String classComments;
+	final String superClass;
+	final String year;
+	final List<String> imports;
+	final List<PropertyModel> elementProperties;
+	final List<PropertyModel> objectProperties;
+	final List<PropertyModel> anyLicenseInfoProperties;
+	final List<PropertyModel> licenseAdditionProperties;
+	final List<PropertyModel> extendableLicenseProperties;
+	final List<PropertyModel> enumerationProperties;
+	final List<PropertyModel> booleanProperties;
+	final List<PropertyModel> integerProperties;
+	final List<PropertyModel> doubleProperties;
+	final List<PropertyModel> stringProperties;
+	final List<PropertyModel> objectPropertyValueCollection;
+	final List<PropertyModel> stringCollection;
+	final List<PropertyModel> objectPropertyValueSet;
+	final List<PropertyModel> enumPropertyValueCollection;
+	final boolean suppressUnchecked; // true if the class uses unchecked collection conversions
+	private final Map<PropertyType, List<PropertyModel>> properties;
+
+	/**
+	 * @param className name of the Java class
+	 * @param classProfile profile identifier type of the class
+	 * @param pkgName Java package of the class
+	 * @param classComments Javadoc comments for the class
+	 * @param superClass name of the Java superclass
+	 * @param year copyright year
+	 * @param properties properties for each property type - every property type must be present
+	 * @param imports sorted import statements for the class
+	 */
+	TypeModel(String className, String classProfile, String pkgName, String classComments,
+			String superClass, String year, Map<PropertyType, List<PropertyModel>> properties, List<String> imports) {
+		this.className = className;
+		this.classProfile = classProfile;
+		this.pkgName = pkgName;
+		this.classComments = classComments;
+		this.superClass = superClass;
+		this.year = year;
+		this.properties = Collections.unmodifiableMap(properties);
+		this.imports = Collections.unmodifiableList(imports);
+		elementProperties = getProperties(PropertyType.ELEMENT);
+		objectProperties = getProperties(PropertyType.OBJECT);
+		anyLicenseInfoProperties = getProperties(PropertyType.ANY_LICENSE_INFO);
+		licenseAdditionProperties = getProperties(PropertyType.LICENSE_ADDITION);
+		extendableLicenseProperties = getProperties(PropertyType.EXTENDABLE_LICENSE);
+		enumerationProperties = getProperties(PropertyType.ENUM);
+		booleanProperties = getProperties(PropertyType.BOOLEAN);
+		integerProperties = getProperties(PropertyType.INTEGER);
+		doubleProperties = getProperties(PropertyType.DOUBLE);
+		stringProperties = getProperties(PropertyType.STRING);
+		objectPropertyValueCollection = getProperties(PropertyType.OBJECT_COLLECTION);
+		stringCollection = getProperties(PropertyType.STRING_COLLECTION);
+		objectPropertyValueSet = getProperties(PropertyType.OBJECT_SET);
+		enumPropertyValueCollection = getProperties(PropertyType.ENUM_COLLECTION);
+		suppressUnchecked = !(objectPropertyValueCollection.isEmpty() &&
+				objectPropertyValueSet.isEmpty() && stringCollection.isEmpty());
+	}
+
+	/**
+	 * @param propertyType type of property
+	 * @return unmodifiable list of the properties of the type in shape order
+	 */
+	List<PropertyModel> getProperties(PropertyType propertyType) {
+		return Collections.unmodifiableList(properties.get(propertyType));
+	}
+
+	/**
+	 * @return properties for each property type
+	 */
+	Map<PropertyType, List<PropertyModel>> getPropertiesByType() {
+		return properties;
+	}
+}
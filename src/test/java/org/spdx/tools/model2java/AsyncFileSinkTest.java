@@ -0,0 +1,55 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class AsyncFileSinkTest extends TestCase {
+
+	public void testWrite() throws IOException {
+		InMemoryFileSink memorySink = new InMemoryFileSink();
+		GenerationMetrics metrics = new GenerationMetrics();
+		try (AsyncFileSink sink = new AsyncFileSink(memorySink, 2, metrics)) {
+			for (int i = 0; i < 100; i++) {
+				sink.write("src/main/java/File" + i + ".java", ("content" + i).getBytes(StandardCharsets.UTF_8));
+				assertTrue(sink.exists("src/main/java/File" + i + ".java"));
+			}
+			assertEquals("content99", new String(sink.read("src/main/java/File99.java"), StandardCharsets.UTF_8));
+			sink.retain("src/main/java/Retained.java");
+			sink.deleteStaleFiles("src/main/java");
+			assertEquals(100, memorySink.getFiles().size());
+			assertEquals(100, sink.getWrittenCount());
+			assertEquals(1, sink.getSkippedCount());
+		}
+		assertEquals("content42", memorySink.getContent("src/main/java/File42.java"));
+		// the writes are recorded by the writer thread
+		assertEquals(100, metrics.getPhases().get("writeFile").getCount());
+	}
+
+	public void testWriteError() throws IOException {
+		InMemoryFileSink failingSink = new InMemoryFileSink() {
+			@Override
+			public void write(String path, byte[] content) throws IOException {
+				throw new IOException("disk full");
+			}
+		};
+		AsyncFileSink sink = new AsyncFileSink(failingSink);
+		sink.write("File.java", new byte[0]);
+		try {
+			sink.close();
+			fail("Expected the write error on close");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("disk full"));
+			assertTrue(e.getMessage().contains("File.java"));
+		}
+	}
+}
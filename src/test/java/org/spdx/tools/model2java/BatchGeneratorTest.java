@@ -0,0 +1,66 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class BatchGeneratorTest extends TestCase {
+
+	public void testGenerateBatch() throws IOException {
+		Path dir = Files.createTempDirectory("spdx_batch");
+		try {
+			File syntheticModel = dir.resolve("synthetic.ttl").toFile();
+			SyntheticModelGenerator syntheticGenerator = new SyntheticModelGenerator();
+			syntheticGenerator.setClassCount(10);
+			syntheticGenerator.generate(new File(ShaclToJavaTest.MODEL_FILE_PATH), syntheticModel);
+			File missingModel = dir.resolve("missing.ttl").toFile();
+
+			BatchGenerator batch = new BatchGenerator();
+			batch.addModel(new File(ShaclToJavaTest.MODEL_FILE_PATH), dir.resolve("spdx").toFile());
+			batch.addModel(syntheticModel, dir.resolve("synthetic").toFile());
+			batch.addModel(missingModel, dir.resolve("missing").toFile());
+			batch.setConcurrency(2);
+			List<BatchGenerator.ModelResult> results = batch.generate();
+			assertEquals(3, results.size());
+			for (BatchGenerator.ModelResult result:results.subList(0, 2)) {
+				assertTrue(String.valueOf(result.getError()) + result.getWarnings(), result.isSuccess());
+				assertTrue(result.getWrittenFileCount() > 0);
+				assertTrue(Files.isRegularFile(result.getOutputDirectory().toPath().resolve(
+						"src/main/java/org/spdx/library/model/v3_0_1/core/Element.java")));
+			}
+			assertTrue(Files.isRegularFile(dir.resolve(
+					"synthetic/src/main/java/org/spdx/library/model/v3_0_1/synthetic0/SynthClass0.java")));
+			// an error in one model does not stop the others
+			assertFalse(results.get(2).isSuccess());
+			assertNotNull(results.get(2).getError());
+
+			// templates are compiled once for all models
+			long templatesCompiled = batch.getTemplateRegistry().getMissCount();
+			assertEquals(templatesCompiled, batch.getTemplateRegistry().size());
+			String json = batch.toJson();
+			assertTrue(json.contains("\"templatesCompiled\": " + templatesCompiled));
+			assertTrue(json.contains(syntheticModel.getPath().replace("\\", "\\\\")));
+			assertTrue(json.contains("\"modelFile\": \"" + ShaclToJavaTest.MODEL_FILE_PATH.replace("\\", "\\\\") + "\""));
+		} finally {
+			try (Stream<Path> paths = Files.walk(dir)) {
+				for (Path path:(Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator) {
+					Files.delete(path);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class ClassHierarchyTest extends TestCase {
+
+	public void testDiamondInheritance() {
+		// D extends B and C which both extend A
+		Map<String, List<String>> directSuperClasses = new HashMap<>();
+		directSuperClasses.put("D", Arrays.asList("B", "C"));
+		directSuperClasses.put("B", Arrays.asList("A"));
+		directSuperClasses.put("C", Arrays.asList("A"));
+		directSuperClasses.put("A", Collections.emptyList());
+		ClassHierarchy hierarchy = new ClassHierarchy(directSuperClasses);
+		assertEquals(Arrays.asList("B", "A", "C"), hierarchy.getAncestors("D"));
+		assertEquals(Arrays.asList("A"), hierarchy.getAncestors("B"));
+		assertTrue(hierarchy.getAncestors("A").isEmpty());
+		assertEquals(new HashSet<>(Arrays.asList("B", "C", "D")), hierarchy.getDescendants("A"));
+		assertTrue(hierarchy.isSubclassOf("D", "A"));
+		assertFalse(hierarchy.isSubclassOf("A", "D"));
+		assertFalse(hierarchy.isSubclassOf("B", "C"));
+		assertFalse(hierarchy.isSubclassOf("A", "A"));
+		assertTrue(hierarchy.isSameOrSubclassOf("A", "A"));
+		assertTrue(hierarchy.getAncestors("unknown").isEmpty());
+	}
+
+	public void testCycle() {
+		Map<String, List<String>> directSuperClasses = new HashMap<>();
+		directSuperClasses.put("A", Arrays.asList("B"));
+		directSuperClasses.put("B", Arrays.asList("A"));
+		ClassHierarchy hierarchy = new ClassHierarchy(directSuperClasses);
+		assertFalse(hierarchy.getAncestors("A").contains("A"));
+		assertTrue(hierarchy.isSubclassOf("A", "B"));
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.spdx.tools.model2java.ShaclToJava.PropertyType;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class ClassModelTest extends TestCase {
+
+	public void testBuildClassModel() throws IOException, ShaclToJavaException {
+		OntologyIndex ontology;
+		try (InputStream is = new FileInputStream(ShaclToJavaTest.MODEL_FILE_PATH)) {
+			ontology = OntologyIndex.load(is);
+		}
+		ShaclToJava shaclToJava = new ShaclToJava(ontology);
+		assertTrue(shaclToJava.generate(new InMemoryFileSink()).isEmpty());
+		ClassModel classModel = null;
+		ClassGenerationResult result = null;
+		for (ClassGenerationContext context:shaclToJava.collectClassGenerationContexts(new ArrayList<>())) {
+			if ("SpdxPackage".equals(context.name)) {
+				result = new ClassGenerationResult(context.classUri, context.fingerprint);
+				shaclToJava.buildClassModel(context.classUri, context.name, context.propertyShapes,
+						context.classShape, context.comment, context.superClassUri, context.superClasses,
+						context.abstractClass, result);
+				classModel = result.classModel;
+			}
+		}
+		assertNotNull(classModel);
+		assertEquals("SpdxPackage", classModel.className);
+		assertEquals("org.spdx.library.model.v3_0_1.software", classModel.pkgName);
+		assertFalse(classModel.isAbstract());
+		assertTrue(classModel.verifySuperclass);
+		PropertyModel packageVersion = null;
+		for (PropertyModel property:classModel.stringProperties) {
+			if ("packageVersion".equals(property.propertyName)) {
+				packageVersion = property;
+			}
+		}
+		assertNotNull(packageVersion);
+		assertEquals("getPackageVersion", packageVersion.getter);
+		assertEquals(PropertyType.STRING, packageVersion.propertyType);
+		// the property models are shared with the test values generator rather than copied
+		assertSame(packageVersion, result.propertiesInUse.get(PropertyType.STRING).get(packageVersion.uri));
+		assertTrue(classModel.testImports.containsAll(classModel.imports));
+		assertTrue(classModel.testImports.contains("import junit.framework.TestCase;"));
+		assertFalse(classModel.imports.contains("import junit.framework.TestCase;"));
+		try {
+			classModel.stringProperties.clear();
+			fail("Class model properties should be immutable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		for (Map.Entry<PropertyType, List<PropertyModel>> entry:classModel.getPropertiesByType().entrySet()) {
+			for (PropertyModel property:entry.getValue()) {
+				assertEquals(entry.getKey(), property.propertyType);
+			}
+		}
+
+		// the templates render directly from the model
+		StringWriter writer = new StringWriter();
+		shaclToJava.getTemplateRegistry().getTemplate(ShaclToJavaConstants.UNIT_TEST_TEMPLATE).execute(writer, classModel);
+		assertTrue(writer.toString().contains("import junit.framework.TestCase;"));
+		assertTrue(writer.toString().contains("public class SpdxPackageTest extends TestCase"));
+	}
+}
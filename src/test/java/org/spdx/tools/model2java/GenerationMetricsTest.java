@@ -0,0 +1,53 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import org.spdx.tools.model2java.GenerationMetrics.Measurement;
+import org.spdx.tools.model2java.GenerationMetrics.PhaseStatistics;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class GenerationMetricsTest extends TestCase {
+
+	public void testMeasure() {
+		GenerationMetrics metrics = new GenerationMetrics();
+		Measurement outerMeasurement = metrics.start("outer");
+		try {
+			for (int i = 0; i < 3; i++) {
+				Measurement innerMeasurement = metrics.start("inner", "https://example.org/Class\"" + i);
+				try {
+					assertNotNull(new StringBuilder("allocate").append(i).toString());
+				} finally {
+					innerMeasurement.close();
+				}
+			}
+		} finally {
+			outerMeasurement.close();
+		}
+		metrics.addCount("files", 2);
+		metrics.addCount("files", 3);
+		PhaseStatistics outer = metrics.getPhases().get("outer");
+		PhaseStatistics inner = metrics.getPhases().get("inner");
+		assertEquals(1, outer.getCount());
+		assertEquals(3, inner.getCount());
+		assertTrue(outer.getWallNanos() >= inner.getWallNanos());
+		if (metrics.isAllocationMeasured()) {
+			assertTrue(outer.getAllocatedBytes() >= inner.getAllocatedBytes());
+		} else {
+			assertEquals(-1, inner.getAllocatedBytes());
+		}
+		assertEquals(1, metrics.getClassPhases("https://example.org/Class\"1").get("inner").getCount());
+		assertTrue(metrics.getClassPhases("https://example.org/Other").isEmpty());
+		assertEquals(Long.valueOf(5), metrics.getCounters().get("files"));
+		String json = metrics.toJson();
+		assertTrue(json.contains("\"files\": 5"));
+		assertTrue(json.contains("\"outer\": {\"count\": 1"));
+		assertTrue(json.contains("\"https://example.org/Class\\\"2\": {"));
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class ModelSnapshotCacheTest extends TestCase {
+
+	public void testLoadSnapshot() throws IOException {
+		Path cacheDir = Files.createTempDirectory("spdx_cache");
+		try {
+			File modelFile = new File(ShaclToJavaTest.MODEL_FILE_PATH);
+			OntologyIndex parsed;
+			try (InputStream is = new FileInputStream(modelFile)) {
+				parsed = OntologyIndex.load(is);
+			}
+			ModelSnapshotCache cache = new ModelSnapshotCache(cacheDir.toFile());
+			OntologyIndex first = cache.load(modelFile);
+			assertEquals(0, cache.getHitCount());
+			assertEquals(1, cache.getMissCount());
+			OntologyIndex second = cache.load(modelFile);
+			assertEquals(1, cache.getHitCount());
+			assertEquals(1, cache.getMissCount());
+			for (OntologyIndex index:new OntologyIndex[] {first, second}) {
+				assertEquals(parsed.getSpdxNamespace(), index.getSpdxNamespace());
+				assertEquals(parsed.getClassUris(), index.getClassUris());
+				assertEquals(parsed.getDirectSuperClasses(), index.getDirectSuperClasses());
+				assertEquals(parsed.getIndividualUris(), index.getIndividualUris());
+				assertEquals(parsed.getNamedIndividualUris(), index.getNamedIndividualUris());
+				assertEquals(parsed.getDatatypePropertyUris(), index.getDatatypePropertyUris());
+				assertEquals(parsed.getObjectPropertyUris(), index.getObjectPropertyUris());
+				for (String uri:parsed.getNamedIndividualUris()) {
+					assertEquals(parsed.getComment(uri), index.getComment(uri));
+					assertEquals(parsed.getTypes(uri), index.getTypes(uri));
+				}
+				assertTrue(parsed.getGraph().isIsomorphicWith(index.getGraph()));
+			}
+
+			// a corrupt snapshot is replaced
+			try (Stream<Path> files = Files.list(cacheDir)) {
+				for (Path snapshot:files.collect(Collectors.toList())) {
+					Files.write(snapshot, new byte[] {1, 2, 3});
+				}
+			}
+			OntologyIndex third = cache.load(modelFile);
+			assertEquals(2, cache.getMissCount());
+			assertEquals(parsed.getClassUris(), third.getClassUris());
+			assertEquals(parsed.getClassUris(), cache.load(modelFile).getClassUris());
+			assertEquals(2, cache.getHitCount());
+		} finally {
+			try (Stream<Path> files = Files.list(cacheDir)) {
+				for (Path file:files.collect(Collectors.toList())) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(cacheDir);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class ModelWatcherTest extends TestCase {
+
+	public void testAwaitChanges() throws Exception {
+		Path dir = Files.createTempDirectory("spdx_watch");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Path model = dir.resolve("model.ttl");
+			Path other = dir.resolve("other.ttl");
+			Files.write(model, "first".getBytes(StandardCharsets.UTF_8));
+			Files.write(other, "other".getBytes(StandardCharsets.UTF_8));
+			try (ModelWatcher watcher = new ModelWatcher(Arrays.asList(model.toFile()))) {
+				// rewriting the same content and changing other files in the directory are not changes
+				Files.write(model, "first".getBytes(StandardCharsets.UTF_8));
+				Files.write(other, "changed".getBytes(StandardCharsets.UTF_8));
+				Future<List<File>> changes = executor.submit(() -> watcher.awaitChanges());
+				Thread.sleep(500);
+				assertFalse(changes.isDone());
+				Files.write(model, "second".getBytes(StandardCharsets.UTF_8));
+				List<File> changed = changes.get(30, TimeUnit.SECONDS);
+				assertEquals(1, changed.size());
+				assertEquals(model.toFile(), changed.get(0));
+			}
+		} finally {
+			executor.shutdownNow();
+			for (File file:dir.toFile().listFiles()) {
+				Files.delete(file.toPath());
+			}
+			Files.delete(dir);
+		}
+	}
+}
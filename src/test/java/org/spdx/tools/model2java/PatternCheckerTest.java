@@ -0,0 +1,66 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.util.regex.PatternSyntaxException;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class PatternCheckerTest extends TestCase {
+
+	static final String SEM_VER_PATTERN = "^(0|[1-9]\\d*)\\.(0|[1-9]\\d*)\\.(0|[1-9]\\d*)(?:-((?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*)(?:\\.(?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*))*))?(?:\\+([0-9a-zA-Z-]+(?:\\.[0-9a-zA-Z-]+)*))?$";
+
+	public void testSafePatterns() {
+		String[] safe = new String[] {
+				SEM_VER_PATTERN,
+				"^\\d\\d\\d\\d-\\d\\d-\\d\\dT\\d\\d:\\d\\d:\\d\\dZ$",
+				"^[^\\/]+\\/[^\\/]+$",
+				"(\\.\\d+)*",
+				"(?:\\d+,)*\\d+",
+				"(?>a+)+",
+				"(a+)++",
+				"[a-z]+@[a-z]+\\.[a-z]{2,}",
+				"(?i)[\\p{L}&&[^x]]+:[0-9]+",
+				"\\Q(a+)+\\E",
+				"(ab|ac)*",
+				"(?:\\.[a-z]|\\.[0-9]|-)+"
+		};
+		for (String pattern:safe) {
+			assertTrue(pattern, PatternChecker.findBacktrackingRisks(pattern).isEmpty());
+		}
+	}
+
+	public void testRiskyPatterns() {
+		String[] risky = new String[] {
+				"(a+)+",
+				"(a*)*b",
+				"^(\\w+\\s?)*$",
+				"(a|a)*",
+				"(\\d|[0-9a-f])+x",
+				"\\d+\\d+",
+				".*.*=.*",
+				"^(([a-z])+.)+[A-Z]([a-z])+$",
+				"(?:x(a+)+)?",
+				"(a|aa)*",
+				"(ab|a[a-c])*"
+		};
+		for (String pattern:risky) {
+			assertFalse(pattern, PatternChecker.findBacktrackingRisks(pattern).isEmpty());
+		}
+	}
+
+	public void testInvalidPattern() {
+		try {
+			PatternChecker.findBacktrackingRisks("(a");
+			fail("Invalid pattern");
+		} catch (PatternSyntaxException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.StringReader;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.shacl.Shapes;
+import org.apache.jena.shacl.parser.PropertyShape;
+import org.apache.jena.shacl.parser.Shape;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class PropertyConstraintsTest extends TestCase {
+
+	static final String SHAPES = "@prefix sh: <http://www.w3.org/ns/shacl#> .\n" +
+			"@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n" +
+			"@prefix ex: <http://example.org/> .\n" +
+			"ex:Test a sh:NodeShape ;\n" +
+			"  sh:property [\n" +
+			"    sh:path ex:name ;\n" +
+			"    sh:datatype xsd:string ;\n" +
+			"    sh:minCount 1 ;\n" +
+			"    sh:maxCount 1 ;\n" +
+			"    sh:minLength 3 ;\n" +
+			"    sh:minLength 1 ;\n" +
+			"    sh:maxLength 10 ;\n" +
+			"    sh:pattern \"^[a-z]+$\"\n" +
+			"  ] ;\n" +
+			"  sh:property [\n" +
+			"    sh:path ex:other ;\n" +
+			"    sh:class ex:Other\n" +
+			"  ] .\n";
+
+	public void testSummary() {
+		Model model = ModelFactory.createDefaultModel();
+		model.read(new StringReader(SHAPES), null, "TURTLE");
+		Shape shape = Shapes.parse(model.getGraph()).getShape(NodeFactory.createURI("http://example.org/Test"));
+		PropertyConstraints name = null;
+		PropertyConstraints other = null;
+		for (PropertyShape propertyShape:shape.getPropertyShapes()) {
+			if (propertyShape.getPath().toString().contains("name")) {
+				name = PropertyConstraints.of(propertyShape);
+			} else {
+				other = PropertyConstraints.of(propertyShape);
+			}
+		}
+		assertNotNull(name);
+		assertEquals(Integer.valueOf(1), name.getMinCardinality());
+		assertEquals(Integer.valueOf(1), name.getMaxCardinality());
+		assertTrue(name.isRequired());
+		assertEquals(Integer.valueOf(1), name.getStrMinLength());
+		assertEquals(Integer.valueOf(10), name.getStrMaxLength());
+		assertEquals("^[a-z]+$", name.getPattern());
+		assertEquals("http://www.w3.org/2001/XMLSchema#string", name.getDataType().getURI());
+		assertNull(name.getExpectedClass());
+		assertNotNull(other);
+		assertFalse(other.isRequired());
+		assertNull(other.getMinCardinality());
+		assertNull(other.getStrMinLength());
+		assertEquals("http://example.org/Other", other.getExpectedClass().getURI());
+		assertTrue(other.getNotConstraints().isEmpty());
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map.Entry;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class ReproducibleOutputTest extends TestCase {
+
+	private static OntologyIndex loadModel() throws Exception {
+		try (InputStream is = new FileInputStream(ShaclToJavaTest.MODEL_FILE_PATH)) {
+			return OntologyIndex.load(is);
+		}
+	}
+
+	/**
+	 * Generates the SPDX model twice from separately loaded models, sequentially and concurrently,
+	 * requiring byte identical output
+	 */
+	public void testGenerateTwiceIdentical() throws Exception {
+		ShaclToJava first = new ShaclToJava(loadModel());
+		first.setYear("2023");
+		InMemoryFileSink firstSink = new InMemoryFileSink();
+		assertTrue(first.generate(firstSink).isEmpty());
+		ShaclToJava second = new ShaclToJava(loadModel());
+		second.setYear("2023");
+		second.setParallelism(4);
+		InMemoryFileSink secondSink = new InMemoryFileSink();
+		assertTrue(second.generate(secondSink).isEmpty());
+
+		assertEquals(firstSink.getFiles().keySet(), secondSink.getFiles().keySet());
+		for (Entry<String, byte[]> file:firstSink.getFiles().entrySet()) {
+			if (!Arrays.equals(file.getValue(), secondSink.getFiles().get(file.getKey()))) {
+				assertEquals(file.getKey(), new String(file.getValue(), StandardCharsets.UTF_8), secondSink.getContent(file.getKey()));
+				fail(file.getKey() + " differs in encoding only");
+			}
+			// InvalidLicenseExpression is copied from a template with a fixed copyright year
+			if (file.getKey().endsWith(".java") && !file.getKey().endsWith("/InvalidLicenseExpression.java")) {
+				assertTrue(file.getKey(), new String(file.getValue(), StandardCharsets.UTF_8).contains("Copyright (c) 2023"));
+			}
+		}
+	}
+
+	public void testJarEntryTime() throws Exception {
+		// zip times have a resolution of 2 seconds so the clocks are an hour apart
+		Clock firstClock = Clock.fixed(Instant.ofEpochSecond(1718000000L), ZoneOffset.UTC);
+		Clock secondClock = Clock.offset(firstClock, Duration.ofHours(1));
+		assertTrue(Arrays.equals(writeJar(firstClock, 1704067200000L), writeJar(secondClock, 1704067200000L)));
+		// without an entry time the entries are stamped with the current time
+		assertFalse(Arrays.equals(writeJar(firstClock, -1), writeJar(secondClock, -1)));
+	}
+
+	/**
+	 * @param clock wall clock of the sink
+	 * @param entryTime entry time to set or -1 for the current time
+	 * @return content of the archive
+	 */
+	private static byte[] writeJar(Clock clock, long entryTime) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JarFileSink sink = new JarFileSink(out)) {
+			sink.clock = clock;
+			sink.setEntryTime(entryTime);
+			sink.write("src/main/java/Test.java", "class Test {}".getBytes(StandardCharsets.UTF_8));
+			sink.write("src/test/java/TestTest.java", "class TestTest {}".getBytes(StandardCharsets.UTF_8));
+		}
+		return out.toByteArray();
+	}
+
+	public void testSourceDateEpoch() {
+		assertEquals(1704067200000L, ShaclToJava.sourceDateEpochMillis("1704067200"));
+		assertEquals(-1L, ShaclToJava.sourceDateEpochMillis("not a number"));
+		assertEquals(-1L, ShaclToJava.sourceDateEpochMillis(null));
+		assertEquals("2024", ShaclToJava.defaultYear(1704067200000L));
+		assertEquals("2023", ShaclToJava.defaultYear(1704067199000L));
+	}
+}
@@ -9,10 +9,23 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
 
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntModelSpec;
@@ -26,6 +39,7 @@ import junit.framework.TestCase;
 public class ShaclToJavaTest extends TestCase {
 	
 	static final String MODEL_FILE_PATH = "testResources" + File.separator + "spdx-model.ttl";
+	static final String GOLDEN_ENUM_FILE_PATH = "testResources" + File.separator + "SafetyRiskAssessmentType.java.golden";
 
 	protected void setUp() throws Exception {
 		super.setUp();
@@ -66,6 +80,370 @@ public class ShaclToJavaTest extends TestCase {
 		}
 	}
 
+	public void testTemplatesCompiledOnce() throws IOException, ShaclToJavaException {
+		File tempDir = Files.createTempDirectory("spdx_test").toFile();
+		try {
+			try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+				OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+				model.read(is, "", "Turtle");
+				TemplateRegistry templateRegistry = new TemplateRegistry();
+				ShaclToJava otj = new ShaclToJava(model, templateRegistry);
+				List<String> warnings = otj.generate(tempDir);
+				assertTrue(warnings.isEmpty());
+				assertEquals(templateRegistry.size(), templateRegistry.getMissCount());
+				assertTrue(templateRegistry.size() <= ShaclToJavaConstants.ALL_TEMPLATES.length);
+				assertTrue(templateRegistry.getHitCount() > templateRegistry.getMissCount());
+				long misses = templateRegistry.getMissCount();
+				templateRegistry.precompile();
+				assertEquals(ShaclToJavaConstants.ALL_TEMPLATES.length, templateRegistry.size());
+				templateRegistry.getTemplate(ShaclToJavaConstants.JAVA_CLASS_TEMPLATE);
+				assertEquals(ShaclToJavaConstants.ALL_TEMPLATES.length, templateRegistry.getMissCount());
+				assertTrue(misses <= templateRegistry.getMissCount());
+			}
+		} finally {
+			assertTrue(deleteDirectory(tempDir));
+		}
+	}
+
+	public void testParallelGenerate() throws IOException, ShaclToJavaException {
+		File sequentialDir = Files.createTempDirectory("spdx_test").toFile();
+		File parallelDir = Files.createTempDirectory("spdx_test").toFile();
+		try {
+			try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+				OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+				model.read(is, "", "Turtle");
+				ShaclToJava otj = new ShaclToJava(model);
+				assertTrue(otj.generate(sequentialDir).isEmpty());
+				otj = new ShaclToJava(model);
+				otj.setParallelism(4);
+				assertTrue(otj.generate(parallelDir).isEmpty());
+				assertEquals(listFiles(sequentialDir.toPath()), listFiles(parallelDir.toPath()));
+			}
+		} finally {
+			assertTrue(deleteDirectory(sequentialDir));
+			assertTrue(deleteDirectory(parallelDir));
+		}
+	}
+
+	public void testOntModelConstructorMatchesIndexLoad() throws IOException, ShaclToJavaException {
+		InMemoryFileSink ontModelSink = new InMemoryFileSink();
+		try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+			OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+			model.read(is, "", "Turtle");
+			ShaclToJava otj = new ShaclToJava(model);
+			otj.setYear("2024");
+			assertTrue(otj.generate(ontModelSink).isEmpty());
+		}
+		InMemoryFileSink indexSink = new InMemoryFileSink();
+		try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+			OntologyIndex ontology = OntologyIndex.load(is);
+			assertEquals(90, ontology.getClassUris().size());
+			ShaclToJava otj = new ShaclToJava(ontology);
+			otj.setYear("2024");
+			assertTrue(otj.generate(indexSink).isEmpty());
+		}
+		assertEquals(ontModelSink.getFiles().keySet(), indexSink.getFiles().keySet());
+		for (String path:ontModelSink.getFiles().keySet()) {
+			assertEquals(path, ontModelSink.getContent(path), indexSink.getContent(path));
+		}
+		// the enum values are in URI order
+		String enumPath = "src/main/java/org/spdx/library/model/v3_0_1/ai/SafetyRiskAssessmentType.java";
+		assertEquals(new String(Files.readAllBytes(Paths.get(GOLDEN_ENUM_FILE_PATH)), StandardCharsets.UTF_8),
+				indexSink.getContent(enumPath));
+	}
+
+	public void testMetrics() throws IOException, ShaclToJavaException {
+		try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+			ShaclToJava otj = new ShaclToJava(OntologyIndex.load(is));
+			assertTrue(otj.generate(new InMemoryFileSink()).isEmpty());
+			GenerationMetrics metrics = otj.getMetrics();
+			assertEquals(1, metrics.getPhases().get("parseShapes").getCount());
+			assertEquals(90, metrics.getPhases().get("generateClass").getCount());
+			assertEquals(metrics.getCounters().get("filesWritten").longValue(), metrics.getPhases().get("writeFile").getCount());
+			assertEquals(1, metrics.getPhases().get("aggregate:SpdxConstants").getCount());
+			assertEquals(1, metrics.getClassPhases("https://spdx.org/rdf/3.0.1/terms/AI/AIPackage").get("buildClassModel").getCount());
+		}
+	}
+
+	public void testIncrementalGenerate() throws IOException, ShaclToJavaException {
+		File tempDir = Files.createTempDirectory("spdx_test").toFile();
+		try {
+			try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+				OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+				model.read(is, "", "Turtle");
+				ShaclToJava otj = new ShaclToJava(model);
+				otj.setIncremental(true);
+				assertTrue(otj.generate(tempDir).isEmpty());
+				assertEquals(0, otj.getUpToDateClassCount());
+				assertTrue(new File(tempDir, GenerationManifest.MANIFEST_FILE_NAME).isFile());
+				Path classPath = tempDir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
+						.resolve("spdx").resolve("library").resolve("model").resolve("v3_0_1")
+						.resolve("ai").resolve("AIPackage.java");
+				Path constantsPath = tempDir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
+						.resolve("spdx").resolve("library").resolve("model").resolve("v3_0_1")
+						.resolve("SpdxConstantsV3.java");
+				List<String> files = listFiles(tempDir.toPath());
+				Files.write(classPath, new byte[0]);
+				Files.delete(constantsPath);
+				long modified = Files.getLastModifiedTime(classPath).toMillis();
+				
+				otj = new ShaclToJava(model);
+				otj.setIncremental(true);
+				assertTrue(otj.generate(tempDir).isEmpty());
+				assertTrue(otj.getUpToDateClassCount() > 0);
+				assertEquals(files, listFiles(tempDir.toPath()));
+				// up to date files are not rewritten, missing files are regenerated
+				assertEquals(0, Files.size(classPath));
+				assertEquals(modified, Files.getLastModifiedTime(classPath).toMillis());
+				assertTrue(Files.size(constantsPath) > 0);
+			}
+		} finally {
+			assertTrue(deleteDirectory(tempDir));
+		}
+	}
+
+	public void testWriteIfChanged() throws IOException, ShaclToJavaException {
+		File tempDir = Files.createTempDirectory("spdx_test").toFile();
+		try {
+			try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+				OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+				model.read(is, "", "Turtle");
+				ShaclToJava otj = new ShaclToJava(model);
+				otj.setWriteIfChanged(true);
+				assertTrue(otj.generate(tempDir).isEmpty());
+				List<String> files = listFiles(tempDir.toPath());
+				assertEquals(files.size(), otj.getWrittenFileCount());
+				assertEquals(0, otj.getSkippedFileCount());
+				assertEquals(0, otj.getDeletedFileCount());
+				Path aIPath = tempDir.toPath().resolve("src").resolve("main").resolve("java").resolve("org")
+						.resolve("spdx").resolve("library").resolve("model").resolve("v3_0_1").resolve("ai");
+				Path stalePath = aIPath.resolve("NoLongerInModel.java");
+				Files.write(stalePath, "class NoLongerInModel {}".getBytes(StandardCharsets.UTF_8));
+				Path changedPath = aIPath.resolve("AIPackage.java");
+				Files.write(changedPath, new byte[0]);
+				
+				otj = new ShaclToJava(model);
+				otj.setWriteIfChanged(true);
+				assertTrue(otj.generate(tempDir).isEmpty());
+				assertEquals(1, otj.getWrittenFileCount());
+				assertEquals(files.size() - 1, otj.getSkippedFileCount());
+				assertEquals(1, otj.getDeletedFileCount());
+				assertFalse(Files.exists(stalePath));
+				assertTrue(Files.size(changedPath) > 0);
+				assertEquals(files, listFiles(tempDir.toPath()));
+			}
+		} finally {
+			assertTrue(deleteDirectory(tempDir));
+		}
+	}
+
+	public void testFileSinks() throws IOException, ShaclToJavaException {
+		File tempDir = Files.createTempDirectory("spdx_test").toFile();
+		try {
+			try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+				OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+				model.read(is, "", "Turtle");
+				ShaclToJava otj = new ShaclToJava(model);
+				File sourceDir = new File(tempDir, "source");
+				assertTrue(otj.generate(sourceDir).isEmpty());
+				List<String> files = listFiles(sourceDir.toPath()).stream()
+						.map(path -> path.replace(File.separatorChar, '/'))
+						.collect(Collectors.toList());
+				
+				InMemoryFileSink memorySink = new InMemoryFileSink();
+				otj = new ShaclToJava(model);
+				assertTrue(otj.generate(memorySink).isEmpty());
+				assertEquals(files, new ArrayList<>(memorySink.getFiles().keySet()));
+				assertEquals(files.size(), otj.getWrittenFileCount());
+				assertTrue(memorySink.getContent("src/main/java/org/spdx/library/model/v3_0_1/ai/AIPackage.java")
+						.contains("class AIPackage extends SpdxPackage"));
+				
+				Path jarPath = tempDir.toPath().resolve("sources.jar");
+				otj = new ShaclToJava(model);
+				try (JarFileSink jarSink = new JarFileSink(jarPath)) {
+					assertTrue(otj.generate(jarSink).isEmpty());
+				}
+				List<String> entries = new ArrayList<>();
+				try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+					zipFile.stream().forEach(entry -> entries.add(entry.getName()));
+				}
+				Collections.sort(entries);
+				assertEquals(files, entries);
+			}
+		} finally {
+			assertTrue(deleteDirectory(tempDir));
+		}
+	}
+
+	public void testGeneratedSourcesCompile() throws IOException, ShaclToJavaException {
+		File tempDir = Files.createTempDirectory("spdx_test").toFile();
+		try {
+			try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+				OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+				model.read(is, "", "Turtle");
+				ShaclToJava otj = new ShaclToJava(model);
+				InMemoryFileSink sink = new InMemoryFileSink();
+				assertTrue(otj.generate(sink).isEmpty());
+				// surefire runs the tests from a manifest only jar so the test class path is in a separate property
+				String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+				CompilationResult result = new GeneratedSourceCompiler(classPath).compile(sink.getFiles());
+				assertTrue(String.join("\n", result.getErrors()), result.isSuccess());
+				assertTrue(result.getMainClasses().containsKey("org.spdx.library.model.v3_0_1.ai.AIPackage"));
+				assertTrue(result.getTestClasses().containsKey("org.spdx.library.model.v3_0_1.ai.AIPackageTest"));
+				Path jarPath = tempDir.toPath().resolve("model.jar");
+				result.writeJar(jarPath);
+				try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+					assertNotNull(zipFile.getEntry("org/spdx/library/model/v3_0_1/ai/AIPackage.class"));
+					assertNull(zipFile.getEntry("org/spdx/library/model/v3_0_1/ai/AIPackageTest.class"));
+				}
+			}
+		} finally {
+			assertTrue(deleteDirectory(tempDir));
+		}
+	}
+
+	/**
+	 * Generates and compiles the SPDX model and registers the compiled model in the model registry
+	 * @return class loader for the compiled main and test classes
+	 */
+	private ClassLoader loadGeneratedModel() throws Exception {
+		OntologyIndex ontology;
+		try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+			ontology = OntologyIndex.load(is);
+		}
+		InMemoryFileSink sink = new InMemoryFileSink();
+		assertTrue(new ShaclToJava(ontology).generate(sink).isEmpty());
+		String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+		CompilationResult result = new GeneratedSourceCompiler(classPath).compile(sink.getFiles());
+		assertTrue(String.join("\n", result.getErrors()), result.isSuccess());
+		ClassLoader loader = result.createClassLoader(getClass().getClassLoader());
+		// the model objects look up their spec version in the model registry
+		Class<?> registryClass = loader.loadClass("org.spdx.core.ModelRegistry");
+		registryClass.getMethod("registerModel", loader.loadClass("org.spdx.core.ISpdxModelInfo"))
+				.invoke(registryClass.getMethod("getModelRegistry").invoke(null),
+						loader.loadClass("org.spdx.library.model.v3_0_1.SpdxModelInfoV3_0").getDeclaredConstructor().newInstance());
+		return loader;
+	}
+
+	/**
+	 * Runs the generated model class factory for every SPDX type and compares the result with the class
+	 * reflectively expected for the type
+	 */
+	@SuppressWarnings("unchecked")
+	public void testModelClassFactoryDispatch() throws Exception {
+		ClassLoader loader = loadGeneratedModel();
+		Class<?> factory = loader.loadClass("org.spdx.library.model.v3_0_1.SpdxModelClassFactoryV3");
+		Class<?> modelStoreClass = loader.loadClass("org.spdx.storage.IModelStore");
+		Class<?> copyManagerClass = loader.loadClass("org.spdx.core.IModelCopyManager");
+		Method getModelObject = factory.getMethod("getModelObject", modelStoreClass, String.class, String.class,
+				copyManagerClass, boolean.class, String.class);
+		Object modelStore = loader.loadClass("org.spdx.library.model.v3_0_1.MockModelStore").getDeclaredConstructor().newInstance();
+		Map<String, Class<?>> typeToClass = (Map<String, Class<?>>)factory.getField("SPDX_TYPE_TO_CLASS_V3").get(null);
+		int created = 0;
+		for (Entry<String, Class<?>> entry:typeToClass.entrySet()) {
+			Class<?> clazz = entry.getValue();
+			String expectedError = null;
+			if (Modifier.isAbstract(clazz.getModifiers())) {
+				expectedError = "Can not instantiate an abstract class";
+			} else {
+				try {
+					clazz.getDeclaredConstructor(modelStoreClass, String.class, copyManagerClass, boolean.class, String.class);
+				} catch (NoSuchMethodException e) {
+					expectedError = "Could not create the model object";
+				}
+			}
+			try {
+				Object modelObject = getModelObject.invoke(null, modelStore, "http://test/" + entry.getKey(),
+						entry.getKey(), null, true, "http://test/");
+				assertNull(entry.getKey(), expectedError);
+				assertEquals(clazz, modelObject.getClass());
+				created++;
+			} catch (InvocationTargetException e) {
+				assertNotNull(entry.getKey() + ": " + e.getTargetException(), expectedError);
+				assertTrue(e.getTargetException().getMessage().startsWith(expectedError));
+			}
+		}
+		assertTrue(created > 100);
+		try {
+			getModelObject.invoke(null, modelStore, "http://test/unknown", "Core.NotAType", null, true, "http://test/");
+			fail("Unknown type created");
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getTargetException().getMessage().startsWith("Unknown SPDX version 3 type"));
+		}
+	}
+
+	public void testIndividualFactory() throws Exception {
+		ClassLoader loader = loadGeneratedModel();
+		Object modelInfo = loader.loadClass("org.spdx.library.model.v3_0_1.SpdxModelInfoV3_0").getDeclaredConstructor().newInstance();
+		Method uriToIndividual = modelInfo.getClass().getMethod("uriToIndividual", String.class, Class.class);
+		String noneLicenseUri = "https://spdx.org/rdf/3.0.1/terms/ExpandedLicensing/NoneLicense";
+		Object noneLicense = uriToIndividual.invoke(modelInfo, noneLicenseUri, null);
+		assertEquals("org.spdx.library.model.v3_0_1.expandedlicensing.NoneLicense", noneLicense.getClass().getName());
+		assertSame(noneLicense, uriToIndividual.invoke(modelInfo, noneLicenseUri, null));
+		assertEquals("org.spdx.library.model.v3_0_1.core.NoAssertionElement", uriToIndividual.invoke(modelInfo,
+				"https://spdx.org/rdf/3.0.1/terms/Core/NoAssertionElement", null).getClass().getName());
+		assertNull(uriToIndividual.invoke(modelInfo, "https://spdx.org/rdf/3.0.1/terms/Core/NotAnIndividual", null));
+		assertNull(uriToIndividual.invoke(modelInfo, null, null));
+		@SuppressWarnings("unchecked")
+		Map<String, Object> individualMap = (Map<String, Object>)loader.loadClass("org.spdx.library.model.v3_0_1.SpdxIndividualFactory")
+				.getField("uriToIndividual").get(null);
+		assertSame(noneLicense, individualMap.get(noneLicenseUri));
+		assertTrue(individualMap.containsKey(noneLicenseUri));
+		assertFalse(individualMap.containsKey("https://spdx.org/rdf/3.0.1/terms/Core/NotAnIndividual"));
+		assertEquals(individualMap.size(), individualMap.keySet().size());
+		try {
+			individualMap.put(noneLicenseUri, noneLicense);
+			fail("Map should be read only");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	public void testProfileSlice() throws IOException, ShaclToJavaException {
+		OntologyIndex ontology;
+		try (InputStream is = new FileInputStream(MODEL_FILE_PATH)) {
+			ontology = OntologyIndex.load(is);
+		}
+		ShaclToJava otj = new ShaclToJava(ontology);
+		assertTrue(otj.getProfileNames().contains("Software"));
+		otj.setProfiles(Arrays.asList("software"));
+		InMemoryFileSink sink = new InMemoryFileSink();
+		assertTrue(otj.generate(sink).isEmpty());
+		String mainDir = "src/main/java/org/spdx/library/model/v3_0_1/";
+		assertNotNull(sink.getContent(mainDir + "software/SpdxPackage.java"));
+		assertNotNull(sink.getContent(mainDir + "core/Element.java"));
+		for (String path:sink.getFiles().keySet()) {
+			assertFalse(path, path.contains("/v3_0_1/ai/") || path.contains("/v3_0_1/dataset/"));
+		}
+		assertFalse(sink.getContent(mainDir + "SpdxModelClassFactoryV3.java").contains(".ai."));
+		assertFalse(sink.getContent(mainDir + "SpdxConstantsV3.java").contains("AI_AIPACKAGE"));
+		// surefire runs the tests from a manifest only jar so the test class path is in a separate property
+		String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+		CompilationResult result = new GeneratedSourceCompiler(classPath).compile(sink.getFiles());
+		assertTrue(String.join("\n", result.getErrors()), result.isSuccess());
+
+		otj.setProfiles(Arrays.asList("NotAProfile"));
+		try {
+			otj.generate(new InMemoryFileSink());
+			fail("Unknown profile");
+		} catch (ShaclToJavaException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * @param dir root directory
+	 * @return sorted relative paths of all files under the directory
+	 */
+	private List<String> listFiles(Path dir) throws IOException {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			return paths.filter(Files::isRegularFile)
+					.map(path -> dir.relativize(path).toString())
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
 	/**
 	 * @param tempDir directory to delete
 	 */
@@ -0,0 +1,56 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class SyntheticModelGeneratorTest extends TestCase {
+
+	public void testGenerateSyntheticModel() throws IOException, ShaclToJavaException {
+		byte[] baseModel = Files.readAllBytes(Paths.get(ShaclToJavaTest.MODEL_FILE_PATH));
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setClassCount(40);
+		generator.setHierarchyDepth(4);
+		generator.setPropertiesPerClass(9);
+		generator.setEnumCount(3);
+		generator.setValuesPerEnum(4);
+		generator.setProfileCount(2);
+		StringWriter writer = new StringWriter();
+		generator.generate(baseModel, writer);
+		StringWriter second = new StringWriter();
+		generator.generate(baseModel, second);
+		assertEquals(writer.toString(), second.toString());
+
+		OntologyIndex base = OntologyIndex.load(new ByteArrayInputStream(baseModel));
+		OntologyIndex synthetic = OntologyIndex.load(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)));
+		assertEquals(base.getClassUris().size() + 43, synthetic.getClassUris().size());
+		assertEquals(base.getNamedIndividualUris().size() + 14, synthetic.getNamedIndividualUris().size());
+		String namespace = base.getSpdxNamespace();
+		assertEquals(namespace + "Synthetic1/SynthClass6",
+				synthetic.getDirectSuperClasses().get(namespace + "Synthetic1/SynthClass7").get(0));
+
+		ShaclToJava otj = new ShaclToJava(synthetic);
+		InMemoryFileSink sink = new InMemoryFileSink();
+		assertTrue(otj.generate(sink).isEmpty());
+		// surefire runs the tests from a manifest only jar so the test class path is in a separate property
+		String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+		CompilationResult result = new GeneratedSourceCompiler(classPath).compile(sink.getFiles());
+		assertTrue(String.join("\n", result.getErrors()), result.isSuccess());
+		assertTrue(result.getMainClasses().containsKey("org.spdx.library.model.v3_0_1.synthetic0.SynthClass0"));
+		assertTrue(result.getMainClasses().containsKey("org.spdx.library.model.v3_0_1.synthetic1.SynthEnum1"));
+		assertTrue(result.getTestClasses().containsKey("org.spdx.library.model.v3_0_1.synthetic1.SynthClass7Test"));
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * SPDX-FileCopyrightText: Copyright (c) 2024 Source Auditor Inc.
+ * SPDX-FileType: SOURCE
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.spdx.tools.model2java;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Gary O'Neall
+ */
+public class TemplateRendererTest extends TestCase {
+
+	/**
+	 * Renders every class of the SPDX model with the Mustache templates and with renderers generated
+	 * and compiled in the test, requiring byte identical output
+	 */
+	public void testRenderersMatchMustache() throws Exception {
+		OntologyIndex ontology;
+		try (InputStream is = new FileInputStream(ShaclToJavaTest.MODEL_FILE_PATH)) {
+			ontology = OntologyIndex.load(is);
+		}
+		TemplateRegistry mustacheRegistry = new TemplateRegistry();
+		mustacheRegistry.setUseRenderers(false);
+		TemplateRegistry rendererRegistry = new TemplateRegistry();
+		RendererGenerator generator = new RendererGenerator(rendererRegistry);
+		Map<String, byte[]> sources = new TreeMap<>();
+		for (Entry<String, Class<?>> entry:RendererGenerator.HOT_TEMPLATES.entrySet()) {
+			// a distinct name in case the renderers built by the renderers profile are on the class path
+			String className = "Golden" + RendererGenerator.rendererClassName(entry.getKey());
+			sources.put(GeneratedSourceCompiler.MAIN_SOURCE_ROOT + "org/spdx/tools/model2java/" + className + ".java",
+					generator.generateSource(entry.getKey(), entry.getValue(), className).getBytes(StandardCharsets.UTF_8));
+		}
+		// surefire runs the tests from a manifest only jar so the test class path is in a separate property
+		String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+		GeneratedSourceCompiler compiler = new GeneratedSourceCompiler(classPath);
+		compiler.setIncludeTests(false);
+		CompilationResult compiled = compiler.compile(sources);
+		assertTrue(String.join("\n", compiled.getErrors()), compiled.isSuccess());
+		// the renderers access the package private models so must be defined in the same package and class loader
+		Lookup lookup = MethodHandles.privateLookupIn(TemplateRenderer.class, MethodHandles.lookup());
+		for (byte[] classFile:compiled.getMainClasses().values()) {
+			rendererRegistry.registerRenderer((TemplateRenderer)lookup.defineClass(classFile).getDeclaredConstructor().newInstance());
+		}
+		for (String templateName:RendererGenerator.HOT_TEMPLATES.keySet()) {
+			assertNotNull(rendererRegistry.getRenderer(templateName));
+			assertNull(mustacheRegistry.getRenderer(templateName));
+		}
+
+		InMemoryFileSink expected = new InMemoryFileSink();
+		assertTrue(new ShaclToJava(ontology, mustacheRegistry).generate(expected).isEmpty());
+		InMemoryFileSink actual = new InMemoryFileSink();
+		assertTrue(new ShaclToJava(ontology, rendererRegistry).generate(actual).isEmpty());
+		assertEquals(expected.getFiles().keySet(), actual.getFiles().keySet());
+		for (Entry<String, byte[]> file:expected.getFiles().entrySet()) {
+			if (!Arrays.equals(file.getValue(), actual.getFiles().get(file.getKey()))) {
+				assertEquals(file.getKey(), new String(file.getValue(), StandardCharsets.UTF_8), actual.getContent(file.getKey()));
+				fail(file.getKey() + " differs in encoding only");
+			}
+		}
+	}
+
+	public void testChangedTemplateFallsBack() throws Exception {
+		TemplateRegistry registry = new TemplateRegistry();
+		TemplateRenderer stale = new TemplateRenderer() {
+
+			@Override
+			String getTemplateName() {
+				return ShaclToJavaConstants.JAVA_CLASS_TEMPLATE;
+			}
+
+			@Override
+			String getTemplateHash() {
+				return "0000";
+			}
+
+			@Override
+			Class<?> getScopeClass() {
+				return ClassModel.class;
+			}
+
+			@Override
+			void render(Object scope, StringBuilder out) {
+				out.append("stale");
+			}
+		};
+		registry.registerRenderer(stale);
+		assertNull(registry.getRenderer(ShaclToJavaConstants.JAVA_CLASS_TEMPLATE));
+	}
+}